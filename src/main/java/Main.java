@@ -31,10 +31,10 @@ public class Main {
             System.err.println("Falha ao iniciar o Look and Feel (FlatLaf).");
         }
 
+        // Os dados salvos são carregados pela própria tela principal (no display()),
+        // para que a interface gráfica possa exibi-los à medida que são lidos.
         ProjectManager manager = new ProjectManager();
 
-        manager.loadData();
-
         try {
             // Para a interface textual: "textual"
             // Para a interface gráfica: "gui"
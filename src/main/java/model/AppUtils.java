@@ -30,6 +30,34 @@ public final class AppUtils {
         return priority >= 1 && priority <= 5;
     }
 
+    /**
+     * Valida se um número pode ser o ID de um projeto ou tarefa (IDs são sempre positivos).
+     * @param id O ID a ser checado.
+     * @return true se o ID for maior que zero, false caso contrário.
+     */
+    public static boolean isValidId(long id) {
+        return id > 0;
+    }
+
+    /**
+     * Converte o ID digitado pelo usuário (ou lido de um arquivo) para número.
+     * <p>Como nenhum ID válido é zero, retorna 0 quando o texto não é um ID,
+     * o que faz as buscas por ID simplesmente não encontrarem nada.</p>
+     * @param str O texto do ID (espaços nas pontas são ignorados).
+     * @return O ID, ou 0 se o texto for nulo, vazio ou não for um número positivo.
+     */
+    public static long parseId(String str) {
+        if (isStringNullOrEmpty(str)) {
+            return 0;
+        }
+        try {
+            long id = Long.parseLong(str.trim());
+            return isValidId(id) ? id : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Valida se uma String é nula, vazia ou contém apenas espaços em branco.
      * @param str A String a ser checada.
@@ -0,0 +1,76 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Um item da agenda de datas ({@link ProjectManager#getCalendar(LocalDate, LocalDate)}):
+ * o prazo geral de um projeto, o prazo de uma {@link DeadlineTask} ou a data de um
+ * {@link Milestone}.
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class CalendarEntry {
+
+    private final LocalDate date;
+    private final Project project;
+    private final Task task;
+
+    /**
+     * Construtor usado pelo {@link ProjectManager}.
+     * @param date A data do item.
+     * @param project O projeto (o próprio item, ou o projeto da tarefa).
+     * @param task A tarefa, ou {@code null} se o item for o prazo geral do projeto.
+     */
+    CalendarEntry(LocalDate date, Project project, Task task) {
+        this.date = date;
+        this.project = project;
+        this.task = task;
+    }
+
+    /**
+     * Obtém a data do item.
+     * @return O prazo ou a data do marco.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Obtém o projeto do item (o próprio projeto, ou o projeto da tarefa).
+     * @return O {@link Project}.
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Obtém a tarefa do item.
+     * @return A {@link Task}, ou {@code null} se o item for o prazo geral de um projeto.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Informa se o item é o prazo geral de um projeto (e não de uma tarefa).
+     * @return true se for um projeto.
+     */
+    public boolean isProject() {
+        return task == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return Uma linha para exibição (ex: "10/03/2025 - [Marco (Milestone) 7] Entrega (Projeto: TCC)").
+     */
+    @Override
+    public String toString() {
+        String projectName = project != null ? project.getName() : "-";
+        if (isProject()) {
+            return AppUtils.formatarData(date) + " - [Projeto " + project.getId() + "] " + projectName;
+        }
+        return AppUtils.formatarData(date) + " - [" + task.getType() + " " + task.getDisplayId() + "] "
+                + task.getDescription() + " (Projeto: " + projectName + ")";
+    }
+}
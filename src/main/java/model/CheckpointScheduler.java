@@ -0,0 +1,294 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agenda checkpoints periódicos dos projetos, em arquivos separados do arquivo principal.
+ * <p>
+ * A cada intervalo, o agendador pega o retrato imutável mais recente dos projetos
+ * ({@link ProjectManager#getSnapshot()}), o que garante uma visão consistente sem
+ * ocupar a thread que altera o manager (ex: a thread da interface gráfica). Tudo
+ * acontece na thread própria do agendador, sem disputar com a thread de gravação do
+ * {@link ProjectManager#saveDataAsync()}: quem salva não espera o checkpoint.
+ * </p>
+ * <p>
+ * Cada checkpoint é gravado ao lado do arquivo principal como
+ * {@code <arquivo>.ckpt.<número>} (ex: {@code data/dados.dat.ckpt.12}), usando o
+ * {@link SerializedProjectDAO} (gravação atômica e com checksum). Apenas as
+ * {@code generations} gerações mais recentes são mantidas; as mais antigas são apagadas.
+ * Se nada mudou desde o último checkpoint (mesma versão do retrato), nenhum arquivo é gravado.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class CheckpointScheduler {
+
+    private static final String CHECKPOINT_SUFFIX = ".ckpt.";
+
+    private final ProjectManager manager;
+    private final Path baseFile;
+    private final int generations;
+    private final ScheduledExecutorService scheduler;
+
+    private ScheduledFuture<?> scheduled;
+    private long nextSequence;
+    private long lastSnapshotVersion = -1;
+
+    // --- Métricas ---
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong lastCaptureMillis = new AtomicLong();
+    private final AtomicLong lastWriteMillis = new AtomicLong();
+    private final AtomicLong lastSizeBytes = new AtomicLong();
+    private final AtomicLong totalWriteMillis = new AtomicLong();
+
+    /**
+     * Construtor do agendador de checkpoints.
+     * @param manager O gerente cujos projetos serão copiados.
+     * @param baseFilename O arquivo principal (ex: "data/dados.dat"); os checkpoints ficam ao lado dele.
+     * @param generations Quantos checkpoints manter (pelo menos 1).
+     * @throws IllegalArgumentException Se algum parâmetro for nulo/vazio ou {@code generations} for menor que 1.
+     */
+    public CheckpointScheduler(ProjectManager manager, String baseFilename, int generations)
+            throws IllegalArgumentException {
+        if (manager == null || AppUtils.isStringNullOrEmpty(baseFilename)) {
+            throw new IllegalArgumentException("O gerente e o arquivo não podem ser nulos.");
+        }
+        if (generations < 1) {
+            throw new IllegalArgumentException("É preciso manter pelo menos uma geração de checkpoint.");
+        }
+        this.manager = manager;
+        this.baseFile = Paths.get(baseFilename);
+        this.generations = generations;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Começa a gravar checkpoints periodicamente (o primeiro após um intervalo).
+     * @param interval O intervalo entre o fim de um checkpoint e o início do próximo.
+     * @throws IllegalArgumentException Se o intervalo for nulo, zero ou negativo.
+     * @throws IllegalStateException Se o agendador já estiver em execução.
+     */
+    public synchronized void start(Duration interval) throws IllegalArgumentException, IllegalStateException {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("O intervalo entre checkpoints deve ser positivo.");
+        }
+        if (scheduled != null) {
+            throw new IllegalStateException("O agendador de checkpoints já está em execução.");
+        }
+        long millis = interval.toMillis();
+        scheduled = scheduler.scheduleWithFixedDelay(this::runCheckpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pede um checkpoint imediato (na thread do agendador).
+     * @return Um {@link CompletableFuture} com o arquivo gravado, ou {@code null}
+     * se nada mudou desde o último checkpoint.
+     */
+    public CompletableFuture<Path> checkpointNow() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return checkpoint();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, scheduler);
+    }
+
+    /**
+     * Para o agendador. Um checkpoint em andamento termina normalmente.
+     */
+    public synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        scheduler.shutdown();
+    }
+
+    /**
+     * Lista os checkpoints existentes, do mais antigo para o mais recente.
+     * @return Os arquivos de checkpoint.
+     * @throws IOException Se o diretório não puder ser lido.
+     */
+    public List<Path> listGenerations() throws IOException {
+        Path directory = directoryOf(baseFile);
+        List<Path> found = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return found;
+        }
+
+        String prefix = baseFile.getFileName() + CHECKPOINT_SUFFIX;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*")) {
+            for (Path path : stream) {
+                if (sequenceOf(path) >= 0) {
+                    found.add(path);
+                }
+            }
+        }
+        found.sort((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)));
+        return found;
+    }
+
+    // --- Métricas ---
+
+    /**
+     * Obtém quantos checkpoints foram gravados.
+     * @return O número de checkpoints gravados.
+     */
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    /**
+     * Obtém quantos checkpoints falharam.
+     * @return O número de falhas.
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Obtém quanto tempo levou a recriação dos projetos a partir do retrato, no último checkpoint.
+     * @return A duração da cópia, em milissegundos.
+     */
+    public long getLastCaptureMillis() {
+        return lastCaptureMillis.get();
+    }
+
+    /**
+     * Obtém quanto tempo levou a gravação do último checkpoint.
+     * @return A duração da gravação, em milissegundos.
+     */
+    public long getLastWriteMillis() {
+        return lastWriteMillis.get();
+    }
+
+    /**
+     * Obtém o tamanho do último checkpoint gravado.
+     * @return O tamanho do arquivo, em bytes.
+     */
+    public long getLastSizeBytes() {
+        return lastSizeBytes.get();
+    }
+
+    /**
+     * Obtém o tempo médio de gravação dos checkpoints.
+     * @return A média em milissegundos, ou 0 se nenhum checkpoint foi gravado.
+     */
+    public double getAverageWriteMillis() {
+        long count = checkpointCount.get();
+        return count == 0 ? 0.0 : (double) totalWriteMillis.get() / count;
+    }
+
+    // --- Execução ---
+
+    /**
+     * Executado periodicamente na thread do agendador. Erros são apenas registrados,
+     * para não interromper os próximos checkpoints.
+     */
+    private void runCheckpoint() {
+        try {
+            checkpoint();
+        } catch (Exception e) {
+            failureCount.incrementAndGet();
+            System.err.println("AVISO: Falha ao gravar checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pega o retrato atual, grava-o em uma nova geração e apaga as antigas.
+     * Sempre executado na thread do agendador.
+     */
+    private Path checkpoint() throws IOException {
+        long captureStart = System.nanoTime();
+        ModelSnapshot snapshot = manager.getSnapshot();
+        if (snapshot.getVersion() == lastSnapshotVersion) {
+            return null;
+        }
+
+        // Apenas os cabeçalhos: as tarefas de cada projeto são recriadas a partir do retrato
+        // no momento em que o projeto é gravado.
+        ArrayList<Project> projects = new ArrayList<>(snapshot.getProjectCount());
+        for (ProjectSnapshot p : snapshot.getProjects()) {
+            projects.add(p.toHeaderProject());
+        }
+        long captureMillis = (System.nanoTime() - captureStart) / 1_000_000;
+        lastCaptureMillis.set(captureMillis);
+
+        if (nextSequence == 0) {
+            List<Path> existing = listGenerations();
+            nextSequence = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+        }
+        Path target = baseFile.resolveSibling(baseFile.getFileName() + CHECKPOINT_SUFFIX + nextSequence);
+
+        long writeStart = System.nanoTime();
+        new SerializedProjectDAO(target.toString()).save(projects);
+        long writeMillis = (System.nanoTime() - writeStart) / 1_000_000;
+
+        nextSequence++;
+        lastSnapshotVersion = snapshot.getVersion();
+        prune();
+
+        long size = Files.size(target);
+        checkpointCount.incrementAndGet();
+        lastWriteMillis.set(writeMillis);
+        lastSizeBytes.set(size);
+        totalWriteMillis.addAndGet(writeMillis);
+
+        System.out.println("Checkpoint gravado: " + target.getFileName() + " (" + size + " bytes, cópia "
+                + captureMillis + " ms, gravação " + writeMillis + " ms, total "
+                + (System.nanoTime() - captureStart) / 1_000_000 + " ms).");
+        return target;
+    }
+
+    /**
+     * Apaga as gerações mais antigas, mantendo apenas as {@code generations} mais recentes.
+     */
+    private void prune() throws IOException {
+        List<Path> existing = listGenerations();
+        for (int i = 0; i < existing.size() - generations; i++) {
+            Files.deleteIfExists(existing.get(i));
+        }
+    }
+
+    /**
+     * Extrai o número da geração do nome do arquivo, ou -1 se não for um checkpoint.
+     */
+    private long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        String prefix = baseFile.getFileName() + CHECKPOINT_SUFFIX;
+        if (!name.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Path directoryOf(Path file) {
+        Path parent = file.toAbsolutePath().getParent();
+        return parent != null ? parent : Paths.get(".");
+    }
+}
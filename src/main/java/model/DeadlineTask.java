@@ -15,6 +15,8 @@ import java.time.LocalDate;
  */
 public class DeadlineTask extends Task implements Serializable {
 
+    private static final long serialVersionUID = -1842708793583511609L;
+
     private LocalDate taskDeadline;
 
     /**
@@ -25,7 +27,7 @@ public class DeadlineTask extends Task implements Serializable {
      * @param taskDeadline A data limite (não pode ser nula).
      * @throws IllegalArgumentException Se qualquer parâmetro for inválido.
      */
-    public DeadlineTask(String id, String description, int priority, LocalDate taskDeadline) throws  IllegalArgumentException {
+    public DeadlineTask(long id, String description, int priority, LocalDate taskDeadline) throws  IllegalArgumentException {
         super(id, description, priority);
         this.setTaskDeadline(taskDeadline);
     }
@@ -40,6 +42,15 @@ public class DeadlineTask extends Task implements Serializable {
         return taskDeadline;
     }
 
+    /**
+     * Obtém a data de vencimento da tarefa, que é a sua data limite.
+     * @return O objeto {@link LocalDate} do prazo.
+     */
+    @Override
+    public LocalDate getDueDate() {
+        return taskDeadline;
+    }
+
     // --- Setter ---
 
     /**
@@ -53,7 +64,9 @@ public class DeadlineTask extends Task implements Serializable {
         if (taskDeadline == null) {
             throw new IllegalArgumentException("A data limite da tarefa não pode ser nula.");
         }
+        this.beforeChange();
         this.taskDeadline = taskDeadline;
+        this.markChanged();
     }
 
     /**
@@ -89,4 +102,13 @@ public class DeadlineTask extends Task implements Serializable {
                 Status.CONCLUIDO
         };
     }
+
+    /**
+     * Retorna o tipo desta tarefa.
+     * @return {@code TaskType.DEADLINE}
+     */
+    @Override
+    public TaskType getType() {
+        return TaskType.DEADLINE;
+    }
 }
@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Interface para quem precisa saber exatamente o que mudou nos projetos e tarefas de um
+ * {@link ProjectManager} (ex: tabelas que atualizam apenas as linhas alteradas).
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public interface IModelListener {
+
+    /**
+     * Chamado logo depois de cada alteração, na thread que alterou o manager e com o lock
+     * do projeto adquirido. Deve ser rápido e não deve alterar o manager: quem precisa
+     * fazer algo demorado (ou na thread da interface) deve apenas guardar o evento.
+     * @param event A alteração.
+     */
+    void modelChanged(ModelChangeEvent event);
+}
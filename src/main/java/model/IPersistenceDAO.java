@@ -1,6 +1,9 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 import java.io.IOException;
 
 /**
@@ -45,4 +48,40 @@ public interface IPersistenceDAO {
      * @throws Exception Se ocorrer qualquer outro erro.
      */
     ArrayList<Project> load() throws Exception;
+
+    /**
+     * Carrega os projetos da fonte de dados entregando-os um de cada vez (streaming).
+     * <p>
+     * Ao contrário de {@link #load()}, não monta uma lista com todos os projetos:
+     * cada projeto é repassado ao {@code consumer} assim que é lido, mantendo o uso
+     * de memória limitado e permitindo que o primeiro projeto seja usado (ex: exibido
+     * na tela) antes de o último ser lido. A implementação padrão apenas percorre
+     * o resultado de {@link #load()}; estratégias que leem por partes a sobrescrevem.
+     * </p>
+     * @param consumer Quem recebe cada projeto lido, na ordem em que foram salvos.
+     * @throws Exception Se ocorrer qualquer erro durante a leitura.
+     */
+    default void loadEach(Consumer<? super Project> consumer) throws Exception {
+        for (Project project : load()) {
+            consumer.accept(project);
+        }
+    }
+
+    /**
+     * Salva apenas o que mudou desde o último salvamento (salvamento incremental).
+     * <p>
+     * O {@link ProjectManager} informa quais projetos foram alterados e quais
+     * foram excluídos. Estratégias que conseguem gravar cada projeto separadamente
+     * (ex: {@link ProjectDirectoryDAO}) escrevem só esses projetos. A implementação
+     * padrão, usada por quem não suporta isso, simplesmente salva a lista completa.
+     * </p>
+     * @param projects A lista completa (e atual) de projetos.
+     * @param changed Os projetos criados ou alterados desde o último salvamento.
+     * @param removedIds Os IDs dos projetos excluídos desde o último salvamento.
+     * @throws Exception Se ocorrer qualquer erro ao salvar.
+     */
+    default void saveChanges(ArrayList<Project> projects, List<Project> changed,
+                             Collection<Long> removedIds) throws Exception {
+        save(projects);
+    }
 }
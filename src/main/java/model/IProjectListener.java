@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * Interface para quem precisa saber quando um {@link Project} muda.
+ * <p>
+ * Usada pelo {@link ProjectManager} para publicar um novo {@link ModelSnapshot}
+ * a cada alteração de um projeto ou de suas tarefas, e para repassar aos
+ * {@link IModelListener} quais tarefas mudaram.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+interface IProjectListener {
+
+    /**
+     * Chamado depois de qualquer alteração no projeto (setters, tarefas adicionadas,
+     * removidas ou alteradas), com o projeto já no estado novo.
+     * @param project O projeto alterado.
+     */
+    void projectChanged(Project project);
+
+    /**
+     * Chamado a cada tarefa adicionada, removida ou alterada, antes de
+     * {@link #projectChanged} (e mesmo dentro de um lote, pois cada evento traz a posição
+     * da tarefa naquele momento).
+     * @param event A alteração, com a posição da tarefa na lista do projeto.
+     */
+    void taskChanged(ModelChangeEvent event);
+}
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Interface para quem quer ser avisado dos lembretes de prazo ({@link ReminderScheduler}).
+ * <p>
+ * As telas (gráfica e textual) implementam esta interface para exibir os avisos.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public interface IReminderListener {
+
+    /**
+     * Chamado a cada lembrete emitido, na thread que avançou o agendador (normalmente a
+     * thread própria do {@link ReminderScheduler}, e não a thread da interface gráfica).
+     * @param event O lembrete.
+     */
+    void reminderFired(ReminderEvent event);
+}
@@ -0,0 +1,26 @@
+package model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface para o carregamento tardio (sob demanda) das tarefas de um projeto.
+ * <p>
+ * Usada pelas estratégias de persistência que carregam apenas o cabeçalho dos
+ * projetos na inicialização. O {@link Project} chama o carregador uma única vez,
+ * na primeira vez em que suas tarefas são realmente necessárias.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+interface ITaskLoader {
+
+    /**
+     * Lê do disco as tarefas de um projeto.
+     * @param project O projeto cujas tarefas devem ser lidas.
+     * @return As tarefas do projeto, na ordem em que foram salvas.
+     * @throws IOException Se ocorrer um erro de leitura.
+     */
+    List<Task> loadTasks(Project project) throws IOException;
+}
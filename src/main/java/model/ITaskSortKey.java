@@ -0,0 +1,40 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Os valores de uma tarefa usados para ordenar o resultado de uma busca ({@link TaskSort}).
+ * <p>
+ * Implementada pela própria {@link Task} e pelo cursor de paginação
+ * ({@link TaskCursor}), que guarda os valores da última tarefa de uma página.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+interface ITaskSortKey {
+
+    /**
+     * Obtém o ID da tarefa (usado como desempate em todas as ordenações).
+     * @return O número do ID.
+     */
+    long getId();
+
+    /**
+     * Obtém a descrição da tarefa.
+     * @return A String da descrição.
+     */
+    String getDescription();
+
+    /**
+     * Obtém a prioridade da tarefa.
+     * @return Um inteiro (normalmente 1-5).
+     */
+    int getPriority();
+
+    /**
+     * Obtém a data de vencimento da tarefa.
+     * @return O {@link LocalDate}, ou {@code null} para tarefas sem data.
+     */
+    LocalDate getDueDate();
+}
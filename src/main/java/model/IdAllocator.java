@@ -0,0 +1,68 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gerador de IDs numéricos do {@link ProjectManager} (um para projetos e outro para tarefas).
+ * <p>
+ * Não usa locks: cada ID (ou faixa de IDs) é obtido com uma única operação atômica, então
+ * várias threads podem criar itens ou importar arquivos ao mesmo tempo sem repetir IDs.
+ * Uma importação reserva de uma só vez a faixa inteira de que precisa ({@link #reserve}).
+ * </p>
+ * <p>
+ * Os IDs começam em 1; o 0 nunca é gerado (ver {@link AppUtils#isValidId}).
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class IdAllocator {
+
+    private static final long FIRST_ID = 1;
+
+    private final AtomicLong next = new AtomicLong(FIRST_ID);
+
+    /**
+     * Gera o próximo ID.
+     * @return Um ID que nunca foi entregue antes por este gerador.
+     */
+    long next() {
+        return this.next.getAndIncrement();
+    }
+
+    /**
+     * Reserva uma faixa de IDs consecutivos.
+     * @param count Quantos IDs reservar (pode ser 0).
+     * @return O primeiro ID da faixa; a faixa vai até {@code primeiro + count - 1}.
+     * @throws IllegalArgumentException Se a quantidade for negativa.
+     */
+    long reserve(int count) throws IllegalArgumentException {
+        if (count < 0) {
+            throw new IllegalArgumentException("A quantidade de IDs não pode ser negativa: " + count);
+        }
+        return this.next.getAndAdd(count);
+    }
+
+    /**
+     * Garante que os próximos IDs serão maiores que um ID já usado (ex: lido de um arquivo).
+     * @param usedId O ID já usado.
+     */
+    void advancePast(long usedId) {
+        this.next.accumulateAndGet(usedId + 1, Math::max);
+    }
+
+    /**
+     * Obtém o próximo ID que será gerado, sem gerá-lo.
+     * @return O próximo ID.
+     */
+    long peek() {
+        return this.next.get();
+    }
+
+    /**
+     * Volta a gerar IDs a partir do 1 (usado antes de um novo carregamento).
+     */
+    void reset() {
+        this.next.set(FIRST_ID);
+    }
+}
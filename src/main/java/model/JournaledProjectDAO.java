@@ -0,0 +1,575 @@
+package model;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Implementação do DAO baseada em um registro (journal) de alterações, gravado
+ * apenas no final do arquivo (append-only).
+ * <p>
+ * Em vez de reescrever todos os projetos a cada {@link #save}, este DAO compara a lista
+ * recebida com o último estado gravado e escreve somente um registro pequeno para cada
+ * projeto ou tarefa criado, alterado ou excluído. Assim, o custo de salvar depende da
+ * quantidade de alterações, e não do tamanho total dos dados.
+ * </p>
+ * <p>
+ * No {@link #load}, o último snapshot é lido e os journals seguintes são "reaplicados"
+ * em ordem. Quando o journal fica maior que o snapshot, uma thread em segundo plano
+ * compacta o estado em um novo snapshot e apaga os journals antigos.
+ * </p>
+ * <p>
+ * Estrutura do diretório:
+ * {@code snapshot.dat} (estado compactado) e {@code journal-N.log} (alterações
+ * posteriores ao snapshot, na ordem de N). Os dois começam com um número mágico e a
+ * versão do formato.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class JournaledProjectDAO implements IPersistenceDAO {
+
+    private static final int SNAPSHOT_MAGIC = 0x504A534E;
+    private static final int JOURNAL_MAGIC = 0x504A4C47;
+    /** Versão da codificação dos registros, comum ao snapshot e aos journals. */
+    private static final int FORMAT_VERSION = 2;
+
+    private static final byte PROJECT_PUT = 1;
+    private static final byte PROJECT_DELETE = 2;
+    private static final byte TASK_PUT = 3;
+    private static final byte TASK_DELETE = 4;
+
+    /** Tamanho mínimo do journal (em bytes) antes de considerar uma compactação. */
+    private static final long MIN_COMPACTION_BYTES = 256 * 1024;
+
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+    /** Tamanho do cabeçalho do snapshot: magic, versão e geração do primeiro journal. */
+    private static final int SNAPSHOT_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    /** Tamanho do cabeçalho de cada journal: magic e versão. */
+    private static final int JOURNAL_HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+
+    private final Path directory;
+    private final Object lock = new Object();
+    private final ExecutorService compactor;
+
+    /** Último estado gravado: registros (já codificados) de cada projeto e suas tarefas. */
+    private final LinkedHashMap<Long, ProjectEntry> persisted = new LinkedHashMap<>();
+
+    private boolean loaded;
+    private boolean compacting;
+    private long nextGeneration = 1;
+    private long journalBytes;
+    private long snapshotBytes;
+    private FileOutputStream journalFile;
+    private DataOutputStream journal;
+
+    /**
+     * Construtor da classe.
+     * @param directory O diretório onde o snapshot e os journals serão gravados.
+     * Será criado no primeiro salvamento, se não existir.
+     */
+    public JournaledProjectDAO(String directory) {
+        this.directory = Paths.get(directory);
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "journal-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Grava no journal apenas as diferenças entre a lista recebida e o último estado salvo.
+     * <p>
+     * Os registros são escritos de uma só vez e forçados ao disco antes de o estado
+     * em memória ser atualizado. Se nada mudou, nenhum byte é escrito.
+     * </p>
+     * @param projects A lista completa de projetos.
+     * @throws IOException Se ocorrer um erro de escrita no disco.
+     */
+    @Override
+    public void save(ArrayList<Project> projects) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+
+            List<byte[]> records = new ArrayList<>();
+            Set<Long> currentIds = new HashSet<>();
+
+            for (Project p : projects) {
+                currentIds.add(p.getId());
+                collectChanges(p, records);
+            }
+
+            for (long projectId : persisted.keySet()) {
+                if (!currentIds.contains(projectId)) {
+                    records.add(encodeDelete(PROJECT_DELETE, projectId, 0));
+                }
+            }
+
+            write(records);
+        }
+    }
+
+    /**
+     * Salvamento incremental: compara com o estado gravado apenas os projetos alterados
+     * e grava a exclusão dos projetos removidos, sem percorrer a lista completa.
+     * @param projects A lista completa de projetos (não é percorrida).
+     * @param changed Os projetos criados ou alterados desde o último salvamento.
+     * @param removedIds Os IDs dos projetos excluídos desde o último salvamento.
+     * @throws IOException Se ocorrer um erro de escrita no disco.
+     */
+    @Override
+    public void saveChanges(ArrayList<Project> projects, List<Project> changed,
+                            Collection<Long> removedIds) throws IOException {
+        synchronized (lock) {
+            ensureLoaded();
+
+            List<byte[]> records = new ArrayList<>();
+            for (Project p : changed) {
+                collectChanges(p, records);
+            }
+            for (long projectId : removedIds) {
+                if (persisted.containsKey(projectId)) {
+                    records.add(encodeDelete(PROJECT_DELETE, projectId, 0));
+                }
+            }
+
+            write(records);
+        }
+    }
+
+    /**
+     * Compara um projeto (e suas tarefas) com o último estado gravado e adiciona
+     * à lista os registros necessários para atualizá-lo.
+     */
+    private void collectChanges(Project p, List<byte[]> records) throws IOException {
+        ProjectEntry entry = persisted.get(p.getId());
+
+        byte[] header = encodeProject(p);
+        if (entry == null || !Arrays.equals(entry.header, header)) {
+            records.add(header);
+        }
+
+        Set<Long> currentTaskIds = new HashSet<>();
+        for (Task t : p.getTasks()) {
+            currentTaskIds.add(t.getId());
+            byte[] record = encodeTask(p.getId(), t);
+            if (entry == null || !Arrays.equals(entry.tasks.get(t.getId()), record)) {
+                records.add(record);
+            }
+        }
+
+        if (entry != null) {
+            for (long taskId : entry.tasks.keySet()) {
+                if (!currentTaskIds.contains(taskId)) {
+                    records.add(encodeDelete(TASK_DELETE, p.getId(), taskId));
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava os registros no journal e, só depois, os aplica ao estado em memória.
+     * Deve ser chamado com o {@code lock} obtido.
+     */
+    private void write(List<byte[]> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        appendToJournal(records);
+        for (byte[] record : records) {
+            apply(record);
+        }
+
+        maybeCompact();
+    }
+
+    /**
+     * Carrega o último snapshot e reaplica, em ordem, todos os journals gravados depois dele.
+     * <p>
+     * Um registro incompleto no final de um journal (ex: o programa foi encerrado durante
+     * a escrita) é ignorado. Se o diretório não existir, retorna uma lista vazia.
+     * </p>
+     * @return A {@link ArrayList} de {@link Project}s reconstruída.
+     * @throws IOException Se ocorrer um erro de leitura ou um registro for inválido.
+     */
+    @Override
+    public ArrayList<Project> load() throws IOException {
+        ArrayList<Project> projects = new ArrayList<>();
+        loadEach(projects::add);
+        return projects;
+    }
+
+    /**
+     * Reaplica o snapshot e os journals e entrega os projetos um a um.
+     * <p>
+     * Os objetos {@link Project} só são montados na hora de serem entregues; até lá,
+     * o estado existe apenas como registros codificados.
+     * </p>
+     * @param consumer Quem recebe cada projeto reconstruído.
+     * @throws IOException Se ocorrer um erro de leitura ou um registro for inválido.
+     */
+    @Override
+    public void loadEach(Consumer<? super Project> consumer) throws IOException {
+        synchronized (lock) {
+            closeJournal();
+            loaded = false;
+            ensureLoaded();
+
+            for (ProjectEntry entry : persisted.values()) {
+                DataInputStream in = open(entry.header);
+                in.readByte();
+                Project project = ProjectCodec.readProject(in);
+
+                for (byte[] record : entry.tasks.values()) {
+                    in = open(record);
+                    in.readByte();
+                    ProjectCodec.readId(in);
+                    project.addTask(ProjectCodec.readTask(in));
+                }
+                consumer.accept(project);
+            }
+        }
+    }
+
+    // --- Leitura do disco ---
+
+    /**
+     * Reconstrói o estado gravado (snapshot + journals) se ainda não tiver sido lido.
+     * Deve ser chamado com o {@code lock} obtido.
+     */
+    private void ensureLoaded() throws IOException {
+        if (loaded) {
+            return;
+        }
+        persisted.clear();
+        journalBytes = 0;
+        snapshotBytes = 0;
+        nextGeneration = 1;
+
+        if (Files.isDirectory(directory)) {
+            if (!compacting) {
+                // Sobra de uma compactação interrompida (a que está em andamento ainda o usa).
+                Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE));
+            }
+
+            long firstGeneration = readSnapshot();
+            nextGeneration = firstGeneration;
+
+            for (Map.Entry<Long, Path> journalEntry : listJournals().entrySet()) {
+                long generation = journalEntry.getKey();
+                if (generation < firstGeneration) {
+                    Files.deleteIfExists(journalEntry.getValue());
+                    continue;
+                }
+                journalBytes += replay(journalEntry.getValue());
+                nextGeneration = generation + 1;
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Lê o snapshot (se existir) para o estado em memória.
+     * @return A geração do primeiro journal que deve ser reaplicado depois do snapshot.
+     */
+    private long readSnapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(snapshot)) {
+            return 1;
+        }
+
+        long size = Files.size(snapshot);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Formato de snapshot desconhecido: " + snapshot);
+            }
+            long firstGeneration = in.readLong();
+            readRecords(in, size - SNAPSHOT_HEADER_BYTES);
+            snapshotBytes = size;
+            return firstGeneration;
+        }
+    }
+
+    /**
+     * Reaplica todos os registros de um arquivo de journal.
+     * Um journal sem o cabeçalho completo (criado, mas interrompido antes da primeira
+     * gravação) é tratado como vazio.
+     * @return O tamanho do arquivo, em bytes.
+     */
+    private long replay(Path journalPath) throws IOException {
+        long size = Files.size(journalPath);
+        if (size < JOURNAL_HEADER_BYTES) {
+            return size;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            if (in.readInt() != JOURNAL_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Formato de journal desconhecido: " + journalPath);
+            }
+            readRecords(in, size - JOURNAL_HEADER_BYTES);
+        }
+        return size;
+    }
+
+    /**
+     * Lê registros (tamanho + conteúdo) até o fim do arquivo, aplicando cada um ao estado.
+     * Um registro incompleto no final é descartado, assim como tudo a partir de um
+     * tamanho inválido (negativo ou maior que o restante do arquivo), tratado como o
+     * fim de uma escrita interrompida.
+     * @param in O arquivo, posicionado no primeiro registro.
+     * @param remaining Quantos bytes restam no arquivo a partir dessa posição.
+     */
+    private void readRecords(DataInputStream in, long remaining) throws IOException {
+        while (remaining >= Integer.BYTES) {
+            byte[] record;
+            try {
+                int length = in.readInt();
+                remaining -= Integer.BYTES;
+                if (length < 0 || length > remaining) {
+                    System.err.println("AVISO: Registro com tamanho inválido (" + length
+                            + ") no journal; o restante do arquivo foi ignorado.");
+                    return;
+                }
+                record = new byte[length];
+                in.readFully(record);
+                remaining -= length;
+            } catch (EOFException e) {
+                return;
+            }
+            apply(record);
+        }
+    }
+
+    /**
+     * Lista os journals do diretório, ordenados pela geração.
+     */
+    private Map<Long, Path> listJournals() throws IOException {
+        TreeMap<Long, Path> journals = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "journal-*.log")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    journals.put(Long.parseLong(name.substring(8, name.length() - 4)), path);
+                } catch (NumberFormatException e) {
+                    // Ignora arquivos com nomes fora do padrão
+                }
+            }
+        }
+        return journals;
+    }
+
+    // --- Estado em memória ---
+
+    /**
+     * Aplica um registro ao estado em memória. Usado tanto pelo {@link #load}
+     * (reaplicação) quanto pelo {@link #save} (depois da escrita no disco).
+     */
+    private void apply(byte[] record) throws IOException {
+        DataInputStream in = open(record);
+        byte type = in.readByte();
+        long projectId = ProjectCodec.readId(in);
+
+        switch (type) {
+            case PROJECT_PUT -> {
+                ProjectEntry entry = persisted.get(projectId);
+                if (entry == null) {
+                    entry = new ProjectEntry();
+                    persisted.put(projectId, entry);
+                }
+                entry.header = record;
+            }
+            case PROJECT_DELETE -> persisted.remove(projectId);
+            case TASK_PUT -> {
+                in.readByte();
+                long taskId = ProjectCodec.readId(in);
+                ProjectEntry entry = persisted.get(projectId);
+                if (entry != null) {
+                    entry.tasks.put(taskId, record);
+                }
+            }
+            case TASK_DELETE -> {
+                ProjectEntry entry = persisted.get(projectId);
+                if (entry != null) {
+                    entry.tasks.remove(ProjectCodec.readId(in));
+                }
+            }
+            default -> throw new IOException("Tipo de registro desconhecido no journal: " + type);
+        }
+    }
+
+    // --- Escrita no disco ---
+
+    /**
+     * Escreve os registros no journal atual (abrindo um novo, se necessário)
+     * e força a gravação no disco.
+     */
+    private void appendToJournal(List<byte[]> records) throws IOException {
+        if (journal == null) {
+            openJournal();
+        }
+        for (byte[] record : records) {
+            journal.writeInt(record.length);
+            journal.write(record);
+            journalBytes += Integer.BYTES + record.length;
+        }
+        journal.flush();
+        journalFile.getChannel().force(false);
+    }
+
+    /**
+     * Abre um novo arquivo de journal com a próxima geração.
+     * Cada sessão escreve em um arquivo novo, para nunca continuar depois de um registro incompleto.
+     */
+    private void openJournal() throws IOException {
+        closeJournal();
+        Files.createDirectories(directory);
+        Path path = directory.resolve("journal-" + nextGeneration + ".log");
+        nextGeneration++;
+        journalFile = new FileOutputStream(path.toFile(), true);
+        journal = new DataOutputStream(new BufferedOutputStream(journalFile));
+        journal.writeInt(JOURNAL_MAGIC);
+        journal.writeInt(FORMAT_VERSION);
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+            journalFile = null;
+        }
+    }
+
+    /**
+     * Inicia uma compactação em segundo plano se o journal já estiver maior que o snapshot.
+     * <p>
+     * O journal atual é "fechado" (as próximas gravações vão para um arquivo novo) e uma
+     * cópia rasa do estado é entregue à thread de compactação. Como os registros são
+     * arrays de bytes nunca alterados, a cópia é segura mesmo com novas gravações.
+     * </p>
+     */
+    private void maybeCompact() throws IOException {
+        if (compacting || journalBytes < Math.max(MIN_COMPACTION_BYTES, snapshotBytes)) {
+            return;
+        }
+        compacting = true;
+
+        openJournal();
+        long firstGeneration = nextGeneration - 1;
+        journalBytes = 0;
+
+        List<byte[]> state = new ArrayList<>();
+        for (ProjectEntry entry : persisted.values()) {
+            state.add(entry.header);
+            state.addAll(entry.tasks.values());
+        }
+
+        compactor.submit(() -> writeSnapshot(state, firstGeneration));
+    }
+
+    /**
+     * Escreve o snapshot em um arquivo temporário e o troca pelo atual. Depois disso,
+     * os journals anteriores a {@code firstGeneration} não são mais necessários.
+     * <p>
+     * Só a escrita do temporário acontece fora do {@code lock}. A troca do snapshot e a
+     * exclusão dos journals antigos são feitas com o {@code lock} obtido, para que um
+     * {@link #load} nunca leia o snapshot antigo e depois encontre seus journals apagados.
+     * </p>
+     */
+    private void writeSnapshot(List<byte[]> state, long firstGeneration) {
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        try {
+            try (FileOutputStream fos = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(firstGeneration);
+                for (byte[] record : state) {
+                    out.writeInt(record.length);
+                    out.write(record);
+                }
+                out.flush();
+                fos.getChannel().force(true);
+            }
+
+            synchronized (lock) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                for (Map.Entry<Long, Path> journalEntry : listJournals().entrySet()) {
+                    if (journalEntry.getKey() < firstGeneration) {
+                        Files.deleteIfExists(journalEntry.getValue());
+                    }
+                }
+                snapshotBytes = Files.size(snapshot);
+            }
+        } catch (IOException e) {
+            System.err.println("AVISO: Falha ao compactar o journal: " + e.getMessage());
+        } finally {
+            synchronized (lock) {
+                compacting = false;
+            }
+        }
+    }
+
+    // --- Codificação dos registros ---
+
+    private static byte[] encodeProject(Project project) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(PROJECT_PUT);
+        ProjectCodec.writeProject(out, project);
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeTask(long projectId, Task task) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TASK_PUT);
+        ProjectCodec.writeId(out, projectId);
+        ProjectCodec.writeTask(out, task);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Codifica a exclusão de um projeto ({@code taskId} 0) ou de uma de suas tarefas.
+     */
+    private static byte[] encodeDelete(byte type, long projectId, long taskId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type);
+        ProjectCodec.writeId(out, projectId);
+        if (taskId != 0) {
+            ProjectCodec.writeId(out, taskId);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream open(byte[] record) {
+        return new DataInputStream(new ByteArrayInputStream(record));
+    }
+
+    /**
+     * Registros gravados de um projeto: o cabeçalho e as tarefas (na ordem de criação).
+     */
+    private static final class ProjectEntry {
+        private byte[] header;
+        private final LinkedHashMap<Long, byte[]> tasks = new LinkedHashMap<>();
+    }
+}
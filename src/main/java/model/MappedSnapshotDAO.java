@@ -0,0 +1,301 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Implementação do DAO que grava um snapshot binário compacto e versionado,
+ * lido diretamente da memória com {@link FileChannel#map}.
+ * <p>
+ * Ao contrário da serialização nativa, a carga não passa por nenhum stream:
+ * o arquivo é mapeado na memória e os objetos {@link Project} e {@link Task}
+ * são montados lendo posições fixas do buffer. Isso torna a inicialização
+ * (o {@code loadData()} chamado pelo {@code Main}) praticamente instantânea.
+ * </p>
+ * <p>
+ * Layout do arquivo (big-endian):
+ * </p>
+ * <pre>
+ * Cabeçalho : magic (int), versão (int), nº de projetos (int), nº de tarefas (int), nº de strings (int)
+ * Projetos  : id (long), nome (int, índice na tabela de strings), prazo (long, epoch-day),
+ *             primeira tarefa (int), nº de tarefas (int)                         = 28 bytes
+ * Tarefas   : id (long), descrição (int, índice), tipo (byte, ordinal), status (byte, ordinal),
+ *             prioridade (byte), reservado (byte), data (long, epoch-day)          = 24 bytes
+ * Strings   : deslocamentos (int[nº de strings + 1]) seguidos dos bytes em UTF-8
+ * </pre>
+ * <p>
+ * Strings repetidas são gravadas apenas uma vez na tabela de strings.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class MappedSnapshotDAO implements IPersistenceDAO {
+
+    private static final int MAGIC = 0x504D5342;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+    private static final int PROJECT_RECORD_SIZE = 28;
+    private static final int TASK_RECORD_SIZE = 24;
+
+    /** Valor gravado no campo "data" de tarefas que não possuem data. */
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final Path file;
+
+    /**
+     * Construtor da classe.
+     * @param filename O caminho do arquivo de snapshot (ex: "data/dados.bin").
+     */
+    public MappedSnapshotDAO(String filename) {
+        this.file = Paths.get(filename);
+    }
+
+    /**
+     * Grava todos os projetos no formato binário de registros fixos.
+     * <p>
+     * O snapshot é montado em um buffer, escrito em um arquivo temporário e só
+     * então colocado no lugar do anterior, para nunca deixar um arquivo pela metade.
+     * </p>
+     * @param projects A lista de projetos a ser persistida.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    @Override
+    public void save(ArrayList<Project> projects) throws IOException {
+        StringTable strings = new StringTable();
+
+        int taskCount = 0;
+        for (Project p : projects) {
+            taskCount += p.getTasks().size();
+        }
+
+        ByteBuffer records = ByteBuffer.allocate(
+                HEADER_SIZE + projects.size() * PROJECT_RECORD_SIZE + taskCount * TASK_RECORD_SIZE);
+        records.position(HEADER_SIZE);
+
+        int firstTask = 0;
+        for (Project p : projects) {
+            records.putLong(p.getId());
+            records.putInt(strings.indexOf(p.getName()));
+            records.putLong(p.getGeneralDeadline().toEpochDay());
+            records.putInt(firstTask);
+            records.putInt(p.getTasks().size());
+            firstTask += p.getTasks().size();
+        }
+
+        for (Project p : projects) {
+            for (Task t : p.getTasks()) {
+                LocalDate date = ProjectCodec.dateOf(t);
+                records.putLong(t.getId());
+                records.putInt(strings.indexOf(t.getDescription()));
+                records.put((byte) t.getType().ordinal());
+                records.put((byte) t.getStatus().ordinal());
+                records.put((byte) t.getPriority());
+                records.put((byte) 0);
+                records.putLong(date == null ? NO_DATE : date.toEpochDay());
+            }
+        }
+
+        records.putInt(0, MAGIC);
+        records.putInt(4, FORMAT_VERSION);
+        records.putInt(8, projects.size());
+        records.putInt(12, taskCount);
+        records.putInt(16, strings.size());
+        records.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            ByteBuffer stringTable = strings.toBuffer();
+            while (stringTable.hasRemaining()) {
+                channel.write(stringTable);
+            }
+            // Garante que os dados estão no disco antes de o arquivo substituir o snapshot atual.
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Mapeia o snapshot na memória e reconstrói os projetos a partir dos registros fixos.
+     * <p>
+     * Se o arquivo não existir (primeira execução), retorna uma lista vazia.
+     * </p>
+     * @return A {@link ArrayList} de {@link Project}s lida do snapshot.
+     * @throws IOException Se o arquivo não estiver no formato esperado ou estiver corrompido.
+     */
+    @Override
+    public ArrayList<Project> load() throws IOException {
+        ArrayList<Project> projects = new ArrayList<>();
+        loadEach(projects::add);
+        return projects;
+    }
+
+    /**
+     * Mapeia o snapshot e entrega os projetos um a um, montando cada um
+     * diretamente do buffer no momento da entrega.
+     * @param consumer Quem recebe cada projeto lido.
+     * @throws IOException Se o arquivo não estiver no formato esperado ou estiver corrompido.
+     */
+    @Override
+    public void loadEach(Consumer<? super Project> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot grande demais para ser mapeado: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        try {
+            read(buffer, consumer);
+        } catch (IndexOutOfBoundsException | DateTimeException e) {
+            throw new IOException("Snapshot corrompido ou incompleto: " + file);
+        }
+    }
+
+    /**
+     * Monta os projetos lendo posições absolutas do buffer mapeado.
+     */
+    private void read(ByteBuffer buffer, Consumer<? super Project> consumer) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot binário: " + file);
+        }
+        int version = buffer.getInt(4);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+
+        int projectCount = buffer.getInt(8);
+        int taskCount = buffer.getInt(12);
+        int stringCount = buffer.getInt(16);
+        if (projectCount < 0 || taskCount < 0 || stringCount < 0
+                || stringCount > buffer.limit() / Integer.BYTES) {
+            throw new IOException("Snapshot corrompido ou incompleto: " + file);
+        }
+
+        int tasksStart = HEADER_SIZE + projectCount * PROJECT_RECORD_SIZE;
+        int offsetsStart = tasksStart + taskCount * TASK_RECORD_SIZE;
+        int bytesStart = offsetsStart + (stringCount + 1) * Integer.BYTES;
+        String[] strings = new String[stringCount];
+
+        for (int i = 0; i < projectCount; i++) {
+            int pos = HEADER_SIZE + i * PROJECT_RECORD_SIZE;
+            String name = string(buffer, strings, buffer.getInt(pos + 8), offsetsStart, bytesStart);
+            LocalDate deadline = LocalDate.ofEpochDay(buffer.getLong(pos + 12));
+
+            Project project;
+            try {
+                project = Project.restore(buffer.getLong(pos), name, deadline);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Registro de projeto inválido: " + e.getMessage());
+            }
+
+            int firstTask = buffer.getInt(pos + 20);
+            int count = buffer.getInt(pos + 24);
+            for (int t = firstTask; t < firstTask + count; t++) {
+                int taskPos = tasksStart + t * TASK_RECORD_SIZE;
+                long date = buffer.getLong(taskPos + 16);
+
+                project.addTask(ProjectCodec.newTask(
+                        ProjectCodec.typeOf(buffer.get(taskPos + 12)),
+                        buffer.getLong(taskPos),
+                        string(buffer, strings, buffer.getInt(taskPos + 8), offsetsStart, bytesStart),
+                        buffer.get(taskPos + 14),
+                        ProjectCodec.statusOf(buffer.get(taskPos + 13)),
+                        date == NO_DATE ? null : LocalDate.ofEpochDay(date)));
+            }
+            consumer.accept(project);
+        }
+    }
+
+    /**
+     * Decodifica (uma única vez) a String de um índice da tabela de strings.
+     */
+    private static String string(ByteBuffer buffer, String[] cache, int index,
+                                 int offsetsStart, int bytesStart) throws IOException {
+        if (index < 0 || index >= cache.length) {
+            throw new IOException("Índice de string inválido no snapshot: " + index);
+        }
+        if (cache[index] == null) {
+            int start = buffer.getInt(offsetsStart + index * Integer.BYTES);
+            int end = buffer.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+            if (start < 0 || end < start || (long) bytesStart + end > buffer.limit()) {
+                // Tratado pelo loadEach como snapshot corrompido, assim como uma leitura fora do arquivo.
+                throw new IndexOutOfBoundsException("Intervalo de string inválido: " + start + ".." + end);
+            }
+            byte[] bytes = new byte[end - start];
+            buffer.get(bytesStart + start, bytes);
+            cache[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return cache[index];
+    }
+
+    /**
+     * Tabela de strings sem repetições, montada durante o {@link #save}.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int totalBytes;
+
+        int indexOf(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                index = values.size();
+                indexes.put(value, index);
+                values.add(bytes);
+                totalBytes += bytes.length;
+            }
+            return index;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        ByteBuffer toBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocate((values.size() + 1) * Integer.BYTES + totalBytes);
+            int offset = 0;
+            for (byte[] value : values) {
+                buffer.putInt(offset);
+                offset += value.length;
+            }
+            buffer.putInt(offset);
+            for (byte[] value : values) {
+                buffer.put(value);
+            }
+            return buffer.flip();
+        }
+    }
+}
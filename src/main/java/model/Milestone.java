@@ -16,6 +16,8 @@ import java.time.LocalDate;
  */
 public class Milestone extends Task implements Serializable {
 
+    private static final long serialVersionUID = -3184696362245137392L;
+
     private LocalDate milestoneDate;
 
     /**
@@ -29,7 +31,7 @@ public class Milestone extends Task implements Serializable {
      * @param date A data do marco (não pode ser nula).
      * @throws IllegalArgumentException Se a descrição, prioridade ou data forem inválidas.
      */
-    public Milestone(String id, String description, int priority, LocalDate date)  throws IllegalArgumentException {
+    public Milestone(long id, String description, int priority, LocalDate date)  throws IllegalArgumentException {
         super(id, description, priority);
         this.setMilestoneDate(date);
         this.setStatus(Status.PENDENTE);
@@ -45,6 +47,15 @@ public class Milestone extends Task implements Serializable {
         return milestoneDate;
     }
 
+    /**
+     * Obtém a data de vencimento do marco, que é a própria data do marco.
+     * @return O {@link LocalDate} do marco.
+     */
+    @Override
+    public LocalDate getDueDate() {
+        return milestoneDate;
+    }
+
     // --- Setters ---
 
     /**
@@ -58,7 +69,9 @@ public class Milestone extends Task implements Serializable {
         if (milestoneDate == null) {
             throw new IllegalArgumentException("Data não deve ser nula");
         }
+        this.beforeChange();
         this.milestoneDate = milestoneDate;
+        this.markChanged();
     }
 
     /**
@@ -70,7 +83,9 @@ public class Milestone extends Task implements Serializable {
     @Override
     public void setStatus(Status newStatus) throws IllegalArgumentException {
         if (newStatus == Status.PENDENTE || newStatus == Status.ATINGIDO) {
+            this.beforeChange();
             this.status = newStatus;
+            this.markChanged();
         } else {
             throw new IllegalArgumentException(
                     "Status inválido para um Marco. Status permitidos: PENDENTE, ATINGIDO."
@@ -109,4 +124,13 @@ public class Milestone extends Task implements Serializable {
                 Status.ATINGIDO
         };
     }
+
+    /**
+     * Retorna o tipo desta tarefa.
+     * @return {@code TaskType.MILESTONE}
+     */
+    @Override
+    public TaskType getType() {
+        return TaskType.MILESTONE;
+    }
 }
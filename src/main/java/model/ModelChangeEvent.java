@@ -0,0 +1,143 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma alteração nos projetos ou tarefas de um {@link ProjectManager}, avisada aos
+ * {@link IModelListener}.
+ * <p>
+ * Além do item alterado, o evento traz a sua posição: na lista de projetos do manager
+ * ({@code PROJECT_*}) ou na lista de tarefas do projeto ({@code TASK_*}). As posições
+ * valem para o momento do evento; aplicando os eventos na ordem em que chegaram, uma
+ * cópia da lista (ex: as linhas de uma tabela) acompanha a lista original.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class ModelChangeEvent {
+
+    private static final ModelChangeEvent RELOADED = new ModelChangeEvent(ModelChangeType.RELOADED, null, null, -1, 0);
+
+    private final ModelChangeType type;
+    private final Project project;
+    private final Task task;
+    private final List<Task> addedTasks;
+    private final int index;
+    private final int count;
+
+    /**
+     * Construtor usado pelo {@link ProjectManager} e pelo {@link Project}.
+     * @param type O tipo da alteração.
+     * @param project O projeto alterado, ou o projeto da tarefa alterada.
+     * @param task A (primeira) tarefa alterada, ou {@code null} nos eventos de projeto.
+     * @param index A posição do (primeiro) item alterado.
+     * @param count Quantos itens consecutivos foram alterados.
+     */
+    ModelChangeEvent(ModelChangeType type, Project project, Task task, int index, int count) {
+        this.type = type;
+        this.project = project;
+        this.task = task;
+        this.addedTasks = null;
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Construtor de um evento {@link ModelChangeType#TASK_ADDED} com várias tarefas
+     * consecutivas, usado pelo {@link Project}.
+     * @param project O projeto das tarefas.
+     * @param addedTasks As tarefas adicionadas (pelo menos uma), na ordem da lista.
+     * @param index A posição da primeira tarefa.
+     */
+    ModelChangeEvent(Project project, List<Task> addedTasks, int index) {
+        this.type = ModelChangeType.TASK_ADDED;
+        this.project = project;
+        this.task = addedTasks.get(0);
+        this.addedTasks = Collections.unmodifiableList(addedTasks);
+        this.index = index;
+        this.count = addedTasks.size();
+    }
+
+    /**
+     * Obtém o evento que indica que tudo pode ter mudado.
+     * @return Um evento {@link ModelChangeType#RELOADED}.
+     */
+    public static ModelChangeEvent reloaded() {
+        return RELOADED;
+    }
+
+    /**
+     * Obtém o tipo da alteração.
+     * @return O valor do enum {@link ModelChangeType}.
+     */
+    public ModelChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Obtém o projeto alterado (ou o projeto da tarefa alterada).
+     * @return O {@link Project}, ou {@code null} em {@link ModelChangeType#RELOADED}.
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Obtém a tarefa alterada (a primeira, se várias tarefas foram adicionadas de uma vez).
+     * @return A {@link Task}, ou {@code null} nos eventos de projeto.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Obtém todas as tarefas do evento, na ordem da lista (várias apenas em
+     * {@link ModelChangeType#TASK_ADDED}).
+     * @return As tarefas (lista não modificável), ou uma lista vazia nos eventos de projeto.
+     */
+    public List<Task> getTasks() {
+        if (addedTasks != null) {
+            return addedTasks;
+        }
+        return task != null ? Collections.singletonList(task) : Collections.emptyList();
+    }
+
+    /**
+     * Obtém a posição do (primeiro) item alterado no momento do evento.
+     * @return A posição (começando em 0), ou -1 em {@link ModelChangeType#RELOADED}.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Obtém quantos itens consecutivos, a partir de {@link #getIndex()}, foram alterados.
+     * @return O número de itens (normalmente 1).
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Informa se o evento é de tarefas (e não de projetos ou de recarga).
+     * @return true para {@code TASK_ADDED}, {@code TASK_REMOVED} e {@code TASK_UPDATED}.
+     */
+    public boolean isTaskEvent() {
+        return task != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return Uma descrição curta (ex: "TASK_UPDATED projeto=3 posição=5").
+     */
+    @Override
+    public String toString() {
+        if (type == ModelChangeType.RELOADED) {
+            return type.name();
+        }
+        String range = count == 1 ? String.valueOf(index) : index + ".." + (index + count - 1);
+        return type + " projeto=" + project.getId() + " posição=" + range;
+    }
+}
@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * Tipos de alteração avisados aos {@link IModelListener}.
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public enum ModelChangeType {
+    /** Um projeto entrou na lista do manager (criado, carregado ou importado). */
+    PROJECT_ADDED,
+    /** Um projeto saiu da lista do manager. */
+    PROJECT_REMOVED,
+    /** Um projeto mudou: nome, prazo ou o progresso (por causa de suas tarefas). */
+    PROJECT_UPDATED,
+    /** Uma ou mais tarefas (consecutivas) entraram no final da lista de um projeto. */
+    TASK_ADDED,
+    /** Uma tarefa saiu da lista de um projeto. */
+    TASK_REMOVED,
+    /** Uma tarefa foi alterada por um setter. */
+    TASK_UPDATED,
+    /** Tudo pode ter mudado (ex: outro arquivo foi carregado): quem exibe deve recomeçar. */
+    RELOADED
+}
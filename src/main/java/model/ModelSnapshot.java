@@ -0,0 +1,90 @@
+package model;
+
+/**
+ * Retrato imutável e versionado de todos os projetos de um {@link ProjectManager}.
+ * <p>
+ * O manager publica um retrato novo a cada alteração ({@link ProjectManager#getSnapshot()}).
+ * Os retratos são estruturas persistentes ({@link PersistentTree}): um retrato novo
+ * compartilha com o anterior tudo o que não mudou, então cada alteração custa O(log n)
+ * para quem escreve. Quem lê (salvamento, checkpoints, relatórios, exportações) pode
+ * percorrer um retrato pelo tempo que precisar, de qualquer thread, sem locks e sem
+ * {@link java.util.ConcurrentModificationException}.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class ModelSnapshot {
+
+    /** O retrato de um manager sem projetos. */
+    static final ModelSnapshot EMPTY = new ModelSnapshot(0, PersistentTree.empty());
+
+    private final long version;
+    private final PersistentTree<ProjectSnapshot> projects;
+
+    private ModelSnapshot(long version, PersistentTree<ProjectSnapshot> projects) {
+        this.version = version;
+        this.projects = projects;
+    }
+
+    /**
+     * Cria o retrato seguinte, com o projeto incluído ou substituído.
+     * @param key A posição do projeto na lista (chave atribuída pelo manager).
+     * @param project O retrato do projeto.
+     * @return O novo retrato.
+     */
+    ModelSnapshot with(long key, ProjectSnapshot project) {
+        return new ModelSnapshot(version + 1, projects.put(key, project));
+    }
+
+    /**
+     * Cria o retrato seguinte, sem o projeto.
+     * @param key A posição do projeto na lista (chave atribuída pelo manager).
+     * @return O novo retrato.
+     */
+    ModelSnapshot without(long key) {
+        return new ModelSnapshot(version + 1, projects.remove(key));
+    }
+
+    /**
+     * Obtém a posição de um projeto na lista, pela sua chave.
+     * @param key A chave do projeto (atribuída pelo manager).
+     * @return A posição (começando em 0), ou -1 se o projeto não estiver no retrato.
+     */
+    int indexOf(long key) {
+        return projects.indexOf(key);
+    }
+
+    /**
+     * Cria o retrato seguinte, sem nenhum projeto.
+     * @return O novo retrato, vazio.
+     */
+    ModelSnapshot cleared() {
+        return new ModelSnapshot(version + 1, PersistentTree.empty());
+    }
+
+    /**
+     * Obtém a versão do retrato, que aumenta a cada alteração publicada.
+     * Dois retratos com a mesma versão têm exatamente o mesmo conteúdo.
+     * @return A versão.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtém a quantidade de projetos.
+     * @return O número de projetos.
+     */
+    public int getProjectCount() {
+        return projects.size();
+    }
+
+    /**
+     * Obtém os projetos, na mesma ordem de {@link ProjectManager#getProjects()}.
+     * @return Os retratos dos projetos (somente leitura).
+     */
+    public Iterable<ProjectSnapshot> getProjects() {
+        return projects;
+    }
+}
@@ -0,0 +1,346 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapa imutável e persistente de chaves {@code long} para valores, ordenado pela chave.
+ * <p>
+ * É uma árvore AVL com "cópia de caminho": {@link #put} e {@link #remove} não alteram
+ * a árvore atual, e sim devolvem uma nova árvore que copia apenas os nós do caminho até
+ * a chave (O(log n)) e compartilha todo o resto com a anterior. Assim, quem guardou uma
+ * versão antiga pode continuar percorrendo-a, sem locks, enquanto novas versões são criadas.
+ * </p>
+ *
+ * @param <V> O tipo dos valores.
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class PersistentTree<V> implements Iterable<V> {
+
+    private static final PersistentTree<?> EMPTY = new PersistentTree<>(null);
+
+    private final Node<V> root;
+
+    private PersistentTree(Node<V> root) {
+        this.root = root;
+    }
+
+    /**
+     * Obtém a árvore vazia.
+     * @param <V> O tipo dos valores.
+     * @return Uma árvore sem elementos.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentTree<V> empty() {
+        return (PersistentTree<V>) EMPTY;
+    }
+
+    /**
+     * Cria uma nova versão da árvore com a chave associada ao valor (incluindo ou substituindo).
+     * @param key A chave.
+     * @param value O valor (não pode ser nulo).
+     * @return A nova árvore; esta continua inalterada.
+     * @throws IllegalArgumentException Se o valor for nulo.
+     */
+    public PersistentTree<V> put(long key, V value) throws IllegalArgumentException {
+        if (value == null) {
+            throw new IllegalArgumentException("O valor não pode ser nulo.");
+        }
+        return new PersistentTree<>(put(root, key, value));
+    }
+
+    /**
+     * Cria uma nova versão da árvore com vários valores acrescentados ao final, nas chaves
+     * {@code firstKey}, {@code firstKey + 1}, e assim por diante.
+     * <p>
+     * Quando copiar um caminho inteiro para cada valor custaria mais do que remontar a
+     * árvore (valores × altura ≥ elementos atuais), a nova árvore é montada já balanceada
+     * de uma só vez, criando um nó por elemento. Caso contrário, os valores são incluídos
+     * um a um.
+     * </p>
+     * @param firstKey A chave do primeiro valor; deve ser maior que todas as chaves atuais.
+     * @param values Os valores, na ordem das chaves (nenhum pode ser nulo).
+     * @return A nova árvore; esta continua inalterada.
+     * @throws IllegalArgumentException Se {@code firstKey} não for maior que as chaves atuais
+     * ou algum valor for nulo.
+     */
+    public PersistentTree<V> appendAll(long firstKey, List<? extends V> values) throws IllegalArgumentException {
+        if (values.isEmpty()) {
+            return this;
+        }
+        if (root != null) {
+            Node<V> last = root;
+            while (last.right != null) {
+                last = last.right;
+            }
+            if (firstKey <= last.key) {
+                throw new IllegalArgumentException("As novas chaves devem ser maiores que as chaves atuais.");
+            }
+        }
+        if (values.contains(null)) {
+            throw new IllegalArgumentException("O valor não pode ser nulo.");
+        }
+
+        if ((long) values.size() * heightOf(root) < size()) {
+            Node<V> newRoot = root;
+            long key = firstKey;
+            for (V value : values) {
+                newRoot = put(newRoot, key++, value);
+            }
+            return new PersistentTree<>(newRoot);
+        }
+
+        int total = size() + values.size();
+        long[] keys = new long[total];
+        Object[] all = new Object[total];
+        int count = 0;
+        for (Iterator<Node<V>> it = nodes(); it.hasNext(); count++) {
+            Node<V> node = it.next();
+            keys[count] = node.key;
+            all[count] = node.value;
+        }
+        long key = firstKey;
+        for (V value : values) {
+            keys[count] = key++;
+            all[count++] = value;
+        }
+        return new PersistentTree<>(build(keys, all, 0, total - 1));
+    }
+
+    /**
+     * Cria uma nova versão da árvore sem a chave.
+     * @param key A chave a ser retirada.
+     * @return A nova árvore (ou esta mesma, se a chave não existir).
+     */
+    public PersistentTree<V> remove(long key) {
+        Node<V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentTree<>(newRoot);
+    }
+
+    /**
+     * Busca o valor associado a uma chave, em O(log n).
+     * @param key A chave.
+     * @return O valor, ou {@code null} se a chave não existir.
+     */
+    public V get(long key) {
+        Node<V> node = root;
+        while (node != null) {
+            if (key < node.key) {
+                node = node.left;
+            } else if (key > node.key) {
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Obtém a posição de uma chave na ordem crescente das chaves, em O(log n).
+     * @param key A chave.
+     * @return A posição (começando em 0), ou -1 se a chave não existir.
+     */
+    public int indexOf(long key) {
+        Node<V> node = root;
+        int before = 0;
+        while (node != null) {
+            if (key < node.key) {
+                node = node.left;
+            } else if (key > node.key) {
+                before += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + sizeOf(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtém a quantidade de elementos, em tempo constante.
+     * @return O número de chaves na árvore.
+     */
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Informa se a árvore está vazia.
+     * @return true se não houver elementos.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Percorre os valores em ordem crescente de chave.
+     * @return Um iterador somente leitura.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        Iterator<Node<V>> nodes = nodes();
+        return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+                return nodes.hasNext();
+            }
+
+            @Override
+            public V next() {
+                return nodes.next().value;
+            }
+        };
+    }
+
+    /**
+     * Percorre os nós em ordem crescente de chave.
+     */
+    private Iterator<Node<V>> nodes() {
+        return new Iterator<Node<V>>() {
+            private final Deque<Node<V>> path = new ArrayDeque<>();
+
+            {
+                pushLeft(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Node<V> next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<V> node = path.pop();
+                pushLeft(node.right);
+                return node;
+            }
+
+            private void pushLeft(Node<V> node) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+            }
+        };
+    }
+
+    // --- Operações nos nós (sempre criam nós novos, nunca alteram os existentes) ---
+
+    private static <V> Node<V> put(Node<V> node, long key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        if (key < node.key) {
+            return balance(node.key, node.value, put(node.left, key, value), node.right);
+        }
+        if (key > node.key) {
+            return balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    private static <V> Node<V> remove(Node<V> node, long key) {
+        if (node == null) {
+            return null;
+        }
+        if (key < node.key) {
+            Node<V> left = remove(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (key > node.key) {
+            Node<V> right = remove(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, remove(node.right, successor.key));
+    }
+
+    /**
+     * Monta, já balanceada, a árvore com as chaves (em ordem crescente) e valores de
+     * {@code keys[from..to]} e {@code values[from..to]}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Node<V> build(long[] keys, Object[] values, int from, int to) {
+        if (from > to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<>(keys[middle], (V) values[middle],
+                build(keys, values, from, middle - 1), build(keys, values, middle + 1, to));
+    }
+
+    /**
+     * Cria o nó (key, value, left, right), fazendo as rotações necessárias para que
+     * as alturas das subárvores não difiram em mais de 1.
+     */
+    private static <V> Node<V> balance(long key, V value, Node<V> left, Node<V> right) {
+        int difference = heightOf(left) - heightOf(right);
+        if (difference > 1) {
+            if (heightOf(left.left) < heightOf(left.right)) {
+                left = rotateLeft(left.key, left.value, left.left, left.right);
+            }
+            return rotateRight(key, value, left, right);
+        }
+        if (difference < -1) {
+            if (heightOf(right.right) < heightOf(right.left)) {
+                right = rotateRight(right.key, right.value, right.left, right.right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static <V> Node<V> rotateRight(long key, V value, Node<V> left, Node<V> right) {
+        return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+    }
+
+    private static <V> Node<V> rotateLeft(long key, V value, Node<V> left, Node<V> right) {
+        return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+    }
+
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Nó imutável da árvore.
+     */
+    private static final class Node<V> {
+        private final long key;
+        private final V value;
+        private final Node<V> left;
+        private final Node<V> right;
+        private final int height;
+        private final int size;
+
+        private Node(long key, V value, Node<V> left, Node<V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(heightOf(left), heightOf(right)) + 1;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+        }
+    }
+}
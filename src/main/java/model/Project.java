@@ -1,8 +1,18 @@
 package model;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
  * Representa um Projeto, que é o contêiner principal para um conjunto de Tarefas.
@@ -17,10 +27,54 @@ import java.util.ArrayList;
  */
 public class Project implements Serializable {
 
-    private String id;
+    private static final long serialVersionUID = -348454709047822843L;
+
+    /** Contador global de versões, compartilhado por projetos e tarefas. */
+    private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
+    /**
+     * Campos dos arquivos antigos, gravados com a serialização padrão (antes do
+     * {@link ProjectProxy}), em que o ID ainda era uma String. Ver {@link #readObject}.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("id", String.class),
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("generalDeadline", LocalDate.class),
+            new ObjectStreamField("tasks", ArrayList.class)
+    };
+
+    private long id;
     private String name;
     private LocalDate generalDeadline;
-    private final ArrayList<Task> tasks;
+    private ArrayList<Task> tasks;
+    /** Índice ID → tarefa, mantido junto com a lista (reconstruído após a desserialização). */
+    private transient Map<Long, Task> taskIndex;
+    /** Quantas tarefas carregadas estão finalizadas; mantido a cada alteração, para o progresso custar O(1). */
+    private transient int completedCount;
+    /** Maior ID de tarefa já ligado ao projeto (não diminui quando tarefas são removidas). */
+    private transient long maxTaskId;
+    /** Índices secundários do {@link ProjectManager} ao qual o projeto pertence ({@code null} se nenhum). */
+    private transient TaskIndex secondaryIndex;
+    /** Retratos imutáveis das tarefas, na ordem da lista (ver {@link #toSnapshot()}). */
+    private transient PersistentTree<TaskSnapshot> taskSnapshots;
+    /** Próxima chave a ser dada a uma tarefa em {@link #taskSnapshots}. */
+    private transient long nextTaskKey;
+    /** Quem é avisado das alterações ({@code null} se ninguém) e a chave do projeto para ele. */
+    private transient IProjectListener listener;
+    private transient long snapshotKey;
+    private transient long version;
+    /** Quantos lotes de alterações estão abertos ({@link #beginBatch()}) e se há aviso pendente. */
+    private transient int batchDepth;
+    private transient boolean changedInBatch;
+
+    /**
+     * Carregador das tarefas ainda não lidas do disco; {@code null} quando as tarefas
+     * já estão na memória (o caso normal). Só volta a ser {@code null} depois de as
+     * tarefas estarem ligadas ao projeto (ver {@link #ensureTasksLoaded()}).
+     */
+    private transient volatile ITaskLoader taskLoader;
+    private transient int headerTaskCount;
+    private transient int headerCompletedCount;
 
     /**
      * Construtor para criar um novo Projeto.
@@ -33,15 +87,82 @@ public class Project implements Serializable {
      * @param generalDeadline O prazo final para o projeto (não pode ser nulo).
      * @throws IllegalArgumentException Se o nome ou o prazo forem inválidos.
      */
-    public Project(String id, String name, LocalDate generalDeadline) throws IllegalArgumentException {
-        if (AppUtils.isStringNullOrEmpty(id)) {
-            throw new IllegalArgumentException("O ID do projeto não pode ser nulo ou vazio.");
+    public Project(long id, String name, LocalDate generalDeadline) throws IllegalArgumentException {
+        if (!AppUtils.isValidId(id)) {
+            throw new IllegalArgumentException("O ID do projeto deve ser um número positivo. Recebido: " + id);
         }
         this.id = id;
         this.setName(name);
         this.setGeneralDeadline(generalDeadline);
 
         this.tasks = new ArrayList<>();
+        this.taskIndex = new HashMap<>();
+        this.taskSnapshots = PersistentTree.empty();
+    }
+
+    /**
+     * Construtor privado usado apenas por {@link #restore}.
+     * Não valida o prazo, pois um projeto salvo pode ter um prazo que já passou.
+     */
+    private Project(long id, String name, LocalDate generalDeadline, boolean restored) {
+        this.id = id;
+        this.name = name;
+        this.generalDeadline = generalDeadline;
+        this.tasks = new ArrayList<>();
+        this.taskIndex = new HashMap<>();
+        this.taskSnapshots = PersistentTree.empty();
+        this.version = nextVersion();
+    }
+
+    /**
+     * Reconstrói um projeto a partir de dados já persistidos.
+     * <p>
+     * Usado pelas estratégias de persistência que não dependem da serialização
+     * nativa. Ao contrário do construtor público, aceita prazos no passado.
+     * </p>
+     * @param id O ID salvo do projeto.
+     * @param name O nome salvo do projeto.
+     * @param generalDeadline O prazo salvo do projeto.
+     * @return O projeto reconstruído, ainda sem tarefas.
+     * @throws IllegalArgumentException Se o ID não for positivo ou o nome ou o prazo forem nulos/vazios.
+     */
+    static Project restore(long id, String name, LocalDate generalDeadline) throws IllegalArgumentException {
+        if (!AppUtils.isValidId(id) || AppUtils.isStringNullOrEmpty(name) || generalDeadline == null) {
+            throw new IllegalArgumentException("Dados salvos do projeto estão incompletos.");
+        }
+        return new Project(id, name, generalDeadline, true);
+    }
+
+    /**
+     * Reconstrói apenas o cabeçalho de um projeto salvo, deixando as tarefas no disco.
+     * <p>
+     * O progresso é calculado a partir das contagens salvas no cabeçalho, o que basta
+     * para listar os projetos. As tarefas só são lidas (pelo {@code taskLoader}) na
+     * primeira vez em que forem realmente necessárias: ao abrir a tela do projeto,
+     * buscar, adicionar ou remover uma tarefa.
+     * </p>
+     * @param id O ID salvo do projeto.
+     * @param name O nome salvo do projeto.
+     * @param generalDeadline O prazo salvo do projeto.
+     * @param taskCount A quantidade de tarefas salvas.
+     * @param completedCount A quantidade de tarefas finalizadas.
+     * @param maxTaskId O maior ID entre as tarefas (0 se não houver).
+     * @param taskLoader Quem lê as tarefas do disco quando forem necessárias.
+     * @return O projeto reconstruído, com as tarefas ainda não carregadas.
+     * @throws IllegalArgumentException Se os dados do cabeçalho forem inválidos.
+     */
+    static Project restoreHeader(long id, String name, LocalDate generalDeadline, int taskCount,
+                                 int completedCount, long maxTaskId, ITaskLoader taskLoader)
+            throws IllegalArgumentException {
+        if (taskCount < 0 || completedCount < 0 || completedCount > taskCount || taskLoader == null) {
+            throw new IllegalArgumentException("Cabeçalho salvo do projeto é inválido.");
+        }
+        Project project = restore(id, name, generalDeadline);
+        project.headerTaskCount = taskCount;
+        project.headerCompletedCount = completedCount;
+        project.maxTaskId = maxTaskId;
+        project.taskLoader = taskLoader;
+        return project;
     }
 
     // --- Métodos de Gerenciamento de Tarefas (CRUD) ---
@@ -55,7 +176,36 @@ public class Project implements Serializable {
         if (task == null) {
             throw new IllegalArgumentException("A tarefa não pode ser nula.");
         }
+        this.ensureTasksLoaded();
         this.tasks.add(task);
+        this.attachTask(task);
+        this.fireTaskChanged(ModelChangeType.TASK_ADDED, task, this.tasks.size() - 1, 1);
+        this.markChanged();
+    }
+
+    /**
+     * Adiciona várias tarefas de uma só vez, com um único aviso de alteração.
+     * <p>
+     * Todas as tarefas são validadas antes: se alguma for nula, nenhuma é adicionada.
+     * </p>
+     * @param newTasks As tarefas a serem adicionadas, na ordem desejada.
+     * @throws IllegalArgumentException Se a lista ou alguma das tarefas for nula.
+     */
+    public void addTasks(List<? extends Task> newTasks) throws IllegalArgumentException {
+        if (newTasks == null || newTasks.contains(null)) {
+            throw new IllegalArgumentException("A lista de tarefas não pode ser nula nem conter tarefas nulas.");
+        }
+        if (newTasks.isEmpty()) {
+            return;
+        }
+        this.ensureTasksLoaded();
+        int first = this.tasks.size();
+        this.tasks.addAll(newTasks);
+        this.attachAll(newTasks);
+        if (this.listener != null) {
+            this.listener.taskChanged(new ModelChangeEvent(this, new ArrayList<Task>(newTasks), first));
+        }
+        this.markChanged();
     }
 
     /**
@@ -63,29 +213,95 @@ public class Project implements Serializable {
      * @param taskId O ID da tarefa a ser removida.
      * @return true se a tarefa foi encontrada e removida, false caso contrário.
      */
-    public boolean removeTask(String taskId) {
-        if (AppUtils.isStringNullOrEmpty(taskId)) {
+    public boolean removeTask(long taskId) {
+        if (!AppUtils.isValidId(taskId)) {
             return false;
         }
-        return this.tasks.removeIf(task -> task.getId().equals(taskId));
+        this.ensureTasksLoaded();
+
+        Task task = this.taskIndex.get(taskId);
+        if (task == null) {
+            return false;
+        }
+        int index = this.taskSnapshots.indexOf(task.getSnapshotKey());
+        this.tasks.remove(index);
+        this.detachTask(task);
+        this.fireTaskChanged(ModelChangeType.TASK_REMOVED, task, index, 1);
+        this.markChanged();
+        return true;
+    }
+
+    /**
+     * Remove todas as tarefas que atendem a um critério, com um único aviso de alteração.
+     * <p>
+     * O critério é aplicado a todas as tarefas antes de qualquer remoção; as escolhidas
+     * são então removidas de uma só vez e, só no final, cada uma gera o seu
+     * {@link ModelChangeType#TASK_REMOVED}.
+     * </p>
+     * <p>
+     * Exemplo: {@code project.removeTasks(task -> task.getStatus() == Status.CONCLUIDO)}.
+     * </p>
+     * @param filter O critério: as tarefas para as quais ele retornar true são removidas.
+     * @return A quantidade de tarefas removidas.
+     * @throws IllegalArgumentException Se o critério for nulo.
+     */
+    public int removeTasks(Predicate<? super Task> filter) throws IllegalArgumentException {
+        if (filter == null) {
+            throw new IllegalArgumentException("O critério de remoção não pode ser nulo.");
+        }
+        this.ensureTasksLoaded();
+
+        // 1. Escolhe as tarefas: o critério só vê a lista ainda intacta.
+        int size = this.tasks.size();
+        List<Task> matched = new ArrayList<>();
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            Task task = this.tasks.get(i);
+            if (filter.test(task)) {
+                positions[matched.size()] = i;
+                matched.add(task);
+            }
+        }
+        if (matched.isEmpty()) {
+            return 0;
+        }
+
+        // 2. Remove todas de uma vez, compactando a lista.
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < matched.size() && positions[next] == i) {
+                next++;
+            } else {
+                this.tasks.set(kept++, this.tasks.get(i));
+            }
+        }
+        this.tasks.subList(kept, size).clear();
+        for (Task task : matched) {
+            this.detachTask(task);
+        }
+
+        // 3. Só então avisa, na ordem da lista: cada posição já desconta as tarefas avisadas antes.
+        for (int i = 0; i < matched.size(); i++) {
+            int index = this.listener != null ? positions[i] - i : -1;
+            this.fireTaskChanged(ModelChangeType.TASK_REMOVED, matched.get(i), index, 1);
+        }
+        this.markChanged();
+        return matched.size();
     }
 
     /**
-     * Busca e retorna uma tarefa específica da lista com base no seu ID.
+     * Busca e retorna uma tarefa específica com base no seu ID, em tempo constante (pelo índice).
      * @param taskId O ID da tarefa a ser encontrada.
      * @return O objeto {@link Task} se encontrado, ou {@code null} se não encontrado.
      */
-    public Task getTaskById(String taskId) {
-        if (AppUtils.isStringNullOrEmpty(taskId)) {
+    public Task getTaskById(long taskId) {
+        if (!AppUtils.isValidId(taskId)) {
             return null;
         }
+        this.ensureTasksLoaded();
 
-        for (Task task : this.tasks) {
-            if (task.getId().equals(taskId)) {
-                return task;
-            }
-        }
-        return null;
+        return this.taskIndex.get(taskId);
     }
 
     // --- Lógica de Negócio ---
@@ -95,36 +311,75 @@ public class Project implements Serializable {
      * <p>
      * A lógica se baseia em quantas tarefas estão em um estado "finalizado"
      * ({@code Status.CONCLUIDO} ou {@code Status.ATINGIDO} ou {@code Status.CORRIGIDO}).
+     * Os dois totais são mantidos pelo próprio projeto a cada alteração, então o cálculo
+     * não percorre as tarefas.
      * </p>
      * @return Um double entre 0.0 e 100.0 representando a porcentagem de conclusão.
      */
     public double getProgressPercentage() {
-        if (tasks.isEmpty()) {
+        int total = this.getTaskCount();
+        if (total == 0) {
             return 0.0;
         }
 
-        double concluidas = 0;
-        for (Task task : tasks) {
-            Status status = task.getStatus();
-            if (status == Status.CONCLUIDO || status == Status.ATINGIDO)
-            {
-                concluidas++;
-            }
-        }
+        double concluidas = this.getCompletedTaskCount();
+
+        return (concluidas / total) * 100.0;
+    }
+
+    /**
+     * Obtém a quantidade de tarefas do projeto, sem precisar carregá-las do disco.
+     * @return O número de tarefas.
+     */
+    public int getTaskCount() {
+        return this.taskLoader != null ? this.headerTaskCount : this.tasks.size();
+    }
+
+    /**
+     * Obtém a quantidade de tarefas finalizadas, sem precisar carregá-las do disco.
+     * @return O número de tarefas com status {@code CONCLUIDO} ou {@code ATINGIDO}.
+     */
+    int getCompletedTaskCount() {
+        return this.taskLoader != null ? this.headerCompletedCount : this.completedCount;
+    }
+
+    /**
+     * Obtém o maior ID de tarefa já registrado no projeto, sem precisar carregar as
+     * tarefas do disco. Usado pelo {@link ProjectManager} para avançar o contador de IDs;
+     * como o valor não diminui quando tarefas são removidas, um ID nunca é reaproveitado.
+     * @return O maior ID, ou 0 se nunca houve tarefas.
+     */
+    long getMaxTaskId() {
+        return this.maxTaskId;
+    }
 
-        return (concluidas / this.tasks.size()) * 100.0;
+    /**
+     * Informa se as tarefas do projeto já estão na memória.
+     * @return false somente para projetos carregados por cabeçalho cujas tarefas
+     * ainda não foram lidas do disco.
+     */
+    public boolean isTasksLoaded() {
+        return this.taskLoader == null;
     }
 
     // --- GETTERS ---
 
     /**
      * Obtém o ID único do projeto.
-     * @return A String do ID.
+     * @return O número do ID.
      */
-    public String getId() {
+    public long getId() {
         return id;
     }
 
+    /**
+     * Obtém o ID do projeto formatado para exibição.
+     * @return A String do ID.
+     */
+    public String getDisplayId() {
+        return Long.toString(id);
+    }
+
     /**
      * Obtém o nome do projeto.
      * @return A String do nome.
@@ -143,9 +398,22 @@ public class Project implements Serializable {
 
     /**
      * Obtém a lista inteira de tarefas.
+     * <p>
+     * Se o projeto foi carregado apenas pelo cabeçalho, as tarefas são lidas do disco
+     * neste momento (somente na primeira chamada).
+     * </p>
+     * <p>
+     * A lista devolvida é a própria lista do projeto, sem cópia e sem sincronização. Em um
+     * {@link ProjectManager}, ela é alterada por outras threads com o lock do projeto; só
+     * quem já tem esse lock (o próprio manager e os DAOs, que recebem cópias) pode
+     * percorrê-la. As demais threads, como as telas, devem usar
+     * {@link ProjectManager#getTasks(long)}, que devolve uma cópia tirada com o lock.
+     * </p>
      * @return A {@link ArrayList} de {@link Task}s.
+     * @throws UncheckedIOException Se as tarefas precisarem ser lidas e a leitura falhar.
      */
     public ArrayList<Task> getTasks() {
+        this.ensureTasksLoaded();
         return tasks;
     }
 
@@ -155,8 +423,9 @@ public class Project implements Serializable {
      * Define o ID do projeto (chamado somente para evitar duplicatas entre os IDs na serialização)
      * @param id O novo ID para o projeto.
      */
-    public void setId(String id) {
+    public void setId(long id) {
         this.id = id;
+        this.markChanged();
     }
 
     /**
@@ -169,6 +438,7 @@ public class Project implements Serializable {
             throw new IllegalArgumentException("O nome do projeto não pode ser nulo, vazio ou maior que 50 caracteres.");
         }
         this.name = name;
+        this.markChanged();
     }
 
     /**
@@ -181,6 +451,325 @@ public class Project implements Serializable {
             throw new IllegalArgumentException("A data não pode ser nula nem estar no passado.");
         }
         this.generalDeadline = generalDeadline;
+        this.markChanged();
+    }
+
+    // --- Controle de Versão (Dirty Tracking) ---
+
+    /**
+     * Obtém a versão atual do projeto.
+     * <p>
+     * A versão muda sempre que o projeto é alterado: pelos setters, ao adicionar
+     * ou remover tarefas, ou quando qualquer uma de suas tarefas é alterada.
+     * Comparando-a com a versão do último salvamento, o {@link ProjectManager}
+     * sabe se o projeto precisa ser gravado novamente.
+     * </p>
+     * @return Um número que nunca se repete entre alterações diferentes.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Marca o projeto como alterado, atribuindo a ele uma nova versão, e avisa o
+     * {@link IProjectListener} (se houver).
+     * Chamado pelos setters do projeto e pelas tarefas que pertencem a ele.
+     * Dentro de um lote ({@link #beginBatch()}), o aviso fica para o fim do lote.
+     */
+    void markChanged() {
+        this.version = nextVersion();
+        if (this.batchDepth > 0) {
+            this.changedInBatch = true;
+        } else if (this.listener != null) {
+            this.listener.projectChanged(this);
+        }
+    }
+
+    /**
+     * Avisa o {@link IProjectListener} (se houver) de qual tarefa mudou e em que posição.
+     * Ao contrário de {@link #markChanged()}, não espera o fim de um lote.
+     */
+    private void fireTaskChanged(ModelChangeType type, Task task, int index, int count) {
+        if (this.listener != null) {
+            this.listener.taskChanged(new ModelChangeEvent(type, this, task, index, count));
+        }
+    }
+
+    /**
+     * Obtém a posição de uma tarefa na lista em O(log n), pela árvore de retratos (que segue
+     * a ordem da lista). Só é calculada se houver quem seja avisado.
+     */
+    private int positionOf(Task task) {
+        return this.listener != null ? this.taskSnapshots.indexOf(task.getSnapshotKey()) : -1;
+    }
+
+    /**
+     * Abre um lote de alterações: até o {@link #endBatch()} correspondente, o
+     * {@link IProjectListener} não é avisado de cada alteração, e sim uma única vez no final.
+     * Os índices e contadores continuam sendo mantidos a cada alteração. Lotes podem
+     * ser aninhados; o aviso acontece ao fechar o mais externo.
+     */
+    void beginBatch() {
+        this.batchDepth++;
+    }
+
+    /**
+     * Fecha um lote aberto por {@link #beginBatch()} e, se for o mais externo e algo
+     * tiver mudado, avisa o {@link IProjectListener} uma única vez.
+     * Deve ser chamado em um bloco {@code finally}.
+     */
+    void endBatch() {
+        if (--this.batchDepth > 0 || !this.changedInBatch) {
+            return;
+        }
+        this.changedInBatch = false;
+        if (this.listener != null) {
+            this.listener.projectChanged(this);
+        }
+    }
+
+    // --- Retratos Imutáveis (Snapshots) ---
+
+    /**
+     * Tira um retrato imutável do estado atual do projeto, em tempo constante: a árvore
+     * de tarefas já é mantida a cada alteração e é compartilhada com os retratos anteriores.
+     * @return O retrato do projeto.
+     */
+    ProjectSnapshot toSnapshot() {
+        ITaskLoader loader = this.taskLoader;
+        if (loader != null) {
+            return new ProjectSnapshot(this.id, this.name, this.generalDeadline, this.version,
+                    this.headerTaskCount, this.headerCompletedCount, null, loader, this.maxTaskId);
+        }
+        return new ProjectSnapshot(this.id, this.name, this.generalDeadline, this.version,
+                this.tasks.size(), this.completedCount, this.taskSnapshots, null, this.maxTaskId);
+    }
+
+    /**
+     * Define quem deve ser avisado das alterações do projeto.
+     * @param listener Quem será avisado, ou {@code null} para ninguém.
+     * @param snapshotKey A chave do projeto para quem é avisado (ver {@link #getSnapshotKey()}).
+     */
+    void setListener(IProjectListener listener, long snapshotKey) {
+        this.listener = listener;
+        this.snapshotKey = snapshotKey;
+    }
+
+    /**
+     * Obtém a chave dada ao projeto por quem é avisado das suas alterações.
+     * @return A chave definida em {@link #setListener}.
+     */
+    long getSnapshotKey() {
+        return this.snapshotKey;
+    }
+
+    // --- Manutenção do Índice e dos Contadores ---
+
+    /**
+     * Chamado por uma tarefa deste projeto logo ANTES de ela ser alterada por um setter.
+     * Retira a tarefa dos índices e dos contadores, com os valores ainda antigos.
+     * @param task A tarefa que vai ser alterada.
+     */
+    void beforeTaskChange(Task task) {
+        if (this.taskIndex.get(task.getId()) == task) {
+            this.taskIndex.remove(task.getId());
+        }
+        if (isCompleted(task)) {
+            this.completedCount--;
+        }
+        if (this.secondaryIndex != null) {
+            this.secondaryIndex.beforeChange(task);
+        }
+    }
+
+    /**
+     * Chamado por uma tarefa deste projeto logo DEPOIS de ser alterada por um setter.
+     * Devolve a tarefa aos índices e aos contadores, já com os valores novos, atualiza
+     * o seu retrato e marca o projeto como alterado.
+     * @param task A tarefa que foi alterada.
+     */
+    void afterTaskChange(Task task) {
+        this.taskIndex.put(task.getId(), task);
+        if (isCompleted(task)) {
+            this.completedCount++;
+        }
+        if (this.secondaryIndex != null) {
+            this.secondaryIndex.afterChange(task);
+        }
+        this.taskSnapshots = this.taskSnapshots.put(task.getSnapshotKey(), TaskSnapshot.of(task));
+        this.fireTaskChanged(ModelChangeType.TASK_UPDATED, task, this.positionOf(task), 1);
+        this.markChanged();
+    }
+
+    /**
+     * Liga o projeto aos índices secundários de um {@link ProjectManager} (ou o desliga,
+     * com {@code null}): as tarefas já carregadas saem dos índices antigos e entram nos novos.
+     * Tarefas carregadas depois (carregamento tardio) entram nos índices ao serem lidas.
+     * @param index Os índices do manager, ou {@code null} se o projeto saiu do manager.
+     */
+    void setSecondaryIndex(TaskIndex index) {
+        if (this.secondaryIndex == index) {
+            return;
+        }
+        for (Task task : this.tasks) {
+            if (this.secondaryIndex != null) {
+                this.secondaryIndex.remove(task);
+            }
+            if (index != null) {
+                index.add(task);
+            }
+        }
+        this.secondaryIndex = index;
+    }
+
+    /**
+     * Liga uma tarefa (já presente na lista) a este projeto: índices, contadores, retrato e dono.
+     */
+    private void attachTask(Task task) {
+        this.linkTask(task);
+        this.taskSnapshots = this.taskSnapshots.put(task.getSnapshotKey(), TaskSnapshot.of(task));
+    }
+
+    /**
+     * Liga várias tarefas (já presentes na lista, no final) a este projeto. Os retratos são
+     * acrescentados à árvore de uma só vez ({@link PersistentTree#appendAll}).
+     */
+    private void attachAll(List<? extends Task> attached) {
+        long firstKey = this.nextTaskKey;
+        List<TaskSnapshot> snapshots = new ArrayList<>(attached.size());
+        for (Task task : attached) {
+            this.linkTask(task);
+            snapshots.add(TaskSnapshot.of(task));
+        }
+        this.taskSnapshots = this.taskSnapshots.appendAll(firstKey, snapshots);
+    }
+
+    /**
+     * Liga uma tarefa aos índices, aos contadores e a este projeto, e lhe dá a próxima
+     * chave de retrato (sem criar o retrato).
+     */
+    private void linkTask(Task task) {
+        this.taskIndex.put(task.getId(), task);
+        this.maxTaskId = Math.max(this.maxTaskId, task.getId());
+        if (isCompleted(task)) {
+            this.completedCount++;
+        }
+        // O dono é definido antes de a tarefa entrar nos índices compartilhados,
+        // onde outras threads podem encontrá-la (ex: getCalendar).
+        task.setSnapshotKey(this.nextTaskKey++);
+        task.setOwner(this);
+        if (this.secondaryIndex != null) {
+            this.secondaryIndex.add(task);
+        }
+    }
+
+    /**
+     * Desliga uma tarefa (já retirada da lista) deste projeto: índices, contadores, retrato e dono.
+     */
+    private void detachTask(Task task) {
+        this.taskIndex.remove(task.getId(), task);
+        if (isCompleted(task)) {
+            this.completedCount--;
+        }
+        if (this.secondaryIndex != null) {
+            this.secondaryIndex.remove(task);
+        }
+        this.taskSnapshots = this.taskSnapshots.remove(task.getSnapshotKey());
+        task.setOwner(null);
+    }
+
+    /**
+     * Informa se a tarefa está em um estado "finalizado" ({@code CONCLUIDO} ou {@code ATINGIDO}).
+     */
+    static boolean isCompleted(Task task) {
+        Status status = task.getStatus();
+        return status == Status.CONCLUIDO || status == Status.ATINGIDO;
+    }
+
+    /**
+     * Gera uma nova versão, única e crescente.
+     * @return A próxima versão.
+     */
+    static long nextVersion() {
+        return VERSION_COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Lê as tarefas do disco, caso o projeto tenha sido carregado apenas pelo cabeçalho.
+     * Não altera a versão do projeto: carregar não é modificar.
+     * <p>
+     * Várias threads podem pedir as tarefas ao mesmo tempo (ex: a thread de
+     * pré-carregamento do {@link ProjectManager} e a interface). A leitura e a ligação
+     * das tarefas acontecem com o monitor do projeto adquirido e o carregador só é
+     * descartado no final, então as tarefas são lidas e indexadas uma única vez.
+     * </p>
+     */
+    private void ensureTasksLoaded() {
+        if (this.taskLoader == null) {
+            return;
+        }
+
+        IProjectListener notify;
+        synchronized (this) {
+            ITaskLoader loader = this.taskLoader;
+            if (loader == null) {
+                return;
+            }
+
+            List<Task> loaded;
+            try {
+                loaded = loader.loadTasks(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao carregar as tarefas do projeto " + this.id + ": " + e.getMessage(), e);
+            }
+
+            this.tasks.addAll(loaded);
+            this.attachAll(loaded);
+            this.taskLoader = null;
+            notify = this.listener;
+        }
+
+        // O conteúdo não mudou, mas o retrato passa a conter as tarefas.
+        if (notify != null) {
+            notify.projectChanged(this);
+        }
+    }
+
+    /**
+     * Substitui o projeto por sua forma serializada compacta ({@link ProjectProxy})
+     * sempre que ele é serializado.
+     * @return O objeto que será gravado no lugar deste projeto.
+     */
+    private Object writeReplace() {
+        return new ProjectProxy(this);
+    }
+
+    /**
+     * Usado apenas na leitura de arquivos antigos (serialização padrão, anterior ao
+     * {@link ProjectProxy}). Converte o ID, gravado como String, para número e restaura
+     * as informações transitórias (não serializadas) após a desserialização: liga cada
+     * tarefa a este projeto, recalcula os contadores e atribui uma versão nova.
+     * @throws InvalidObjectException Se o ID gravado não for um número positivo.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        String savedId = (String) fields.get("id", null);
+        this.id = AppUtils.parseId(savedId);
+        if (!AppUtils.isValidId(this.id)) {
+            throw new InvalidObjectException("ID de projeto inválido no arquivo: " + savedId);
+        }
+        this.name = (String) fields.get("name", null);
+        this.generalDeadline = (LocalDate) fields.get("generalDeadline", null);
+        this.tasks = (ArrayList<Task>) fields.get("tasks", null);
+        if (this.tasks == null) {
+            this.tasks = new ArrayList<>();
+        }
+        this.taskIndex = new HashMap<>();
+        this.taskSnapshots = PersistentTree.empty();
+        this.completedCount = 0;
+        this.attachAll(this.tasks);
+        this.version = nextVersion();
     }
 
 }
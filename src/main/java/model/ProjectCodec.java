@@ -0,0 +1,202 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Codificação binária compacta de {@link Project}s e {@link Task}s.
+ * <p>
+ * Ao contrário da serialização nativa, esta classe escreve apenas os dados
+ * (sem descritores de classe nem nomes de campos): Strings em UTF, datas como
+ * "epoch-day" (long) e enums como ordinais. É compartilhada pelas estratégias
+ * de persistência que gravam registros pequenos em vez do grafo inteiro.
+ * </p>
+ * <p>
+ * Classe utilitária do pacote: não pode ser instanciada.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class ProjectCodec {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private ProjectCodec() {
+        // impede a instanciação
+    }
+
+    /**
+     * Escreve os dados de cabeçalho de um projeto (ID, nome e prazo), sem as tarefas.
+     * @param out O destino dos bytes.
+     * @param project O projeto a ser escrito.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    static void writeProject(DataOutput out, Project project) throws IOException {
+        writeId(out, project.getId());
+        out.writeUTF(project.getName());
+        out.writeLong(project.getGeneralDeadline().toEpochDay());
+    }
+
+    /**
+     * Lê os dados escritos por {@link #writeProject} e reconstrói o projeto (sem tarefas).
+     * @param in A origem dos bytes.
+     * @return O projeto reconstruído.
+     * @throws IOException Se ocorrer um erro de leitura ou os dados forem inválidos.
+     */
+    static Project readProject(DataInput in) throws IOException {
+        long id = readId(in);
+        String name = in.readUTF();
+        LocalDate deadline = LocalDate.ofEpochDay(in.readLong());
+        try {
+            return Project.restore(id, name, deadline);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Registro de projeto inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pula os dados escritos por {@link #writeProject}, sem reconstruir o projeto.
+     * @param in A origem dos bytes.
+     * @throws IOException Se ocorrer um erro de leitura.
+     */
+    static void skipProject(DataInput in) throws IOException {
+        in.readLong();
+        in.readUTF();
+        in.readLong();
+    }
+
+    /**
+     * Escreve uma tarefa. O primeiro byte identifica a subclasse ({@link TaskType}),
+     * seguido do ID, descrição, prioridade, status e, se existir, a data.
+     * @param out O destino dos bytes.
+     * @param task A tarefa a ser escrita.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    static void writeTask(DataOutput out, Task task) throws IOException {
+        out.writeByte(task.getType().ordinal());
+        writeId(out, task.getId());
+        out.writeUTF(task.getDescription());
+        out.writeByte(task.getPriority());
+        out.writeByte(task.getStatus().ordinal());
+
+        LocalDate date = dateOf(task);
+        if (date != null) {
+            out.writeLong(date.toEpochDay());
+        }
+    }
+
+    /**
+     * Lê uma tarefa escrita por {@link #writeTask}, recriando a subclasse correta.
+     * @param in A origem dos bytes.
+     * @return A tarefa reconstruída (com o status salvo).
+     * @throws IOException Se ocorrer um erro de leitura ou os dados forem inválidos.
+     */
+    static Task readTask(DataInput in) throws IOException {
+        TaskType type = typeOf(in.readByte());
+        long id = readId(in);
+        String description = in.readUTF();
+        int priority = in.readByte();
+        Status status = statusOf(in.readByte());
+
+        LocalDate date = (type == TaskType.SIMPLE) ? null : LocalDate.ofEpochDay(in.readLong());
+
+        return newTask(type, id, description, priority, status, date);
+    }
+
+    /**
+     * Recria uma tarefa salva a partir dos seus campos já decodificados.
+     * @param type O tipo (subclasse) da tarefa.
+     * @param id O ID salvo.
+     * @param description A descrição salva.
+     * @param priority A prioridade salva.
+     * @param status O status salvo.
+     * @param date O prazo ou a data do marco ({@code null} para tarefas simples).
+     * @return A tarefa reconstruída.
+     * @throws IOException Se os dados salvos forem inválidos para o tipo.
+     */
+    static Task newTask(TaskType type, long id, String description, int priority,
+                        Status status, LocalDate date) throws IOException {
+        try {
+            Task task = switch (type) {
+                case SIMPLE -> new SimpleTask(id, description, priority);
+                case DEADLINE -> new DeadlineTask(id, description, priority, date);
+                case MILESTONE -> new Milestone(id, description, priority, date);
+            };
+            task.setStatus(status);
+            return task;
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Registro de tarefa inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Escreve um ID como um {@code long} de 8 bytes. A conversão de IDs em texto
+     * (de quando ainda eram Strings) fica só na serialização nativa de
+     * {@link Task} e {@link Project}.
+     * @param out O destino dos bytes.
+     * @param id O ID a ser escrito.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    static void writeId(DataOutput out, long id) throws IOException {
+        out.writeLong(id);
+    }
+
+    /**
+     * Lê um ID escrito por {@link #writeId}.
+     * @param in A origem dos bytes.
+     * @return O ID lido.
+     * @throws IOException Se ocorrer um erro de leitura ou o ID não for um número positivo.
+     */
+    static long readId(DataInput in) throws IOException {
+        long id = in.readLong();
+        if (!AppUtils.isValidId(id)) {
+            throw new IOException("ID inválido: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Retorna a data específica de uma tarefa (prazo ou data do marco).
+     * @param task A tarefa.
+     * @return A data, ou {@code null} para tarefas simples.
+     */
+    static LocalDate dateOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return ((DeadlineTask) task).getTaskDeadline();
+        }
+        if (task instanceof Milestone) {
+            return ((Milestone) task).getMilestoneDate();
+        }
+        return null;
+    }
+
+    /**
+     * Converte um ordinal salvo em {@link TaskType}.
+     * @param ordinal O ordinal lido.
+     * @return O tipo correspondente.
+     * @throws IOException Se o ordinal for desconhecido.
+     */
+    static TaskType typeOf(int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IOException("Tipo de tarefa desconhecido: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+
+    /**
+     * Converte um ordinal salvo em {@link Status}.
+     * @param ordinal O ordinal lido.
+     * @return O status correspondente.
+     * @throws IOException Se o ordinal for desconhecido.
+     */
+    static Status statusOf(int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new IOException("Status desconhecido: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+}
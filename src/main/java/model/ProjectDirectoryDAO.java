@@ -0,0 +1,395 @@
+package model;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Implementação do DAO que grava cada projeto (com suas tarefas) em um arquivo próprio.
+ * <p>
+ * Com um arquivo por projeto ({@code <diretório>/<id>.prj}), o salvamento incremental
+ * ({@link #saveChanges}) reescreve apenas os arquivos dos projetos alterados e apaga
+ * os dos projetos excluídos. Editar uma tarefa em um entre 5.000 projetos grava
+ * somente um arquivo.
+ * </p>
+ * <p>
+ * Os projetos são carregados em ordem crescente de ID, que é a ordem em que o
+ * {@link ProjectManager} os cria. Cada arquivo usa a codificação de {@link ProjectCodec}.
+ * </p>
+ * <p>
+ * A cada salvamento também é gravado um índice ({@code index.idx}) com um cabeçalho
+ * pequeno por projeto: ID, nome, prazo, quantidade de tarefas, quantidade de tarefas
+ * finalizadas e o maior ID de tarefa. No modo de carregamento tardio
+ * ({@code lazyTasks = true}), a carga lê apenas esse índice, o que basta para listar
+ * os projetos; as tarefas de cada projeto só são lidas do seu arquivo quando forem
+ * necessárias (ver {@link Project#getTasks()}). Se o índice estiver ausente ou
+ * desatualizado, os arquivos completos são lidos.
+ * </p>
+ * <p>
+ * O índice é apagado antes de qualquer arquivo de projeto ser gravado e regravado só no
+ * fim do salvamento; assim, um índice existente nunca é mais antigo que os arquivos (um
+ * salvamento interrompido deixa o diretório sem índice). O índice também guarda o tamanho
+ * de cada arquivo, conferido na carga. Nada disso depende da precisão das datas de
+ * modificação do sistema de arquivos.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class ProjectDirectoryDAO implements IPersistenceDAO {
+
+    private static final int FILE_MAGIC = 0x504D5052;
+    private static final int FILE_VERSION = 2;
+    private static final String EXTENSION = ".prj";
+
+    private static final int INDEX_MAGIC = 0x504D4958;
+    private static final int INDEX_VERSION = 3;
+    private static final String INDEX_FILE = "index.idx";
+
+    private final Path directory;
+    private final boolean lazyTasks;
+    /** Tamanho (em bytes) de cada arquivo de projeto gravado ou lido, por ID, para o índice. */
+    private final Map<Long, Long> fileSizes = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor da classe.
+     * @param directory O diretório onde os arquivos dos projetos serão gravados.
+     * Será criado no primeiro salvamento, se não existir.
+     */
+    public ProjectDirectoryDAO(String directory) {
+        this(directory, false);
+    }
+
+    /**
+     * Construtor da classe, permitindo escolher o carregamento tardio das tarefas.
+     * @param directory O diretório onde os arquivos dos projetos serão gravados.
+     * Será criado no primeiro salvamento, se não existir.
+     * @param lazyTasks Se true, a carga lê apenas o índice de cabeçalhos e as tarefas
+     * de cada projeto são lidas somente quando forem necessárias.
+     */
+    public ProjectDirectoryDAO(String directory, boolean lazyTasks) {
+        this.directory = Paths.get(directory);
+        this.lazyTasks = lazyTasks;
+    }
+
+    /**
+     * Salva todos os projetos (um arquivo por projeto) e apaga os arquivos
+     * de projetos que não estão mais na lista.
+     * @param projects A lista completa de projetos.
+     * @throws IOException Se ocorrer um erro de escrita no disco.
+     */
+    @Override
+    public void save(ArrayList<Project> projects) throws IOException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(INDEX_FILE));
+        fileSizes.clear();
+
+        Set<String> currentFiles = new HashSet<>();
+        for (Project p : projects) {
+            writeProject(p);
+            currentFiles.add(fileNameOf(p.getId()));
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : stream) {
+                if (!currentFiles.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+        writeIndex(projects);
+    }
+
+    /**
+     * Grava apenas os arquivos dos projetos alterados e apaga os dos projetos excluídos.
+     * <p>
+     * O índice de cabeçalhos é regravado por inteiro, mas sem ler nenhuma tarefa
+     * de projetos que não foram carregados.
+     * </p>
+     * @param projects A lista completa de projetos (usada apenas para o índice).
+     * @param changed Os projetos criados ou alterados desde o último salvamento.
+     * @param removedIds Os IDs dos projetos excluídos desde o último salvamento.
+     * @throws IOException Se ocorrer um erro de escrita no disco.
+     */
+    @Override
+    public void saveChanges(ArrayList<Project> projects, List<Project> changed,
+                            Collection<Long> removedIds) throws IOException {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(INDEX_FILE));
+
+        for (Project p : changed) {
+            writeProject(p);
+        }
+        for (long removedId : removedIds) {
+            Files.deleteIfExists(directory.resolve(fileNameOf(removedId)));
+            fileSizes.remove(removedId);
+        }
+        writeIndex(projects);
+    }
+
+    /**
+     * Carrega todos os arquivos de projeto do diretório, em ordem crescente de ID.
+     * <p>
+     * Se o diretório não existir (primeira execução), retorna uma lista vazia.
+     * </p>
+     * @return A {@link ArrayList} de {@link Project}s lida do diretório.
+     * @throws IOException Se ocorrer um erro de leitura ou um arquivo for inválido.
+     */
+    @Override
+    public ArrayList<Project> load() throws IOException {
+        ArrayList<Project> projects = new ArrayList<>();
+        loadEach(projects::add);
+        return projects;
+    }
+
+    /**
+     * Lê os arquivos de projeto um a um (em ordem crescente de ID), entregando cada
+     * projeto assim que seu arquivo é lido.
+     * <p>
+     * No modo de carregamento tardio, entrega apenas os cabeçalhos lidos do índice.
+     * </p>
+     * @param consumer Quem recebe cada projeto lido.
+     * @throws IOException Se ocorrer um erro de leitura ou um arquivo for inválido.
+     */
+    @Override
+    public void loadEach(Consumer<? super Project> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : stream) {
+                files.add(path);
+            }
+        }
+        files.sort(ProjectDirectoryDAO::compareById);
+
+        if (lazyTasks) {
+            List<Project> headers = readIndex(files);
+            if (headers != null) {
+                for (Project header : headers) {
+                    consumer.accept(header);
+                }
+                return;
+            }
+            System.err.println("AVISO: Índice de projetos ausente ou desatualizado em " + directory
+                    + ". Carregando os arquivos completos.");
+        }
+
+        for (Path path : files) {
+            Project project = readProject(path);
+            fileSizes.put(project.getId(), Files.size(path));
+            consumer.accept(project);
+        }
+    }
+
+    /**
+     * Grava um projeto em um arquivo temporário e o coloca no lugar do anterior.
+     */
+    private void writeProject(Project project) throws IOException {
+        Path target = directory.resolve(fileNameOf(project.getId()));
+        Path temp = directory.resolve(fileNameOf(project.getId()) + ".tmp");
+
+        long size;
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            ProjectCodec.writeProject(out, project);
+            out.writeInt(project.getTasks().size());
+            for (Task task : project.getTasks()) {
+                ProjectCodec.writeTask(out, task);
+            }
+            out.flush();
+            size = out.size();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        fileSizes.put(project.getId(), size);
+    }
+
+    /**
+     * Lê um arquivo de projeto gravado por {@link #writeProject}.
+     */
+    private Project readProject(Path path) throws IOException {
+        try (DataInputStream in = openProjectFile(path)) {
+            Project project = ProjectCodec.readProject(in);
+            project.addTasks(readTasks(in));
+            return project;
+        } catch (EOFException e) {
+            throw new IOException("Arquivo de projeto incompleto: " + path);
+        }
+    }
+
+    /**
+     * Lê apenas as tarefas de um arquivo de projeto (usado pelo carregamento tardio).
+     */
+    private List<Task> readTasks(Path path) throws IOException {
+        try (DataInputStream in = openProjectFile(path)) {
+            ProjectCodec.skipProject(in);
+            return readTasks(in);
+        } catch (EOFException e) {
+            throw new IOException("Arquivo de projeto incompleto: " + path);
+        }
+    }
+
+    private static List<Task> readTasks(DataInputStream in) throws IOException {
+        int taskCount = in.readInt();
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(ProjectCodec.readTask(in));
+        }
+        return tasks;
+    }
+
+    private static DataInputStream openProjectFile(Path path) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+        try {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                throw new IOException("Arquivo de projeto em formato desconhecido: " + path);
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Grava o índice de cabeçalhos de todos os projetos (em um arquivo temporário,
+     * colocado depois no lugar do anterior). Nenhuma tarefa é lida para isso; o tamanho
+     * de cada arquivo vem de {@link #fileSizes} (ou do disco, se ainda não for conhecido).
+     */
+    private void writeIndex(List<Project> projects) throws IOException {
+        Path target = directory.resolve(INDEX_FILE);
+        Path temp = directory.resolve(INDEX_FILE + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeInt(projects.size());
+            for (Project p : projects) {
+                ProjectCodec.writeId(out, p.getId());
+                out.writeUTF(p.getName());
+                out.writeLong(p.getGeneralDeadline().toEpochDay());
+                out.writeInt(p.getTaskCount());
+                out.writeInt(p.getCompletedTaskCount());
+                out.writeLong(p.getMaxTaskId());
+                out.writeLong(fileSizeOf(p.getId()));
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Obtém o tamanho do arquivo de um projeto, lendo-o do disco se ainda não for conhecido.
+     * @return O tamanho, ou -1 se o arquivo não existir (o índice não será aceito na carga).
+     */
+    private long fileSizeOf(long projectId) throws IOException {
+        Long size = fileSizes.get(projectId);
+        if (size == null) {
+            Path path = directory.resolve(fileNameOf(projectId));
+            if (!Files.exists(path)) {
+                return -1;
+            }
+            size = Files.size(path);
+            fileSizes.put(projectId, size);
+        }
+        return size;
+    }
+
+    /**
+     * Lê o índice e monta um projeto "só cabeçalho" para cada entrada.
+     * @param files Os arquivos de projeto existentes, em ordem crescente de ID.
+     * @return Os cabeçalhos na mesma ordem dos arquivos, ou {@code null} se o índice não
+     * existir ou não corresponder aos arquivos (outros arquivos ou outros tamanhos).
+     */
+    private List<Project> readIndex(List<Path> files) throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+
+        Set<String> fileNames = new HashSet<>();
+        for (Path path : files) {
+            fileNames.add(path.getFileName().toString());
+        }
+
+        List<Project> headers = new ArrayList<>(files.size());
+        Map<Long, Long> sizes = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                return null;
+            }
+            int count = in.readInt();
+            if (count != files.size()) {
+                return null;
+            }
+
+            for (int i = 0; i < count; i++) {
+                long id = ProjectCodec.readId(in);
+                String name = in.readUTF();
+                LocalDate deadline = LocalDate.ofEpochDay(in.readLong());
+                int taskCount = in.readInt();
+                int completedCount = in.readInt();
+                long maxTaskId = in.readLong();
+                long size = in.readLong();
+
+                if (!fileNames.contains(fileNameOf(id))) {
+                    return null;
+                }
+                Path path = directory.resolve(fileNameOf(id));
+                if (Files.size(path) != size) {
+                    return null;
+                }
+                sizes.put(id, size);
+                try {
+                    headers.add(Project.restoreHeader(id, name, deadline, taskCount, completedCount,
+                            maxTaskId, project -> readTasks(path)));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+
+        fileSizes.putAll(sizes);
+        headers.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return headers;
+    }
+
+    private static String fileNameOf(long projectId) {
+        return projectId + EXTENSION;
+    }
+
+    /**
+     * Ordena os arquivos pelo ID numérico (IDs não numéricos ficam por último).
+     */
+    private static int compareById(Path a, Path b) {
+        String nameA = a.getFileName().toString();
+        String nameB = b.getFileName().toString();
+        String idA = nameA.substring(0, nameA.length() - EXTENSION.length());
+        String idB = nameB.substring(0, nameB.length() - EXTENSION.length());
+        try {
+            return Long.compare(Long.parseLong(idA), Long.parseLong(idB));
+        } catch (NumberFormatException e) {
+            return idA.compareTo(idB);
+        }
+    }
+}
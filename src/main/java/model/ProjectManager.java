@@ -1,9 +1,40 @@
 package model;
 
+import java.io.File;
 import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Classe principal do Model (Façade).
@@ -13,17 +44,120 @@ import java.util.Map;
  * 2. Orquestrar as operações de salvar e carregar dados (usando um DAO).
  * 3. Fornecer uma API pública (métodos) para a View realizar o CRUD de Projetos.
  * </p>
+ * <p>
+ * O manager pode ser usado por várias threads ao mesmo tempo (interface, salvamento
+ * automático, importações, relatórios):
+ * </p>
+ * <ul>
+ *   <li>Leituras da lista ({@link #getProjects()}) devolvem uma cópia imutável, refeita
+ *   apenas quando projetos entram ou saem (copy-on-write); a busca por ID usa um mapa
+ *   concorrente. Nenhuma das duas espera por escritores.</li>
+ *   <li>Alterações DENTRO de um projeto (dados do projeto e suas tarefas) usam um
+ *   {@link StampedLock} escolhido pelo ID do projeto entre 64 locks
+ *   ("lock striping"): projetos diferentes raramente disputam o mesmo lock. Por isso,
+ *   alterações feitas por outras threads devem passar pelos métodos do manager
+ *   ({@link #updateProject}, {@link #createTaskForProject}, {@link #updateTask},
+ *   {@link #deleteTask}), e não direto pelos setters.</li>
+ *   <li>Os IDs são números gerados sem locks ({@link IdAllocator}).</li>
+ *   <li>A cada alteração, um novo {@link ModelSnapshot} imutável é publicado
+ *   ({@link #getSnapshot()}); quem precisa percorrer todos os projetos e tarefas
+ *   (salvamento, checkpoints, relatórios) usa o retrato, sem lock nenhum.</li>
+ * </ul>
  *
  * @author Manuela Skrsypcsak Kist
  * @version 1.0
  */
 public class ProjectManager {
 
+    /** Arquivo de dados padrão da aplicação. */
+    public static final String DEFAULT_DATA_FILE = "data/dados.dat";
+
+    /** Quantidade de locks entre os quais os projetos são distribuídos (potência de 2). */
+    private static final int LOCK_STRIPES = 64;
+    /** Tamanho das páginas buscadas por {@link #iterateTasks(TaskQuery)}. */
+    private static final int QUERY_PAGE_SIZE = 256;
+
+    /** Lista principal de projetos; protegida por {@link #structureLock}. */
     private final ArrayList<Project> projects;
+    /** Cópia imutável de {@link #projects} entregue aos leitores; {@code null} quando precisa ser refeita. */
+    private volatile List<Project> projectSnapshot = List.of();
+    /** Índice ID → projeto, mantido junto com a lista para buscas e exclusões sem percorrê-la. */
+    private final Map<Long, Project> projectIndex = new ConcurrentHashMap<>();
+    /** Índices secundários (status, prioridade e data) das tarefas de todos os projetos. */
+    private final TaskIndex taskIndex = new TaskIndex();
+    /** Agenda de lembretes de prazo, mantida junto com {@link #taskIndex} e os retratos. */
+    private final ReminderScheduler reminders;
+    /** Índice das palavras dos nomes dos projetos; protegido pelo seu próprio monitor. */
+    private final TextIndex<Project> projectNames = new TextIndex<>(Project::getId);
+    /** Nome com que cada projeto está em {@link #projectNames}; protegido pelo mesmo monitor. */
+    private final Map<Project, String> indexedNames = new HashMap<>();
+    /** Prazos gerais dos projetos, por data (guardados pelo monitor de {@link #projectDeadlines}). */
+    private final NavigableMap<LocalDate, Set<Project>> projectDeadlines = new TreeMap<>();
+    /** Prazo com que cada projeto está em {@link #projectDeadlines}. */
+    private final Map<Project, LocalDate> indexedDeadlines = new HashMap<>();
+    /**
+     * Protege a entrada e a saída de projetos ({@link #projects}, {@link #projectIndex} e
+     * {@link #projectSnapshot}). Ordem de aquisição: structureLock, depois {@link #saveLock},
+     * depois o lock do projeto.
+     */
+    private final Object structureLock = new Object();
+    /** Locks dos projetos, escolhidos pelo ID (ver {@link #lockFor}). */
+    private final StampedLock[] projectLocks = new StampedLock[LOCK_STRIPES];
+    /** O retrato imutável mais recente de todos os projetos. */
+    private final AtomicReference<ModelSnapshot> snapshot = new AtomicReference<>(ModelSnapshot.EMPTY);
+    /** Próxima chave de projeto no retrato (crescente, para manter a ordem da lista). */
+    private final AtomicLong nextSnapshotKey = new AtomicLong();
+    /** Publica um novo retrato sempre que um projeto do manager muda, e repassa os eventos. */
+    private final IProjectListener snapshotPublisher = new IProjectListener() {
+        @Override
+        public void projectChanged(Project project) {
+            publish(project);
+            fireProjectChanged(ModelChangeType.PROJECT_UPDATED, project);
+        }
+
+        @Override
+        public void taskChanged(ModelChangeEvent event) {
+            fireModelChanged(event);
+        }
+    };
+    /** Quem é avisado de cada alteração, com o tipo e a posição ({@link #addModelListener}). */
+    private final List<IModelListener> modelListeners = new CopyOnWriteArrayList<>();
     private IPersistenceDAO dao;
     private final TaskFactory taskFactory;
-    private long nextProjectId = 1;
-    private long nextTaskId = 1;
+    private final IdAllocator projectIds = new IdAllocator();
+    private final IdAllocator taskIds = new IdAllocator();
+
+    /**
+     * Versão de cada projeto no momento do último salvamento (ou carregamento). Só é
+     * alterado com {@link #saveLock} adquirido, mas a thread de gravação o consulta sem o lock.
+     */
+    private final Map<Long, Long> savedVersions = new ConcurrentHashMap<>();
+    /** IDs dos projetos já salvos que foram excluídos desde o último salvamento. */
+    private final Set<Long> removedSinceSave = new LinkedHashSet<>();
+
+    /**
+     * Protege {@link #savedVersions}, {@link #removedSinceSave}, {@link #pendingSave}
+     * e {@link #savesInFlight}, que também são acessados pela thread de gravação.
+     */
+    private final Object saveLock = new Object();
+    /** Thread única que executa as gravações pedidas por {@link #saveDataAsync()}. */
+    private final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "project-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Thread única que lê, em segundo plano, as tarefas dos projetos carregados só pelo cabeçalho. */
+    private final ExecutorService taskPreloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-preloader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /** Projetos carregados só pelo cabeçalho cujas tarefas ainda não entraram nos índices. */
+    private final Set<Project> pendingTaskLoads = ConcurrentHashMap.newKeySet();
+    /** Gravação já agendada que ainda não começou (null se não houver). */
+    private PendingSave pendingSave;
+    /** Quantidade de gravações agendadas ou em andamento. */
+    private int savesInFlight;
 
     /**
      * Construtor do ProjectManager.
@@ -33,78 +167,317 @@ public class ProjectManager {
      * </p>
      */
     public ProjectManager() {
+        this(new SerializedProjectDAO(DEFAULT_DATA_FILE));
+    }
+
+    /**
+     * Construtor do ProjectManager com uma estratégia de persistência específica.
+     * <p>
+     * Permite trocar o "como" os dados são salvos (ex: {@link JournaledProjectDAO})
+     * sem alterar nenhuma outra parte do sistema.
+     * </p>
+     * @param dao A estratégia de persistência a ser usada.
+     * @throws IllegalArgumentException Se o DAO for nulo.
+     */
+    public ProjectManager(IPersistenceDAO dao) throws IllegalArgumentException {
+        this(dao, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Construtor do ProjectManager com uma estratégia de persistência e um relógio específicos.
+     * <p>
+     * O relógio define o "hoje" da agenda de lembretes de prazo ({@link #getReminders()});
+     * trocá-lo permite, por exemplo, simular a passagem dos dias.
+     * </p>
+     * @param dao A estratégia de persistência a ser usada.
+     * @param clock O relógio da agenda de lembretes.
+     * @throws IllegalArgumentException Se o DAO ou o relógio forem nulos.
+     */
+    public ProjectManager(IPersistenceDAO dao, Clock clock) throws IllegalArgumentException {
+        if (dao == null) {
+            throw new IllegalArgumentException("A estratégia de persistência não pode ser nula.");
+        }
+        this.reminders = new ReminderScheduler(clock, ReminderScheduler.DEFAULT_LEAD_DAYS);
+        this.taskIndex.setReminders(this.reminders);
         this.projects = new ArrayList<>();
-        this.dao = new SerializedProjectDAO("data/dados.dat");
+        this.dao = dao;
         this.taskFactory = new TaskFactory();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.projectLocks[i] = new StampedLock();
+        }
     }
 
     // --- Métodos de Persistência (DAO) ---
     /**
      * Carrega a lista de projetos do arquivo usando a estratégia de DAO atual.
      * <p>
+     * Os projetos são lidos um a um ({@link IPersistenceDAO#loadEach}) e adicionados
+     * à lista à medida que chegam, sem montar uma segunda lista intermediária.
+     * </p>
+     * <p>
+     * Os {@link IModelListener} recebem um único {@link ModelChangeType#RELOADED}, depois
+     * que a carga termina (com sucesso ou não), e nenhum aviso por projeto lido.
+     * </p>
+     * <p>
      * Se o arquivo não existir ou falhar ao carregar, ele apenas imprimirá
      * um erro e continuará com uma lista de projetos vazia.
      * </p>
      */
     public void loadData() {
-        try {
-            ArrayList<Project> loadedProjects = this.dao.load();
+        synchronized (this.structureLock) {
+            this.clearProjects();
+            synchronized (this.saveLock) {
+                this.savedVersions.clear();
+                this.removedSinceSave.clear();
+            }
+            this.projectIds.reset();
+            this.taskIds.reset();
+
+            try {
+                this.dao.loadEach(p -> this.addLoadedProject(p, false));
+                this.printIdCounters();
 
-            this.projects.clear();
-            if (loadedProjects != null) {
-                this.projects.addAll(loadedProjects);
-                this.updateIdCountersAfterLoad();
+            } catch (Exception e) {
+                System.err.println("AVISO: Erro ao carregar dados. Iniciando com lista vazia. Erro: " + e.getMessage());
+                this.clearProjects();
+                synchronized (this.saveLock) {
+                    this.savedVersions.clear();
+                }
             }
+            // Um único aviso para a lista inteira: quem escuta recomeça com a lista já completa.
+            this.fireModelChanged(ModelChangeEvent.reloaded());
+        }
+    }
 
-        } catch (Exception e) {
-            System.err.println("AVISO: Erro ao carregar dados. Iniciando com lista vazia. Erro: " + e.getMessage());
-            this.projects.clear();
+    /**
+     * Lê os projetos salvos um a um e os entrega ao {@code consumer}, SEM adicioná-los
+     * ao manager.
+     * <p>
+     * Pode ser chamado fora da thread da interface (ex: em um {@code SwingWorker}),
+     * pois não toca na lista de projetos. Quem recebe os projetos deve repassá-los,
+     * na thread da interface, para {@link #addLoadedProjects}. Assim a tela pode exibir
+     * o primeiro projeto antes de o último ter sido lido.
+     * </p>
+     * @param consumer Quem recebe cada projeto lido.
+     * @throws Exception Se ocorrer um erro ao ler os dados salvos.
+     */
+    public void streamData(Consumer<? super Project> consumer) throws Exception {
+        this.dao.loadEach(consumer);
+    }
+
+    /**
+     * Adiciona à lista projetos lidos por {@link #streamData}, considerando-os já salvos
+     * e avançando os contadores de ID.
+     * @param loadedProjects Os projetos lidos (na ordem em que foram lidos).
+     */
+    public void addLoadedProjects(List<? extends Project> loadedProjects) {
+        synchronized (this.structureLock) {
+            for (Project p : loadedProjects) {
+                this.addLoadedProject(p, true);
+            }
         }
     }
 
     /**
      * Salva a lista de projetos ATUAL no arquivo usando a estratégia de DAO atual.
+     * <p>
+     * O salvamento é incremental: apenas os projetos cuja versão mudou desde o último
+     * salvamento (e os IDs dos projetos excluídos) são repassados ao DAO. Se nada mudou,
+     * nada é gravado.
+     * </p>
+     * <p>
+     * Este método espera a gravação terminar. Para não travar a interface,
+     * use {@link #saveDataAsync()}.
+     * </p>
      */
     public void saveData() {
         try {
-            this.dao.save(this.projects);
+            this.saveDataAsync().join();
             System.out.println("Dados salvos com sucesso.");
-        } catch (Exception e) {
-            System.err.println("ERRO CRÍTICO: Falha ao salvar dados: " + e.getMessage());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("ERRO CRÍTICO: Falha ao salvar dados: " + cause.getMessage());
+        }
+    }
+
+    /**
+     * Pede o salvamento dos dados em segundo plano e retorna imediatamente.
+     * <p>
+     * O retrato atual dos projetos ({@link #getSnapshot()}) é guardado AGORA, em tempo
+     * constante; a gravação acontece depois, em uma thread dedicada, a partir desse
+     * retrato imutável. Assim, alterações feitas enquanto o arquivo é gravado não se
+     * misturam ao que está sendo salvo, e quem pede o salvamento não espera nenhuma cópia.
+     * </p>
+     * <p>
+     * Pedidos feitos em sequência são agrupados: enquanto uma gravação ainda não começou,
+     * um novo pedido apenas substitui a cópia a ser gravada e recebe o mesmo
+     * {@link CompletableFuture}, resultando em uma única escrita.
+     * </p>
+     * @return Um {@link CompletableFuture} concluído quando os dados estiverem gravados,
+     * ou concluído com erro se a gravação falhar.
+     */
+    public CompletableFuture<Void> saveDataAsync() {
+        synchronized (this.saveLock) {
+            ModelSnapshot current = this.snapshot.get();
+            Set<Long> removedIds = new LinkedHashSet<>(this.removedSinceSave);
+
+            if (this.pendingSave != null) {
+                this.pendingSave.model = current;
+                this.pendingSave.removedIds = removedIds;
+                return this.pendingSave.future;
+            }
+
+            PendingSave request = new PendingSave(current, removedIds);
+            this.pendingSave = request;
+            this.savesInFlight++;
+            this.saveExecutor.execute(this::runPendingSave);
+            return request.future;
+        }
+    }
+
+    /**
+     * Obtém o retrato imutável mais recente de todos os projetos e suas tarefas.
+     * <p>
+     * Custa O(1) e não usa locks. O retrato pode ser percorrido por qualquer thread, pelo
+     * tempo que for preciso: alterações feitas depois geram retratos novos e não afetam
+     * este.
+     * </p>
+     * @return O retrato atual.
+     */
+    public ModelSnapshot getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Obtém a agenda de lembretes de prazo das tarefas e dos projetos.
+     * <p>
+     * A agenda acompanha sozinha as alterações feitas pelo manager (datas, status,
+     * exclusões); quem exibe os avisos só precisa registrar um {@link IReminderListener}
+     * e iniciar a verificação periódica ({@link ReminderScheduler#start}).
+     * </p>
+     * @return A agenda de lembretes.
+     */
+    public ReminderScheduler getReminders() {
+        return this.reminders;
+    }
+
+    /**
+     * Registra quem deve ser avisado de cada alteração nos projetos e tarefas: projeto ou
+     * tarefa adicionado, removido ou alterado, com a sua posição na lista.
+     * <p>
+     * Os avisos chegam na thread que fez a alteração (ver {@link IModelListener}); a
+     * interface gráfica deve repassá-los para a sua própria thread.
+     * </p>
+     * @param listener O ouvinte (ignorado se for nulo).
+     */
+    public void addModelListener(IModelListener listener) {
+        if (listener != null) {
+            this.modelListeners.add(listener);
         }
     }
 
+    /**
+     * Remove um ouvinte registrado com {@link #addModelListener}.
+     * @param listener O ouvinte.
+     */
+    public void removeModelListener(IModelListener listener) {
+        this.modelListeners.remove(listener);
+    }
+
     /**
      * Carrega projetos de um arquivo externo específico e os adiciona à lista atual.
      * @param file O arquivo selecionado pelo usuário.
      * @throws Exception Se ocorrer um erro imprevisto.
      */
-    public void importProjectsFromFile(java.io.File file) throws StreamCorruptedException, ClassCastException, Exception {
-
-        try {
-            IPersistenceDAO externalDao = new SerializedProjectDAO(file.getAbsolutePath());
-            ArrayList<Project> externalProjects = externalDao.load();
+    public void importProjectsFromFile(File file) throws StreamCorruptedException, ClassCastException, Exception {
+        ArrayList<Project> externalProjects = readExternalFile(file);
+        assignImportedIds(externalProjects, this.projectIds, this.taskIds);
+        this.addAllIndexed(externalProjects);
+    }
 
-            if (externalProjects != null && !externalProjects.isEmpty()) {
+    /**
+     * Importa de uma só vez os projetos de vários arquivos exportados.
+     * <p>
+     * Os arquivos são lidos e decodificados em paralelo, em um {@link ForkJoinPool}
+     * com uma thread por núcleo (no máximo uma por arquivo). Assim que um arquivo é
+     * decodificado, sua thread reserva atomicamente uma faixa de IDs de projeto e de
+     * tarefa do tamanho exato do arquivo e renumera seus itens, sem esperar os demais.
+     * </p>
+     * <p>
+     * Os projetos só são adicionados à lista no final, em um único passo e na ordem
+     * dos arquivos. Se qualquer arquivo falhar, nada é importado (os IDs já reservados
+     * são simplesmente descartados).
+     * </p>
+     * @param files Os arquivos {@code .dat} a serem importados.
+     * @return A quantidade de projetos importados.
+     * @throws IllegalArgumentException Se a lista de arquivos for nula ou vazia.
+     * @throws Exception Se algum arquivo não puder ser lido (a mensagem indica qual).
+     */
+    public int importProjectsFromFiles(List<File> files) throws IllegalArgumentException, Exception {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum arquivo selecionado para importar.");
+        }
 
-                for (Project p : externalProjects) {
-                    p.setId(String.valueOf(nextProjectId++));
+        int parallelism = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<ArrayList<Project>> results = new ArrayList<>(files.size());
+        try {
+            List<ForkJoinTask<ArrayList<Project>>> tasks = new ArrayList<>(files.size());
+            for (File file : files) {
+                tasks.add(pool.submit(() -> {
+                    ArrayList<Project> decoded = readExternalFile(file);
+                    assignImportedIds(decoded, projectIds, taskIds);
+                    return decoded;
+                }));
+            }
 
-                    for (Task t : p.getTasks()) {
-                        t.setId(String.valueOf(nextTaskId++));
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    results.add(tasks.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    // O ForkJoinPool embrulha exceções verificadas em RuntimeException.
+                    while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+                        cause = cause.getCause();
                     }
+                    throw new Exception(files.get(i).getName() + ": " + cause.getMessage(), cause);
                 }
-
-                this.projects.addAll(externalProjects);
             }
-        } catch (StreamCorruptedException e) {
-            throw new StreamCorruptedException("tipo inválido. O arquivo deve ser .dat.");
-        } catch (ClassCastException e) {
-            throw new ClassCastException("os dados do arquivo são incompatíveis com o sistema.");
-        } catch (Exception e) {
-            throw new Exception("falha ao carregar dados");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ArrayList<Project> imported = new ArrayList<>();
+        for (ArrayList<Project> fileProjects : results) {
+            imported.addAll(fileProjects);
         }
 
+        this.addAllIndexed(imported);
+        return imported.size();
+    }
+
+    /**
+     * Importa todos os arquivos {@code .dat} de um diretório (em ordem alfabética),
+     * usando {@link #importProjectsFromFiles}.
+     * @param directory O diretório com os arquivos exportados.
+     * @return A quantidade de projetos importados.
+     * @throws IllegalArgumentException Se não for um diretório ou não houver arquivos {@code .dat} nele.
+     * @throws Exception Se algum arquivo não puder ser lido.
+     */
+    public int importProjectsFromDirectory(File directory) throws IllegalArgumentException, Exception {
+        File[] found = (directory == null) ? null
+                : directory.listFiles(f -> f.isFile() && f.getName().toLowerCase().endsWith(".dat"));
+
+        if (found == null) {
+            throw new IllegalArgumentException("O caminho informado não é um diretório.");
+        }
+        if (found.length == 0) {
+            throw new IllegalArgumentException("Nenhum arquivo .dat encontrado em " + directory.getName() + ".");
+        }
+
+        List<File> files = new ArrayList<>(List.of(found));
+        files.sort(null);
+        return importProjectsFromFiles(files);
     }
 
     // --- Métodos de CRUD de Projeto ---
@@ -116,37 +489,52 @@ public class ProjectManager {
      * @throws IllegalArgumentException Se o nome ou data forem inválidos (lançado pelo construtor do Project).
      */
     public void createProject(String name, LocalDate generalDeadline) throws IllegalArgumentException {
-        String newId = String.valueOf(nextProjectId);
-        nextProjectId++;
+        long newId = this.projectIds.next();
 
         Project newProject = new Project(newId, name, generalDeadline);
-        this.projects.add(newProject);
+        synchronized (this.structureLock) {
+            this.projects.add(newProject);
+            this.projectIndex.put(newId, newProject);
+            newProject.setSecondaryIndex(this.taskIndex);
+            this.publishNew(newProject, true);
+            this.projectSnapshot = null;
+        }
     }
 
     /**
      * Retorna a lista completa de todos os projetos.
-     * @return A ArrayList de {@link Project}s.
+     * <p>
+     * A lista é uma cópia imutável, tirada no momento da última entrada ou saída de
+     * projetos: pode ser percorrida por qualquer thread enquanto outras criam ou excluem
+     * projetos, e chamadas seguidas sem alterações devolvem a mesma cópia (sem custo).
+     * </p>
+     * @return A lista (somente leitura) de {@link Project}s.
      */
-    public ArrayList<Project> getProjects() {
-        return this.projects;
+    public List<Project> getProjects() {
+        List<Project> snapshot = this.projectSnapshot;
+        if (snapshot == null) {
+            synchronized (this.structureLock) {
+                snapshot = this.projectSnapshot;
+                if (snapshot == null) {
+                    snapshot = List.copyOf(this.projects);
+                    this.projectSnapshot = snapshot;
+                }
+            }
+        }
+        return snapshot;
     }
 
     /**
-     * Busca um projeto pelo seu ID.
+     * Busca um projeto pelo seu ID, em tempo constante (pelo índice).
      * @param projectId O ID do projeto a ser encontrado.
      * @return O objeto {@link Project}, ou {@code null} se não for encontrado.
      */
-    public Project getProjectById(String projectId) {
-        if (AppUtils.isStringNullOrEmpty(projectId)) {
+    public Project getProjectById(long projectId) {
+        if (!AppUtils.isValidId(projectId)) {
             return null;
         }
 
-        for (Project p : this.projects) {
-            if (p.getId().equals(projectId)) {
-                return p;
-            }
-        }
-        return null;
+        return this.projectIndex.get(projectId);
     }
 
     /**
@@ -157,12 +545,18 @@ public class ProjectManager {
      * @return true se o projeto foi encontrado e atualizado, false se não foi encontrado.
      * @throws IllegalArgumentException Se o novo nome ou data forem inválidos (lançado pelos setters do Project).
      */
-    public boolean updateProject(String projectId, String newName, LocalDate newDeadline) throws IllegalArgumentException {
+    public boolean updateProject(long projectId, String newName, LocalDate newDeadline) throws IllegalArgumentException {
         Project projectToUpdate = this.getProjectById(projectId);
 
         if (projectToUpdate != null) {
-            projectToUpdate.setName(newName);
-            projectToUpdate.setGeneralDeadline(newDeadline);
+            StampedLock lock = this.lockFor(projectId);
+            long stamp = lock.writeLock();
+            try {
+                projectToUpdate.setName(newName);
+                projectToUpdate.setGeneralDeadline(newDeadline);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
             return true;
         }
         return false;
@@ -173,11 +567,41 @@ public class ProjectManager {
      * @param projectId O ID do projeto a ser excluído.
      * @return true se o projeto foi encontrado e removido, false caso contrário.
      */
-    public boolean deleteProject(String projectId) {
-        if (AppUtils.isStringNullOrEmpty(projectId)) {
+    public boolean deleteProject(long projectId) {
+        if (!AppUtils.isValidId(projectId)) {
             return false;
         }
-        return this.projects.removeIf(project -> project.getId().equals(projectId));
+
+        synchronized (this.structureLock) {
+            Project project = this.projectIndex.remove(projectId);
+            boolean removed = project != null && this.projects.remove(project);
+            if (removed) {
+                this.projectSnapshot = null;
+                StampedLock lock = this.lockFor(projectId);
+                long stamp = lock.writeLock();
+                try {
+                    project.setSecondaryIndex(null);
+                    this.unindexName(project);
+                    this.unindexDeadline(project);
+                    this.reminders.cancel(project);
+                    long key = project.getSnapshotKey();
+                    int index = this.modelListeners.isEmpty() ? -1 : this.snapshot.get().indexOf(key);
+                    project.setListener(null, 0);
+                    this.snapshot.updateAndGet(current -> current.without(key));
+                    this.fireModelChanged(new ModelChangeEvent(ModelChangeType.PROJECT_REMOVED, project, null, index, 1));
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            synchronized (this.saveLock) {
+                // Um projeto novo pode estar sendo gravado neste momento: nesse caso,
+                // sua exclusão também precisa chegar ao DAO.
+                if (removed && (this.savedVersions.containsKey(projectId) || this.savesInFlight > 0)) {
+                    this.removedSinceSave.add(projectId);
+                }
+            }
+            return removed;
+        }
     }
 
     /**
@@ -185,56 +609,1020 @@ public class ProjectManager {
      * Este método gera o ID, chama a TaskFactory e adiciona a
      * tarefa criada ao projeto correto.
      * @param projectId O ID do projeto que receberá a tarefa.
+     * @param spec Os dados da tarefa (ex: {@code TaskSpec.deadline("Prova", 5, data)}).
+     * @throws IllegalArgumentException Se o projeto não for encontrado ou os dados da tarefa forem inválidos.
+     */
+    public void createTaskForProject(long projectId, TaskSpec spec) throws IllegalArgumentException {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
+        }
+
+        long newId = this.taskIds.next();
+
+        Task task = this.taskFactory.createTask(newId, spec);
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            p.addTask(task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Altera uma tarefa de um projeto com o lock do projeto adquirido, para que a
+     * alteração não se misture a leituras ou alterações feitas por outras threads.
+     * <p>
+     * Exemplo: {@code manager.updateTask(projectId, taskId, task -> task.setPriority(5))}.
+     * </p>
+     * @param projectId O ID do projeto que contém a tarefa.
+     * @param taskId O ID da tarefa a ser alterada.
+     * @param change A alteração, feita pelos setters da tarefa.
+     * @throws IllegalArgumentException Se o projeto ou a tarefa não forem encontrados,
+     * ou se a alteração for inválida (lançado pelos setters da tarefa).
+     */
+    public void updateTask(long projectId, long taskId, Consumer<? super Task> change)
+            throws IllegalArgumentException {
+
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
+        }
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            Task task = p.getTaskById(taskId);
+            if (task == null) {
+                throw new IllegalArgumentException("Tarefa com ID " + taskId + " não encontrada.");
+            }
+            change.accept(task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Exclui uma tarefa de um projeto.
+     * @param projectId O ID do projeto que contém a tarefa.
+     * @param taskId O ID da tarefa a ser excluída.
+     * @return true se a tarefa foi encontrada e removida, false caso contrário.
+     */
+    public boolean deleteTask(long projectId, long taskId) {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            return false;
+        }
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            return p.removeTask(taskId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Cria uma nova tarefa a partir de um "mapa" de dados. Mantido por compatibilidade;
+     * prefira {@link #createTaskForProject(long, TaskSpec)}.
+     * @param projectId O ID do projeto que receberá a tarefa.
      * @param type O tipo de tarefa (SIMPLE, DEADLINE, etc.).
      * @param data O "mapa" de dados vindo da View.
      * @throws IllegalArgumentException Se o projeto não for encontrado ou os dados da tarefa forem inválidos.
      */
-    public void createTaskForProject(String projectId, TaskType type, Map<String, Object> data)
+    public void createTaskForProject(long projectId, TaskType type, Map<String, Object> data)
             throws IllegalArgumentException {
+        this.createTaskForProject(projectId, this.taskFactory.toSpec(type, data));
+    }
 
+    // --- Operações em Lote ---
+
+    /**
+     * Cria várias tarefas em um projeto, de uma só vez.
+     * <p>
+     * Todas as tarefas são montadas (e validadas) antes de qualquer uma entrar no projeto:
+     * se os dados de alguma forem inválidos, nenhuma é adicionada. Os IDs são reservados
+     * em uma única faixa, e o projeto é alterado com o lock adquirido uma só vez e gera
+     * um único retrato novo. Além das próprias tarefas, só são alocadas a lista devolvida
+     * e os nós da árvore de retratos.
+     * </p>
+     * @param projectId O ID do projeto que receberá as tarefas.
+     * @param specs Os dados de cada tarefa (um mesmo {@link TaskSpec} pode se repetir).
+     * @return As tarefas criadas, na mesma ordem dos dados.
+     * @throws IllegalArgumentException Se o projeto não for encontrado ou os dados de alguma tarefa forem inválidos.
+     */
+    public List<Task> createTasksForProject(long projectId, List<TaskSpec> specs) throws IllegalArgumentException {
         Project p = this.getProjectById(projectId);
         if (p == null) {
             throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
         }
+        if (specs == null) {
+            throw new IllegalArgumentException("A lista de dados das tarefas não pode ser nula.");
+        }
+
+        long nextId = this.taskIds.reserve(specs.size());
+        List<Task> created = new ArrayList<>(specs.size());
+        for (TaskSpec spec : specs) {
+            created.add(this.taskFactory.createTask(nextId++, spec));
+        }
 
-        String newId = String.valueOf(nextTaskId++);
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            p.addTasks(created);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return created;
+    }
 
-        Task task = this.taskFactory.createTask(newId, type, data);
+    /**
+     * Cria várias tarefas do mesmo tipo a partir de "mapas" de dados. Mantido por
+     * compatibilidade; prefira {@link #createTasksForProject(long, List)}.
+     * @param projectId O ID do projeto que receberá as tarefas.
+     * @param type O tipo das tarefas (SIMPLE, DEADLINE, etc.).
+     * @param dataList Um "mapa" de dados para cada tarefa, como em
+     * {@link #createTaskForProject(long, TaskType, Map)}.
+     * @return As tarefas criadas, na mesma ordem dos dados.
+     * @throws IllegalArgumentException Se o projeto não for encontrado ou os dados de alguma tarefa forem inválidos.
+     */
+    public List<Task> createTasksForProject(long projectId, TaskType type,
+                                            List<? extends Map<String, Object>> dataList)
+            throws IllegalArgumentException {
+        if (dataList == null) {
+            throw new IllegalArgumentException("A lista de dados das tarefas não pode ser nula.");
+        }
 
-        p.addTask(task);
+        List<TaskSpec> specs = new ArrayList<>(dataList.size());
+        for (Map<String, Object> data : dataList) {
+            specs.add(this.taskFactory.toSpec(type, data));
+        }
+        return this.createTasksForProject(projectId, specs);
     }
 
     /**
-     * Método auxiliar privado para "avançar" os contadores de ID
-     * após carregar os dados de um arquivo.
-     * Isso evita colisões de ID ao criar novos itens.
+     * Muda o status de várias tarefas de um projeto, de uma só vez.
+     * <p>
+     * Antes de alterar qualquer tarefa, verifica se todas existem e se o novo status é
+     * válido para o tipo de cada uma ({@link Task#getValidStatuses()}): se alguma falhar,
+     * nenhuma é alterada. O projeto gera um único retrato novo no final.
+     * </p>
+     * @param projectId O ID do projeto que contém as tarefas.
+     * @param taskIds Os IDs das tarefas a serem alteradas.
+     * @param newStatus O novo status.
+     * @return A quantidade de tarefas alteradas.
+     * @throws IllegalArgumentException Se o projeto ou alguma tarefa não forem encontrados,
+     * ou se o status não for válido para alguma das tarefas.
      */
-    private void updateIdCountersAfterLoad() {
-        long maxProjectId = 0;
-        long maxTaskId = 0;
+    public int updateTasksStatus(long projectId, Collection<Long> taskIds, Status newStatus)
+            throws IllegalArgumentException {
 
-        for (Project p : this.projects) {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
+        }
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            List<Task> targets = findTasksById(p, taskIds);
+            for (Task task : targets) {
+                if (!Arrays.asList(task.getValidStatuses()).contains(newStatus)) {
+                    throw new IllegalArgumentException("Status " + newStatus + " inválido para a tarefa com ID "
+                            + task.getId() + ". Nenhuma tarefa foi alterada.");
+                }
+            }
+
+            p.beginBatch();
             try {
-                long pId = Long.parseLong(p.getId());
-                if (pId > maxProjectId) {
-                    maxProjectId = pId;
+                for (Task task : targets) {
+                    task.setStatus(newStatus);
                 }
+            } finally {
+                p.endBatch();
+            }
+            return targets.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
 
-                for (Task t : p.getTasks()) {
-                    long tId = Long.parseLong(t.getId());
-                    if (tId > maxTaskId) {
-                        maxTaskId = tId;
-                    }
+    /**
+     * Muda a prioridade de várias tarefas de um projeto, de uma só vez.
+     * <p>
+     * A prioridade é validada uma única vez e todas as tarefas são localizadas antes de
+     * qualquer alteração: se alguma não existir, nenhuma é alterada. O projeto gera um
+     * único retrato novo no final.
+     * </p>
+     * @param projectId O ID do projeto que contém as tarefas.
+     * @param taskIds Os IDs das tarefas a serem alteradas.
+     * @param newPriority A nova prioridade (1-5).
+     * @return A quantidade de tarefas alteradas.
+     * @throws IllegalArgumentException Se o projeto ou alguma tarefa não forem encontrados,
+     * ou se a prioridade for inválida.
+     */
+    public int updateTasksPriority(long projectId, Collection<Long> taskIds, int newPriority)
+            throws IllegalArgumentException {
+
+        if (!AppUtils.isValidPriority(newPriority)) {
+            throw new IllegalArgumentException("Prioridade inválida. Deve ser entre 1 e 5. Recebido: " + newPriority);
+        }
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
+        }
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            List<Task> targets = findTasksById(p, taskIds);
+            p.beginBatch();
+            try {
+                for (Task task : targets) {
+                    task.setPriority(newPriority);
                 }
-            } catch (NumberFormatException e) {
-                // Ignora IDs que não são numéricos
+            } finally {
+                p.endBatch();
             }
+            return targets.size();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Exclui de um projeto todas as tarefas que atendem a um critério, de uma só vez.
+     * <p>
+     * Exemplo: {@code deleteTasks(projectId, task -> task.getStatus() == Status.CONCLUIDO)}.
+     * </p>
+     * @param projectId O ID do projeto.
+     * @param filter O critério: as tarefas para as quais ele retornar true são excluídas.
+     * @return A quantidade de tarefas excluídas (0 se o projeto não for encontrado).
+     * @throws IllegalArgumentException Se o critério for nulo.
+     */
+    public int deleteTasks(long projectId, Predicate<? super Task> filter) throws IllegalArgumentException {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            return 0;
+        }
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.writeLock();
+        try {
+            return p.removeTasks(filter);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Calcula o percentual de conclusão de um projeto sem bloquear quem o altera.
+     * <p>
+     * Usa uma leitura otimista do {@link StampedLock} do projeto: se nenhuma escrita
+     * aconteceu durante o cálculo, o resultado vale; caso contrário, calcula de novo com
+     * o lock de leitura.
+     * </p>
+     * @param projectId O ID do projeto.
+     * @return O percentual (0.0 a 100.0).
+     * @throws IllegalArgumentException Se o projeto não for encontrado.
+     */
+    public double getProjectProgress(long projectId) throws IllegalArgumentException {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            throw new IllegalArgumentException("Projeto com ID " + projectId + " não encontrado.");
         }
 
-        this.nextProjectId = maxProjectId + 1;
-        this.nextTaskId = maxTaskId + 1;
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.tryOptimisticRead();
+        double progress = p.getProgressPercentage();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                progress = p.getProgressPercentage();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return progress;
+    }
 
-        System.out.println("Contadores de ID atualizados: Próximo Projeto = " + nextProjectId + ", Próxima Tarefa = " + nextTaskId);
+    /**
+     * Obtém uma cópia das tarefas de um projeto, que pode ser lida por qualquer thread.
+     * <p>
+     * A cópia é tirada com o lock de leitura do projeto, então nunca pega a lista no meio
+     * de uma alteração feita por outra thread (ex: {@link #updateTasksStatus},
+     * {@link #deleteTasks} ou {@link #createTasksForProject}). Se o projeto foi carregado
+     * apenas pelo cabeçalho, as tarefas são lidas do disco antes. As telas devem ler as
+     * tarefas por aqui, e não por {@link Project#getTasks()}.
+     * </p>
+     * @param projectId O ID do projeto.
+     * @return As tarefas, na ordem da lista (somente leitura), ou uma lista vazia se o
+     * projeto não for encontrado.
+     * @throws UncheckedIOException Se as tarefas precisarem ser lidas e a leitura falhar.
+     */
+    public List<Task> getTasks(long projectId) {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            return Collections.emptyList();
+        }
+        this.ensureTasksLoaded(p);
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.readLock();
+        try {
+            return Collections.unmodifiableList(new ArrayList<>(p.getTasks()));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Busca uma tarefa de um projeto pelo ID, com o lock de leitura do projeto
+     * (ver {@link #getTasks(long)}).
+     * @param projectId O ID do projeto.
+     * @param taskId O ID da tarefa.
+     * @return A tarefa, ou {@code null} se o projeto ou a tarefa não forem encontrados.
+     * @throws UncheckedIOException Se as tarefas precisarem ser lidas e a leitura falhar.
+     */
+    public Task getTaskById(long projectId, long taskId) {
+        Project p = this.getProjectById(projectId);
+        if (p == null) {
+            return null;
+        }
+        this.ensureTasksLoaded(p);
+
+        StampedLock lock = this.lockFor(projectId);
+        long stamp = lock.readLock();
+        try {
+            return p.getTaskById(taskId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // --- Buscas ---
+
+    /**
+     * Busca, em todos os projetos, as tarefas que atendem a TODOS os critérios informados,
+     * usando os índices secundários em vez de percorrer as tarefas.
+     * <p>
+     * Exemplo: {@code findTasks(Status.EM_PROGRESSO, 4, hoje, hoje.plusDays(7))} devolve as
+     * tarefas em progresso, com prioridade 4 ou 5, que vencem nesta semana. Com um
+     * intervalo de datas, apenas tarefas com data ({@link DeadlineTask} e {@link Milestone})
+     * são encontradas, ordenadas pela data.
+     * </p>
+     * <p>
+     * Consulta apenas os índices, sem ler nada do disco: tarefas de projetos carregados só
+     * pelo cabeçalho (carregamento tardio) entram nos índices em segundo plano e, até lá,
+     * não aparecem (ver {@link #isTaskIndexComplete()}).
+     * </p>
+     * @param status O status desejado, ou {@code null} para qualquer status.
+     * @param minPriority A prioridade mínima (inclusive), ou 0 para qualquer prioridade.
+     * @param from A primeira data de vencimento (inclusive), ou {@code null} para não limitar.
+     * @param to A última data de vencimento (inclusive), ou {@code null} para não limitar.
+     * @return As tarefas encontradas (lista vazia se nenhuma).
+     */
+    public List<Task> findTasks(Status status, int minPriority, LocalDate from, LocalDate to) {
+        return this.taskIndex.find(status, minPriority, from, to);
+    }
+
+    /**
+     * Lista tudo o que vence ou está marcado em um intervalo de datas, em todos os
+     * projetos: prazos gerais dos projetos, prazos das tarefas e datas dos marcos.
+     * <p>
+     * Não percorre as tarefas nem lê nada do disco: apenas a faixa pedida do índice de
+     * datas das tarefas (o mesmo de {@link #findTasks}) e a do índice de prazos dos
+     * projetos são visitadas, e as duas listas, já ordenadas, são intercaladas. Custa
+     * O(log n) mais a quantidade de itens encontrados.
+     * </p>
+     * <p>
+     * Assim como em {@link #findTasks}, tarefas ainda não lidas do disco (carregamento
+     * tardio) só aparecem depois de entrarem nos índices.
+     * </p>
+     * @param from A primeira data (inclusive).
+     * @param to A última data (inclusive).
+     * @return Os itens do intervalo, ordenados por data (no mesmo dia, os projetos primeiro).
+     * @throws IllegalArgumentException Se alguma data for nula ou {@code from} for depois de {@code to}.
+     */
+    public List<CalendarEntry> getCalendar(LocalDate from, LocalDate to) throws IllegalArgumentException {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Intervalo de datas inválido: " + from + " a " + to + ".");
+        }
+
+        List<CalendarEntry> projectEntries = new ArrayList<>();
+        synchronized (this.projectDeadlines) {
+            NavigableMap<LocalDate, Set<Project>> range = this.projectDeadlines.subMap(from, true, to, true);
+            for (Map.Entry<LocalDate, Set<Project>> sameDate : range.entrySet()) {
+                for (Project p : sameDate.getValue()) {
+                    projectEntries.add(new CalendarEntry(sameDate.getKey(), p, null));
+                }
+            }
+        }
+        List<CalendarEntry> taskEntries = this.taskIndex.calendar(from, to);
+
+        List<CalendarEntry> calendar = new ArrayList<>(projectEntries.size() + taskEntries.size());
+        int next = 0;
+        for (CalendarEntry taskEntry : taskEntries) {
+            while (next < projectEntries.size() && !projectEntries.get(next).getDate().isAfter(taskEntry.getDate())) {
+                calendar.add(projectEntries.get(next++));
+            }
+            calendar.add(taskEntry);
+        }
+        while (next < projectEntries.size()) {
+            calendar.add(projectEntries.get(next++));
+        }
+        return calendar;
+    }
+
+    /**
+     * Busca uma página de tarefas que atendem a uma {@link TaskQuery}, em todos os projetos
+     * (ou em um só, se a busca tiver {@link TaskQuery#inProject}).
+     * <p>
+     * A busca usa os índices de status, prioridade e data e monta apenas a página pedida:
+     * o resultado completo nunca é montado em memória. Para buscar a página seguinte,
+     * passe o cursor devolvido em {@link TaskPage#getNextCursor()} junto com a mesma busca.
+     * Como o cursor guarda a posição da última tarefa, e não um número de página, tarefas
+     * criadas ou excluídas entre as chamadas não fazem a busca repetir nem pular tarefas.
+     * </p>
+     * <p>
+     * Exemplo: {@code queryTasks(TaskQuery.all().withStatus(Status.A_FAZER).sortedBy(TaskSort.PRIORITY), null, 20)}
+     * devolve as 20 tarefas a fazer mais prioritárias.
+     * </p>
+     * <p>
+     * Em um só projeto, as tarefas são lidas do disco se ainda não tiverem sido
+     * (carregamento tardio). Em todos os projetos, apenas os índices são consultados: as
+     * tarefas ainda não lidas só aparecem depois de entrarem nos índices em segundo plano
+     * (ver {@link #isTaskIndexComplete()}).
+     * </p>
+     * @param query A busca.
+     * @param cursor O cursor da página anterior, ou {@code null} para a primeira página.
+     * @param pageSize O número máximo de tarefas na página (pelo menos 1).
+     * @return A página (vazia, sem cursor, se não houver mais tarefas).
+     * @throws IllegalArgumentException Se a busca for nula, o tamanho da página for menor que 1
+     * ou o cursor for inválido ou de uma busca com outra ordenação.
+     */
+    public TaskPage queryTasks(TaskQuery query, String cursor, int pageSize) throws IllegalArgumentException {
+        if (query == null) {
+            throw new IllegalArgumentException("A busca não pode ser nula.");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser pelo menos 1. Recebido: " + pageSize);
+        }
+        TaskCursor after = null;
+        if (cursor != null) {
+            after = TaskCursor.decode(cursor);
+            if (after.getSort() != query.getSort()) {
+                throw new IllegalArgumentException("O cursor é de uma busca ordenada por "
+                        + after.getSort() + ", e não por " + query.getSort() + ".");
+            }
+        }
+
+        List<Task> found;
+        if (query.getProjectId() != 0) {
+            Project p = this.getProjectById(query.getProjectId());
+            if (p == null) {
+                return new TaskPage(new ArrayList<>(), null);
+            }
+            this.ensureTasksLoaded(p);
+            StampedLock lock = this.lockFor(p.getId());
+            long stamp = lock.readLock();
+            try {
+                found = this.taskIndex.page(query, after, pageSize, p.getTasks());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        } else {
+            found = this.taskIndex.page(query, after, pageSize, null);
+        }
+
+        if (found.size() <= pageSize) {
+            return new TaskPage(found, null);
+        }
+        List<Task> page = new ArrayList<>(found.subList(0, pageSize));
+        return new TaskPage(page, TaskCursor.after(query.getSort(), page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Busca projetos (pelo nome) e tarefas (pela descrição) que contêm as palavras de um texto,
+     * dos mais relevantes para os menos relevantes.
+     * <p>
+     * Usa índices invertidos mantidos a cada alteração, então não percorre os projetos nem
+     * as tarefas. Acentos e maiúsculas são ignorados ("concluido" encontra "CONCLUÍDO"), a
+     * última letra digitada não precisa completar a palavra ("relat" encontra "Relatório") e
+     * pequenos erros de digitação são tolerados ("relatrio" também encontra). Um resultado
+     * precisa conter TODAS as palavras da busca.
+     * </p>
+     * <p>
+     * Nada é lido do disco: tarefas de projetos carregados só pelo cabeçalho entram nos
+     * índices em segundo plano e, até lá, não aparecem (ver {@link #isTaskIndexComplete()}).
+     * </p>
+     * @param text O texto da busca.
+     * @param limit O número máximo de resultados (pelo menos 1).
+     * @return Os resultados, do mais relevante para o menos relevante (lista vazia se nenhum).
+     * @throws IllegalArgumentException Se o número máximo de resultados for menor que 1.
+     */
+    public List<SearchHit> search(String text, int limit) throws IllegalArgumentException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("O número de resultados deve ser pelo menos 1. Recebido: " + limit);
+        }
+        List<TextIndex.Match<Project>> projectMatches;
+        synchronized (this.projectNames) {
+            projectMatches = this.projectNames.search(text, limit);
+        }
+        List<TextIndex.Match<Task>> taskMatches = this.taskIndex.search(text, limit);
+
+        // Junta as duas listas (já ordenadas) pela pontuação; no empate, o projeto vem antes.
+        List<SearchHit> hits = new ArrayList<>();
+        int nextProject = 0;
+        int nextTask = 0;
+        while (hits.size() < limit && (nextProject < projectMatches.size() || nextTask < taskMatches.size())) {
+            if (nextTask == taskMatches.size() || (nextProject < projectMatches.size()
+                    && projectMatches.get(nextProject).getScore() >= taskMatches.get(nextTask).getScore())) {
+                TextIndex.Match<Project> match = projectMatches.get(nextProject++);
+                hits.add(new SearchHit(match.getItem(), null, match.getScore()));
+            } else {
+                TextIndex.Match<Task> match = taskMatches.get(nextTask++);
+                Project owner = match.getItem().getOwner();
+                if (owner != null) {
+                    hits.add(new SearchHit(owner, match.getItem(), match.getScore()));
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Informa se as tarefas de todos os projetos já estão nos índices de busca.
+     * <p>
+     * Com carregamento tardio, os projetos chegam só com o cabeçalho e suas tarefas são
+     * lidas em segundo plano, uma a uma; até lá, {@link #findTasks}, {@link #queryTasks},
+     * {@link #search} e {@link #getCalendar} não as encontram.
+     * </p>
+     * @return true se não houver tarefas esperando para entrar nos índices.
+     */
+    public boolean isTaskIndexComplete() {
+        return this.pendingTaskLoads.isEmpty();
+    }
+
+    /**
+     * Espera as tarefas dos projetos já carregados entrarem nos índices de busca
+     * (ver {@link #isTaskIndexComplete()}). Não deve ser chamado na thread da interface.
+     * @param timeout O tempo máximo de espera.
+     * @param unit A unidade do tempo de espera.
+     * @return true se todas as tarefas já estiverem nos índices.
+     * @throws InterruptedException Se a thread for interrompida durante a espera.
+     */
+    public boolean awaitTaskIndex(long timeout, TimeUnit unit) throws InterruptedException {
+        if (this.isTaskIndexComplete()) {
+            return true;
+        }
+        // A thread de pré-carregamento é única: quando esta marca rodar, as anteriores terminaram.
+        Future<?> marker = this.taskPreloader.submit(() -> { });
+        try {
+            marker.get(timeout, unit);
+        } catch (ExecutionException | TimeoutException e) {
+            // Sem tratamento: o resultado abaixo informa se terminou.
+        }
+        return this.isTaskIndexComplete();
+    }
+
+    /**
+     * Percorre TODAS as tarefas que atendem a uma {@link TaskQuery}, na ordem da busca,
+     * buscando uma página por vez ({@link #queryTasks(TaskQuery, String, int)}) conforme
+     * o laço avança. Quem para no meio (ex: ao encontrar a tarefa procurada) não paga
+     * pelas páginas seguintes.
+     * @param query A busca.
+     * @return As tarefas, para uso em um laço {@code for}; cada laço começa do início.
+     * @throws IllegalArgumentException Se a busca for nula.
+     */
+    public Iterable<Task> iterateTasks(TaskQuery query) throws IllegalArgumentException {
+        if (query == null) {
+            throw new IllegalArgumentException("A busca não pode ser nula.");
+        }
+        return () -> new Iterator<Task>() {
+            private Iterator<Task> current = Collections.emptyIterator();
+            private String cursor;
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !lastPage) {
+                    TaskPage page = queryTasks(query, cursor, QUERY_PAGE_SIZE);
+                    current = page.getTasks().iterator();
+                    cursor = page.getNextCursor();
+                    lastPage = !page.hasNext();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Método auxiliar privado que coloca o nome atual de um projeto no índice de nomes
+     * (retirando o nome antigo, se tiver mudado).
+     */
+    private void indexName(Project p) {
+        synchronized (this.projectNames) {
+            String name = p.getName();
+            String indexed = this.indexedNames.put(p, name);
+            if (!name.equals(indexed)) {
+                this.projectNames.remove(p, indexed);
+                this.projectNames.add(p, name);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar privado que retira um projeto do índice de nomes.
+     */
+    private void unindexName(Project p) {
+        synchronized (this.projectNames) {
+            this.projectNames.remove(p, this.indexedNames.remove(p));
+        }
+    }
+
+    /**
+     * Método auxiliar privado que coloca o prazo geral atual de um projeto no índice de
+     * prazos (retirando o prazo antigo, se tiver mudado).
+     */
+    private void indexDeadline(Project p) {
+        synchronized (this.projectDeadlines) {
+            LocalDate deadline = p.getGeneralDeadline();
+            LocalDate indexed = this.indexedDeadlines.get(p);
+            if (deadline == null ? indexed == null : deadline.equals(indexed)) {
+                return;
+            }
+            this.removeDeadline(p, indexed);
+            if (deadline != null) {
+                this.indexedDeadlines.put(p, deadline);
+                this.projectDeadlines.computeIfAbsent(deadline, date -> new LinkedHashSet<>()).add(p);
+            } else {
+                this.indexedDeadlines.remove(p);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar privado que retira um projeto do índice de prazos.
+     */
+    private void unindexDeadline(Project p) {
+        synchronized (this.projectDeadlines) {
+            this.removeDeadline(p, this.indexedDeadlines.remove(p));
+        }
+    }
+
+    /**
+     * Método auxiliar privado que retira um projeto da data em que está no índice de prazos.
+     * Deve ser chamado com o monitor de {@link #projectDeadlines} adquirido.
+     */
+    private void removeDeadline(Project p, LocalDate indexed) {
+        if (indexed == null) {
+            return;
+        }
+        Set<Project> sameDate = this.projectDeadlines.get(indexed);
+        if (sameDate != null && sameDate.remove(p) && sameDate.isEmpty()) {
+            this.projectDeadlines.remove(indexed);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que lê do disco as tarefas de um projeto carregado apenas
+     * pelo cabeçalho (carregamento tardio), para que elas entrem nos índices.
+     */
+    private void ensureTasksLoaded(Project p) {
+        if (!p.isTasksLoaded()) {
+            StampedLock lock = this.lockFor(p.getId());
+            long stamp = lock.writeLock();
+            try {
+                p.getTasks();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Executado na thread de pré-carregamento: lê as tarefas de um projeto carregado só
+     * pelo cabeçalho, para que elas entrem nos índices, se o projeto ainda estiver no manager.
+     */
+    private void preloadTasks(Project p) {
+        try {
+            StampedLock lock = this.lockFor(p.getId());
+            long stamp = lock.writeLock();
+            try {
+                if (this.projectIndex.get(p.getId()) == p) {
+                    p.getTasks();
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        } catch (UncheckedIOException e) {
+            System.err.println("AVISO: " + e.getMessage());
+        } finally {
+            this.pendingTaskLoads.remove(p);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que adiciona projetos (já com IDs definitivos) à lista
+     * e ao índice, em um único passo.
+     */
+    private void addAllIndexed(List<Project> added) {
+        synchronized (this.structureLock) {
+            this.projects.addAll(added);
+            for (Project p : added) {
+                this.projectIndex.put(p.getId(), p);
+                p.setSecondaryIndex(this.taskIndex);
+                this.publishNew(p, true);
+            }
+            this.projectSnapshot = null;
+        }
+    }
+
+    /**
+     * Método auxiliar privado que localiza todas as tarefas de uma operação em lote
+     * (ignorando IDs repetidos), antes de qualquer alteração.
+     * Deve ser chamado com o lock do projeto adquirido.
+     * @throws IllegalArgumentException Se a coleção for nula ou alguma tarefa não for encontrada.
+     */
+    private static List<Task> findTasksById(Project p, Collection<Long> taskIds) throws IllegalArgumentException {
+        if (taskIds == null) {
+            throw new IllegalArgumentException("A lista de IDs das tarefas não pode ser nula.");
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(taskIds);
+        List<Task> found = new ArrayList<>(uniqueIds.size());
+        for (Long taskId : uniqueIds) {
+            Task task = (taskId == null) ? null : p.getTaskById(taskId);
+            if (task == null) {
+                throw new IllegalArgumentException("Tarefa com ID " + taskId + " não encontrada. Nenhuma tarefa foi alterada.");
+            }
+            found.add(task);
+        }
+        return found;
+    }
+
+    /**
+     * Método auxiliar privado que escolhe o lock de um projeto pelo seu ID.
+     */
+    private StampedLock lockFor(long projectId) {
+        int hash = Long.hashCode(projectId);
+        return this.projectLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Método auxiliar privado que esvazia a lista de projetos e todos os índices.
+     * Não avisa os {@link IModelListener}: quem chama avisa quando a lista estiver pronta.
+     * Deve ser chamado com {@link #structureLock} adquirido.
+     */
+    private void clearProjects() {
+        for (Project p : this.projects) {
+            p.setSecondaryIndex(null);
+            p.setListener(null, 0);
+        }
+        this.projects.clear();
+        this.projectIndex.clear();
+        this.taskIndex.clear();
+        this.pendingTaskLoads.clear();
+        this.reminders.clear();
+        synchronized (this.projectNames) {
+            this.projectNames.clear();
+            this.indexedNames.clear();
+        }
+        synchronized (this.projectDeadlines) {
+            this.projectDeadlines.clear();
+            this.indexedDeadlines.clear();
+        }
+        this.projectSnapshot = null;
+        this.snapshot.updateAndGet(ModelSnapshot::cleared);
+    }
+
+    /**
+     * Método auxiliar privado que dá a um projeto recém-chegado a próxima chave do
+     * retrato e publica o seu primeiro retrato. Deve ser chamado com {@link #structureLock}
+     * adquirido, para que as chaves sigam a ordem da lista.
+     * @param notify Se false, os {@link IModelListener} não recebem o PROJECT_ADDED
+     * (quem chama avisa de outra forma, como o {@link #loadData()}).
+     */
+    private void publishNew(Project p, boolean notify) {
+        p.setListener(this.snapshotPublisher, this.nextSnapshotKey.getAndIncrement());
+        this.publish(p);
+        if (notify) {
+            this.fireProjectChanged(ModelChangeType.PROJECT_ADDED, p);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que avisa os {@link IModelListener} da alteração de um
+     * projeto, com a sua posição na lista (calculada pelo retrato, em O(log n)).
+     */
+    private void fireProjectChanged(ModelChangeType type, Project p) {
+        if (!this.modelListeners.isEmpty()) {
+            int index = this.snapshot.get().indexOf(p.getSnapshotKey());
+            this.fireModelChanged(new ModelChangeEvent(type, p, null, index, 1));
+        }
+    }
+
+    /**
+     * Método auxiliar privado que entrega um evento a todos os {@link IModelListener}.
+     */
+    private void fireModelChanged(ModelChangeEvent event) {
+        for (IModelListener listener : this.modelListeners) {
+            listener.modelChanged(event);
+        }
+    }
+
+    /**
+     * Método auxiliar privado que publica um novo retrato com o estado atual do projeto.
+     * Chamado a cada alteração do projeto (pelo {@link IProjectListener}), com o lock do
+     * projeto adquirido: custa O(log n), pois apenas o caminho até o projeto é copiado.
+     */
+    private void publish(Project p) {
+        this.indexName(p);
+        this.indexDeadline(p);
+        this.reminders.schedule(p);
+        ProjectSnapshot projectSnapshot = p.toSnapshot();
+        long key = p.getSnapshotKey();
+        this.snapshot.updateAndGet(current -> current.with(key, projectSnapshot));
+    }
+
+    /**
+     * Método auxiliar privado que lê todos os projetos de um arquivo externo,
+     * traduzindo os erros de leitura em mensagens para o usuário.
+     * Não altera o estado do manager (pode ser chamado de qualquer thread).
+     */
+    private static ArrayList<Project> readExternalFile(File file)
+            throws StreamCorruptedException, ClassCastException, Exception {
+        try {
+            IPersistenceDAO externalDao = new SerializedProjectDAO(file.getAbsolutePath());
+            ArrayList<Project> externalProjects = new ArrayList<>();
+            externalDao.loadEach(externalProjects::add);
+            return externalProjects;
+        } catch (StreamCorruptedException e) {
+            throw new StreamCorruptedException("tipo inválido. O arquivo deve ser .dat.");
+        } catch (ClassCastException e) {
+            throw new ClassCastException("os dados do arquivo são incompatíveis com o sistema.");
+        } catch (Exception e) {
+            throw new Exception("falha ao carregar dados");
+        }
+    }
+
+    /**
+     * Método auxiliar privado que reserva, de uma só vez, uma faixa de IDs para os
+     * projetos importados e outra para suas tarefas, e os renumera.
+     * Seguro para ser chamado por várias threads ao mesmo tempo com os mesmos contadores.
+     */
+    private static void assignImportedIds(List<Project> imported, IdAllocator projectIds, IdAllocator taskIds) {
+        int taskCount = 0;
+        for (Project p : imported) {
+            taskCount += p.getTasks().size();
+        }
+
+        long projectId = projectIds.reserve(imported.size());
+        long taskId = taskIds.reserve(taskCount);
+
+        for (Project p : imported) {
+            p.setId(projectId++);
+
+            for (Task t : p.getTasks()) {
+                t.setId(taskId++);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar privado que adiciona um projeto recém-carregado à lista,
+     * registra sua versão como "já salva" e avança os contadores de ID.
+     * Deve ser chamado com {@link #structureLock} adquirido.
+     * @param notify Se o PROJECT_ADDED deve ser avisado (ver {@link #publishNew}).
+     */
+    private void addLoadedProject(Project p, boolean notify) {
+        this.projects.add(p);
+        this.projectIndex.put(p.getId(), p);
+        p.setSecondaryIndex(this.taskIndex);
+        this.publishNew(p, notify);
+        this.projectSnapshot = null;
+        synchronized (this.saveLock) {
+            this.savedVersions.put(p.getId(), p.getVersion());
+        }
+        this.advanceIdCounters(p);
+
+        if (!p.isTasksLoaded()) {
+            this.pendingTaskLoads.add(p);
+            this.taskPreloader.execute(() -> this.preloadTasks(p));
+        }
+    }
+
+    /**
+     * Executado na thread de gravação: recria, a partir do retrato mais recente pedido,
+     * os projetos alterados (os demais apenas pelo cabeçalho) e, se der certo, registra
+     * as versões gravadas como "já salvas".
+     */
+    private void runPendingSave() {
+        PendingSave request;
+        synchronized (this.saveLock) {
+            request = this.pendingSave;
+            this.pendingSave = null;
+        }
+
+        // A comparação de versões percorre todos os projetos: fica fora do saveLock para que
+        // quem pede um salvamento (ou exclui um projeto) nunca espere por ela.
+        List<ProjectSnapshot> changedSnapshots = new ArrayList<>();
+        for (ProjectSnapshot p : request.model.getProjects()) {
+            Long savedVersion = this.savedVersions.get(p.getId());
+            if (savedVersion == null || savedVersion != p.getVersion()) {
+                changedSnapshots.add(p);
+            }
+        }
+
+        try {
+            if (!changedSnapshots.isEmpty() || !request.removedIds.isEmpty()) {
+                // Só os projetos alterados são recriados por inteiro; os demais entram na lista
+                // apenas pelo cabeçalho, e suas tarefas só são recriadas se o DAO as pedir
+                // (o que só acontece nas estratégias que regravam tudo).
+                ArrayList<Project> projects = new ArrayList<>(request.model.getProjectCount());
+                List<Project> changed = new ArrayList<>(changedSnapshots.size());
+                int nextChanged = 0;
+                for (ProjectSnapshot p : request.model.getProjects()) {
+                    if (nextChanged < changedSnapshots.size() && changedSnapshots.get(nextChanged) == p) {
+                        Project project = p.toProject();
+                        projects.add(project);
+                        changed.add(project);
+                        nextChanged++;
+                    } else {
+                        projects.add(p.toHeaderProject());
+                    }
+                }
+                this.dao.saveChanges(projects, changed, request.removedIds);
+            }
+
+            synchronized (this.saveLock) {
+                for (long removedId : request.removedIds) {
+                    this.savedVersions.remove(removedId);
+                    this.removedSinceSave.remove(removedId);
+                }
+                for (ProjectSnapshot saved : changedSnapshots) {
+                    // Projetos excluídos durante a gravação continuam pendentes de exclusão.
+                    if (!this.removedSinceSave.contains(saved.getId())) {
+                        this.savedVersions.put(saved.getId(), saved.getVersion());
+                    }
+                }
+                this.savesInFlight--;
+            }
+            request.future.complete(null);
+        } catch (Exception e) {
+            synchronized (this.saveLock) {
+                this.savesInFlight--;
+            }
+            request.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Gravação agendada: o retrato mais recente a ser gravado, os IDs excluídos até
+     * aquele momento e o futuro de quem a pediu.
+     */
+    private static final class PendingSave {
+        private ModelSnapshot model;
+        private Set<Long> removedIds;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingSave(ModelSnapshot model, Set<Long> removedIds) {
+            this.model = model;
+            this.removedIds = removedIds;
+        }
+    }
+
+    /**
+     * Método auxiliar privado para "avançar" os contadores de ID
+     * a cada projeto carregado de um arquivo.
+     * Isso evita colisões de ID ao criar novos itens.
+     */
+    private void advanceIdCounters(Project p) {
+        this.projectIds.advancePast(p.getId());
+
+        // Usa o maior ID registrado no projeto, para não forçar a leitura de tarefas
+        // de projetos carregados apenas pelo cabeçalho.
+        this.taskIds.advancePast(p.getMaxTaskId());
+    }
+
+    /**
+     * Método auxiliar privado que informa os contadores de ID após um carregamento.
+     */
+    private void printIdCounters() {
+        System.out.println("Contadores de ID atualizados: Próximo Projeto = " + projectIds.peek()
+                + ", Próxima Tarefa = " + taskIds.peek());
     }
 
 }
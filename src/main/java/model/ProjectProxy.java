@@ -0,0 +1,106 @@
+package model;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma serializada compacta de um {@link Project} (padrão "Serialization Proxy").
+ * <p>
+ * Quando um projeto é serializado, {@code Project.writeReplace()} o troca por este
+ * objeto, que grava os dados diretamente como tipos primitivos: uma versão de esquema,
+ * o cabeçalho do projeto e cada tarefa com um único byte identificando sua subclasse
+ * (ver {@link ProjectCodec}). Não são gravados descritores das classes de tarefa,
+ * nomes de campos nem objetos {@link java.time.LocalDate}, e a leitura não usa reflexão
+ * campo a campo.
+ * </p>
+ * <p>
+ * Na leitura, {@link #readResolve()} devolve o {@link Project} reconstruído.
+ * Arquivos antigos, gravados com a serialização padrão de {@link Project} e
+ * {@link Task}, continuam sendo lidos pelo caminho padrão (os {@code serialVersionUID}
+ * dessas classes foram mantidos).
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class ProjectProxy implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Versão do esquema gravado por {@link #writeExternal}. */
+    private static final int SCHEMA_VERSION = 2;
+
+    private Project project;
+
+    /**
+     * Construtor público sem argumentos, exigido por {@link Externalizable}.
+     */
+    public ProjectProxy() {
+    }
+
+    /**
+     * Construtor usado por {@code Project.writeReplace()}.
+     * @param project O projeto a ser gravado.
+     */
+    ProjectProxy(Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Grava a versão do esquema, o cabeçalho do projeto e suas tarefas.
+     * @param out O destino dos bytes.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(SCHEMA_VERSION);
+        ProjectCodec.writeProject(out, project);
+        out.writeInt(project.getTasks().size());
+        for (Task task : project.getTasks()) {
+            ProjectCodec.writeTask(out, task);
+        }
+    }
+
+    /**
+     * Lê os dados gravados por {@link #writeExternal}.
+     * @param in A origem dos bytes.
+     * @throws IOException Se ocorrer um erro de leitura ou a versão do esquema não for suportada.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int version = in.readUnsignedByte();
+        if (version != SCHEMA_VERSION) {
+            throw new InvalidObjectException("Versão de esquema de projeto não suportada: " + version);
+        }
+
+        Project restored = ProjectCodec.readProject(in);
+        int taskCount = in.readInt();
+        if (taskCount < 0) {
+            throw new InvalidObjectException("Quantidade de tarefas inválida: " + taskCount);
+        }
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(ProjectCodec.readTask(in));
+        }
+        restored.addTasks(tasks);
+        this.project = restored;
+    }
+
+    /**
+     * Devolve o projeto reconstruído no lugar deste objeto.
+     * @return O {@link Project} lido.
+     * @throws ObjectStreamException Se nenhum projeto foi lido.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (project == null) {
+            throw new InvalidObjectException("Projeto ausente na forma serializada.");
+        }
+        return project;
+    }
+}
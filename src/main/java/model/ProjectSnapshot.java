@@ -0,0 +1,186 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retrato imutável de um {@link Project} e de suas tarefas em um determinado momento.
+ * <p>
+ * Faz parte do {@link ModelSnapshot}. As tarefas ficam em uma {@link PersistentTree}
+ * mantida pelo próprio projeto: um retrato novo reaproveita a árvore do anterior, e
+ * alterar uma tarefa custa apenas O(log n). Projetos cujas tarefas ainda não foram lidas
+ * do disco (carregamento tardio) guardam apenas o cabeçalho.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class ProjectSnapshot {
+
+    private final long id;
+    private final String name;
+    private final LocalDate generalDeadline;
+    private final long version;
+    private final int taskCount;
+    private final int completedCount;
+    /** As tarefas, ou {@code null} se ainda não foram lidas do disco. */
+    private final PersistentTree<TaskSnapshot> tasks;
+    private final ITaskLoader taskLoader;
+    /** O maior ID de tarefa já registrado no projeto (ver {@code Project.getMaxTaskId()}). */
+    private final long maxTaskId;
+
+    /**
+     * Construtor usado por {@code Project.toSnapshot()}.
+     */
+    ProjectSnapshot(long id, String name, LocalDate generalDeadline, long version, int taskCount,
+                    int completedCount, PersistentTree<TaskSnapshot> tasks, ITaskLoader taskLoader,
+                    long maxTaskId) {
+        this.id = id;
+        this.name = name;
+        this.generalDeadline = generalDeadline;
+        this.version = version;
+        this.taskCount = taskCount;
+        this.completedCount = completedCount;
+        this.tasks = tasks;
+        this.taskLoader = taskLoader;
+        this.maxTaskId = maxTaskId;
+    }
+
+    /**
+     * Recria um projeto independente (mutável) com os dados deste retrato.
+     * Usado por quem precisa entregar objetos {@link Project} a um DAO.
+     * @return O projeto (apenas com o cabeçalho, se as tarefas não estiverem carregadas).
+     * @throws IllegalStateException Se alguma tarefa estiver em um estado inválido.
+     */
+    Project toProject() throws IllegalStateException {
+        if (tasks == null) {
+            return Project.restoreHeader(id, name, generalDeadline, taskCount, completedCount,
+                    maxTaskId, taskLoader);
+        }
+
+        Project project = Project.restore(id, name, generalDeadline);
+        project.addTasks(toTasks());
+        return project;
+    }
+
+    /**
+     * Recria um projeto com apenas o cabeçalho deste retrato, em tempo constante.
+     * As tarefas só são recriadas se alguém as pedir (ver {@link Project#getTasks()}).
+     * Usado para entregar a um DAO os projetos que não mudaram desde o último
+     * salvamento: quem só precisa do cabeçalho não paga pela cópia das tarefas.
+     * @return O projeto, com as tarefas ainda não carregadas.
+     */
+    Project toHeaderProject() {
+        ITaskLoader loader = tasks == null ? taskLoader : project -> toTasks();
+        return Project.restoreHeader(id, name, generalDeadline, taskCount, completedCount,
+                maxTaskId, loader);
+    }
+
+    /**
+     * Recria as tarefas do retrato, na ordem da lista.
+     */
+    private List<Task> toTasks() {
+        List<Task> created = new ArrayList<>(taskCount);
+        for (TaskSnapshot task : tasks) {
+            created.add(task.toTask());
+        }
+        return created;
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Obtém o ID do projeto.
+     * @return O número do ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o ID do projeto formatado para exibição.
+     * @return A String do ID.
+     */
+    public String getDisplayId() {
+        return Long.toString(id);
+    }
+
+    /**
+     * Obtém o nome do projeto.
+     * @return A String do nome.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Obtém a data limite do projeto.
+     * @return O objeto {@link LocalDate} da data limite.
+     */
+    public LocalDate getGeneralDeadline() {
+        return generalDeadline;
+    }
+
+    /**
+     * Obtém a versão do projeto no momento do retrato.
+     * @return A versão (ver {@link Project#getVersion()}).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtém a quantidade de tarefas do projeto.
+     * @return O número de tarefas.
+     */
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    /**
+     * Calcula o percentual de conclusão do projeto, como {@link Project#getProgressPercentage()}.
+     * @return Um double entre 0.0 e 100.0.
+     */
+    public double getProgressPercentage() {
+        if (taskCount == 0) {
+            return 0.0;
+        }
+        return ((double) completedCount / taskCount) * 100.0;
+    }
+
+    /**
+     * Informa se as tarefas fazem parte do retrato.
+     * @return false para projetos cujas tarefas ainda não foram lidas do disco.
+     */
+    public boolean isTasksLoaded() {
+        return tasks != null;
+    }
+
+    /**
+     * Obtém as tarefas do projeto, na ordem em que foram adicionadas.
+     * <p>
+     * Se as tarefas não fazem parte do retrato (carregamento tardio), elas são lidas
+     * do disco a cada chamada.
+     * </p>
+     * @return As tarefas (somente leitura).
+     * @throws UncheckedIOException Se as tarefas precisarem ser lidas e a leitura falhar.
+     */
+    public Iterable<TaskSnapshot> getTasks() {
+        if (tasks != null) {
+            return tasks;
+        }
+
+        try {
+            List<TaskSnapshot> loaded = new ArrayList<>(taskCount);
+            for (Task task : taskLoader.loadTasks(toProject())) {
+                loaded.add(TaskSnapshot.of(task));
+            }
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar as tarefas do projeto " + id + ": " + e.getMessage(), e);
+        }
+    }
+}
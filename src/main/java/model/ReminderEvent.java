@@ -0,0 +1,94 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Um lembrete de prazo: uma tarefa (ou um projeto) cujo prazo está próximo ou já passou.
+ * <p>
+ * Os eventos são imutáveis e guardam a data de vencimento do momento em que foram
+ * emitidos; a tarefa e o projeto são os objetos vivos do {@link ProjectManager}.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class ReminderEvent {
+
+    private final ReminderKind kind;
+    private final Project project;
+    private final Task task;
+    private final LocalDate dueDate;
+    private final LocalDate firedOn;
+
+    /**
+     * Construtor do evento (usado pelo {@link ReminderScheduler}).
+     */
+    ReminderEvent(ReminderKind kind, Project project, Task task, LocalDate dueDate, LocalDate firedOn) {
+        this.kind = kind;
+        this.project = project;
+        this.task = task;
+        this.dueDate = dueDate;
+        this.firedOn = firedOn;
+    }
+
+    /**
+     * Obtém o tipo do lembrete.
+     * @return {@link ReminderKind#DUE_SOON} ou {@link ReminderKind#OVERDUE}.
+     */
+    public ReminderKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Obtém o projeto do lembrete (o próprio projeto, ou o projeto da tarefa).
+     * @return O projeto, ou {@code null} se a tarefa não pertencer mais a nenhum projeto.
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Obtém a tarefa do lembrete.
+     * @return A tarefa, ou {@code null} se o lembrete for do prazo geral do projeto.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Informa se o lembrete é do prazo geral de um projeto (e não de uma tarefa).
+     * @return true se for de um projeto.
+     */
+    public boolean isProject() {
+        return task == null;
+    }
+
+    /**
+     * Obtém a data de vencimento que gerou o lembrete.
+     * @return O prazo da tarefa, a data do marco ou o prazo geral do projeto.
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Obtém o dia (pelo relógio do agendador) em que o lembrete foi emitido.
+     * @return A data de emissão.
+     */
+    public LocalDate getFiredOn() {
+        return firedOn;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return Uma linha para exibição (ex: "[Atrasado] Tarefa 12: Revisar texto (Projeto: TCC) - prazo 10/03/2025").
+     */
+    @Override
+    public String toString() {
+        String projectName = project != null ? project.getName() : "-";
+        String item = isProject()
+                ? "Projeto " + project.getId() + ": " + projectName
+                : "Tarefa " + task.getDisplayId() + ": " + task.getDescription() + " (Projeto: " + projectName + ")";
+        return "[" + kind + "] " + item + " - prazo " + AppUtils.formatarData(dueDate);
+    }
+}
@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * Tipos de lembrete emitidos pelo {@link ReminderScheduler}.
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public enum ReminderKind {
+    /** O prazo está próximo (dentro da antecedência configurada) ou é hoje. */
+    DUE_SOON("Vence em breve"),
+    /** O prazo já passou e o item ainda não foi finalizado. */
+    OVERDUE("Atrasado");
+
+    private final String displayName;
+
+    /**
+     * Construtor privado do Enum.
+     * @param displayName O nome a ser exibido na UI.
+     */
+    ReminderKind(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return O nome de exibição (ex: "Atrasado").
+     */
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+}
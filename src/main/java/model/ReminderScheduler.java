@@ -0,0 +1,441 @@
+package model;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agenda os lembretes de prazo das tarefas ({@link DeadlineTask}, {@link Milestone}) e dos
+ * projetos (prazo geral) de um {@link ProjectManager}.
+ * <p>
+ * Cada item com data e ainda não finalizado gera no máximo dois lembretes:
+ * {@link ReminderKind#DUE_SOON} quando faltam {@code leadDays} dias (ou menos) para o
+ * prazo, e {@link ReminderKind#OVERDUE} no dia seguinte ao prazo. Itens finalizados
+ * ({@code CONCLUIDO}/{@code ATINGIDO}, ou projetos com todas as tarefas finalizadas)
+ * saem da agenda.
+ * </p>
+ * <p>
+ * Os lembretes ficam em uma "roda de tempo" hierárquica com a granularidade de um dia:
+ * 3 níveis de 64 posições (64 dias, 4.096 dias e 262.144 dias à frente). Agendar,
+ * reagendar (quando uma data muda) e cancelar custam O(1); avançar um dia custa O(1) mais
+ * os lembretes daquele dia (a cada 64 dias, a posição seguinte do nível de cima é
+ * redistribuída). Datas além do alcance da roda ficam na última posição e são
+ * redistribuídas quando ela chegar.
+ * </p>
+ * <p>
+ * A agenda é mantida pelo próprio manager (ver {@link ProjectManager#getReminders()}):
+ * alterar uma data reagenda só aquele item. O tempo vem de um {@link Clock}, que pode ser
+ * trocado (ex: em testes); o agendador só anda quando {@link #advance()} é chamado, seja
+ * diretamente ou pela thread própria iniciada em {@link #start(Duration)}. Tarefas de
+ * projetos carregados apenas pelo cabeçalho entram na agenda quando forem lidas do disco.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class ReminderScheduler {
+
+    /** Antecedência padrão do aviso de "vence em breve", em dias. */
+    public static final int DEFAULT_LEAD_DAYS = 3;
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+    /** Maior distância (em dias) que cabe na roda; datas mais distantes são redistribuídas depois. */
+    private static final long MAX_DISTANCE = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /** Etapas de um item: aguardando o "vence em breve", aguardando o "atrasado" e já avisado. */
+    private static final int STAGE_DUE_SOON = 0;
+    private static final int STAGE_OVERDUE = 1;
+    private static final int STAGE_DONE = 2;
+
+    private final Clock clock;
+    private final int leadDays;
+    private final ScheduledExecutorService scheduler;
+    private final List<IReminderListener> listeners = new CopyOnWriteArrayList<>();
+
+    // --- Estado da roda (protegido pelo monitor deste objeto) ---
+    private final Entry[][] wheel = new Entry[LEVELS][SLOTS];
+    /** Lembretes cujo dia já chegou: emitidos no próximo {@link #advance()}. */
+    private final Entry due = Entry.sentinel();
+    private final Map<Object, Entry> entries = new HashMap<>();
+    private long currentDay;
+    private int pendingCount;
+
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Construtor do agendador de lembretes.
+     * @param clock O relógio usado para saber o dia atual.
+     * @param leadDays Quantos dias antes do prazo avisar que ele está próximo (0 = só no dia).
+     * @throws IllegalArgumentException Se o relógio for nulo ou a antecedência for negativa.
+     */
+    public ReminderScheduler(Clock clock, int leadDays) throws IllegalArgumentException {
+        if (clock == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo.");
+        }
+        if (leadDays < 0) {
+            throw new IllegalArgumentException("A antecedência dos lembretes não pode ser negativa: " + leadDays);
+        }
+        this.clock = clock;
+        this.leadDays = leadDays;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.wheel[level][slot] = Entry.sentinel();
+            }
+        }
+        this.currentDay = LocalDate.now(clock).toEpochDay();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --- Ouvintes ---
+
+    /**
+     * Registra quem deve ser avisado dos lembretes.
+     * @param listener O ouvinte (ignorado se for nulo).
+     */
+    public void addListener(IReminderListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Remove um ouvinte registrado com {@link #addListener}.
+     * @param listener O ouvinte.
+     */
+    public void removeListener(IReminderListener listener) {
+        listeners.remove(listener);
+    }
+
+    // --- Execução ---
+
+    /**
+     * Começa a avançar o agendador periodicamente (a primeira vez imediatamente, para que
+     * os itens já atrasados sejam avisados logo ao abrir o programa).
+     * @param interval O intervalo entre as verificações do relógio.
+     * @throws IllegalArgumentException Se o intervalo for nulo, zero ou negativo.
+     * @throws IllegalStateException Se o agendador já estiver em execução.
+     */
+    public synchronized void start(Duration interval) throws IllegalArgumentException, IllegalStateException {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("O intervalo entre as verificações de lembretes deve ser positivo.");
+        }
+        if (scheduled != null) {
+            throw new IllegalStateException("O agendador de lembretes já está em execução.");
+        }
+        scheduled = scheduler.scheduleWithFixedDelay(this::runAdvance, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para a thread do agendador. A agenda continua sendo mantida e pode ser avançada
+     * com {@link #advance()}.
+     */
+    public synchronized void stop() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        scheduler.shutdown();
+    }
+
+    /**
+     * Avança a roda até o dia atual do relógio, emite os lembretes vencidos e os entrega
+     * aos ouvintes (fora do lock do agendador, na thread que chamou este método).
+     * @return Os lembretes emitidos, na ordem em que venceram.
+     */
+    public List<ReminderEvent> advance() {
+        List<ReminderEvent> fired = new ArrayList<>();
+        synchronized (this) {
+            long today = LocalDate.now(clock).toEpochDay();
+            fireAll(due, fired);
+            while (currentDay < today) {
+                currentDay++;
+                int slot = (int) (currentDay & SLOT_MASK);
+                if (slot == 0) {
+                    cascade();
+                    fireAll(due, fired);
+                }
+                fireAll(wheel[0][slot], fired);
+            }
+        }
+        for (ReminderEvent event : fired) {
+            for (IReminderListener listener : listeners) {
+                listener.reminderFired(event);
+            }
+        }
+        return fired;
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Obtém a antecedência do aviso de "vence em breve".
+     * @return O número de dias.
+     */
+    public int getLeadDays() {
+        return leadDays;
+    }
+
+    /**
+     * Obtém o último dia processado pelo agendador.
+     * @return A data até a qual os lembretes já foram emitidos.
+     */
+    public synchronized LocalDate getCurrentDate() {
+        return LocalDate.ofEpochDay(currentDay);
+    }
+
+    /**
+     * Obtém quantos lembretes ainda vão ser emitidos (cada item conta uma vez, mesmo que
+     * ainda falte emitir os seus dois avisos).
+     * @return O número de itens com lembretes pendentes.
+     */
+    public synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    // --- Manutenção da agenda (chamada pelo ProjectManager e pelo TaskIndex) ---
+
+    /**
+     * Agenda (ou reagenda) os lembretes de uma tarefa com os seus valores atuais.
+     * Se a data não mudou, nada acontece (um aviso já emitido não é repetido).
+     * @param task A tarefa.
+     */
+    synchronized void schedule(Task task) {
+        scheduleItem(task, task.getDueDate(), Project.isCompleted(task));
+    }
+
+    /**
+     * Agenda (ou reagenda) o lembrete do prazo geral de um projeto.
+     * @param project O projeto.
+     */
+    synchronized void schedule(Project project) {
+        int total = project.getTaskCount();
+        scheduleItem(project, project.getGeneralDeadline(),
+                total > 0 && project.getCompletedTaskCount() == total);
+    }
+
+    /**
+     * Retira da agenda uma tarefa ou um projeto.
+     * @param item A tarefa ou o projeto.
+     */
+    synchronized void cancel(Object item) {
+        Entry entry = entries.remove(item);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Esvazia a agenda (ex: antes de carregar outro arquivo).
+     */
+    synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.prev = null;
+            entry.next = null;
+        }
+        for (Entry[] level : wheel) {
+            for (Entry head : level) {
+                head.prev = head;
+                head.next = head;
+            }
+        }
+        due.prev = due;
+        due.next = due;
+        entries.clear();
+        pendingCount = 0;
+    }
+
+    // --- Métodos auxiliares (chamados com o monitor adquirido) ---
+
+    private void scheduleItem(Object item, LocalDate dueDate, boolean finished) {
+        Entry entry = entries.get(item);
+        if (dueDate == null || finished) {
+            if (entry != null) {
+                entries.remove(item);
+                unlink(entry);
+            }
+            return;
+        }
+
+        long dueDay = dueDate.toEpochDay();
+        if (entry != null && entry.dueDay == dueDay) {
+            return;
+        }
+        if (entry == null) {
+            entry = new Entry(item);
+            entries.put(item, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.dueDay = dueDay;
+        if (dueDay >= currentDay) {
+            entry.stage = STAGE_DUE_SOON;
+            link(entry, dueDay - leadDays);
+        } else {
+            entry.stage = STAGE_OVERDUE;
+            link(entry, dueDay + 1);
+        }
+    }
+
+    /**
+     * Coloca um item na posição do dia em que deve ser avisado: na lista {@link #due} se o
+     * dia já chegou, senão no nível mais baixo da roda em que a distância cabe.
+     */
+    private void link(Entry entry, long fireDay) {
+        entry.fireDay = fireDay;
+        long distance = fireDay - currentDay;
+        Entry head;
+        if (distance <= 0) {
+            head = due;
+        } else if (distance < SLOTS) {
+            head = wheel[0][(int) (fireDay & SLOT_MASK)];
+        } else if (distance < SLOTS * SLOTS) {
+            head = wheel[1][(int) ((fireDay >> SLOT_BITS) & SLOT_MASK)];
+        } else {
+            long capped = Math.min(fireDay, currentDay + MAX_DISTANCE);
+            head = wheel[2][(int) ((capped >> (2 * SLOT_BITS)) & SLOT_MASK)];
+        }
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+        pendingCount++;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.next == null) {
+            return;
+        }
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        pendingCount--;
+    }
+
+    /**
+     * Chamado quando o nível 0 completa uma volta: redistribui a posição atual do nível 1
+     * (e, a cada volta do nível 1, a do nível 2) pelos níveis de baixo. Os itens do próprio
+     * dia vão para a lista {@link #due}.
+     */
+    private void cascade() {
+        long block = currentDay >> SLOT_BITS;
+        if ((block & SLOT_MASK) == 0) {
+            relinkAll(wheel[2][(int) ((block >> SLOT_BITS) & SLOT_MASK)]);
+        }
+        relinkAll(wheel[1][(int) (block & SLOT_MASK)]);
+    }
+
+    private void relinkAll(Entry head) {
+        Entry entry = detachAll(head);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            link(entry, entry.fireDay);
+            entry = next;
+        }
+    }
+
+    /**
+     * Emite os lembretes de uma posição: "vence em breve" passa a aguardar o dia seguinte
+     * ao prazo; "atrasado" encerra o item (que continua no mapa, para não ser avisado de
+     * novo enquanto a data não mudar).
+     */
+    private void fireAll(Entry head, List<ReminderEvent> fired) {
+        Entry entry = detachAll(head);
+        LocalDate today = LocalDate.ofEpochDay(currentDay);
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            if (entry.stage == STAGE_DUE_SOON) {
+                fired.add(entry.toEvent(ReminderKind.DUE_SOON, today));
+                entry.stage = STAGE_OVERDUE;
+                link(entry, entry.dueDay + 1);
+            } else {
+                fired.add(entry.toEvent(ReminderKind.OVERDUE, today));
+                entry.stage = STAGE_DONE;
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Solta todos os itens de uma posição, devolvendo o primeiro; os demais são
+     * alcançados por {@code next} (o último tem {@code next} nulo).
+     */
+    private Entry detachAll(Entry head) {
+        if (head.next == head) {
+            return null;
+        }
+        Entry first = head.next;
+        head.prev.next = null;
+        head.prev = head;
+        head.next = head;
+        for (Entry entry = first; entry != null; entry = entry.next) {
+            pendingCount--;
+        }
+        return first;
+    }
+
+    /**
+     * Executado periodicamente na thread do agendador. Erros são apenas registrados,
+     * para não interromper as próximas verificações.
+     */
+    private void runAdvance() {
+        try {
+            advance();
+        } catch (Exception e) {
+            System.err.println("AVISO: Falha ao verificar lembretes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Um item da agenda: nó de uma lista duplamente ligada (circular, com um nó
+     * "sentinela" por posição da roda), o que permite retirá-lo em O(1).
+     */
+    private static final class Entry {
+        private final Object item;
+        private long dueDay;
+        private long fireDay;
+        private int stage;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(Object item) {
+            this.item = item;
+        }
+
+        private static Entry sentinel() {
+            Entry head = new Entry(null);
+            head.prev = head;
+            head.next = head;
+            return head;
+        }
+
+        private ReminderEvent toEvent(ReminderKind kind, LocalDate today) {
+            LocalDate dueDate = LocalDate.ofEpochDay(dueDay);
+            if (item instanceof Task) {
+                Task task = (Task) item;
+                return new ReminderEvent(kind, task.getOwner(), task, dueDate, today);
+            }
+            return new ReminderEvent(kind, (Project) item, null, dueDate, today);
+        }
+    }
+}
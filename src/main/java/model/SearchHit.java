@@ -0,0 +1,73 @@
+package model;
+
+/**
+ * Um resultado da busca por texto ({@link ProjectManager#search(String, int)}): um projeto
+ * encontrado pelo nome ou uma tarefa encontrada pela descrição.
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class SearchHit {
+
+    private final Project project;
+    private final Task task;
+    private final double score;
+
+    /**
+     * Construtor usado pelo {@link ProjectManager}.
+     * @param project O projeto encontrado, ou o projeto da tarefa encontrada.
+     * @param task A tarefa encontrada, ou {@code null} se o resultado for o próprio projeto.
+     * @param score A pontuação do resultado.
+     */
+    SearchHit(Project project, Task task, double score) {
+        this.project = project;
+        this.task = task;
+        this.score = score;
+    }
+
+    /**
+     * Obtém o projeto do resultado (o próprio projeto encontrado, ou o projeto da tarefa).
+     * @return O {@link Project}.
+     */
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Obtém a tarefa encontrada.
+     * @return A {@link Task}, ou {@code null} se o resultado for um projeto.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * Informa se o resultado é um projeto (encontrado pelo nome) ou uma tarefa.
+     * @return true se for um projeto.
+     */
+    public boolean isProject() {
+        return task == null;
+    }
+
+    /**
+     * Obtém a pontuação do resultado: quanto maior, mais relevante. Cada palavra da busca
+     * soma 1,0 se for encontrada exatamente, menos se for encontrada como prefixo ou com
+     * erros de digitação.
+     * @return A pontuação.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Obtém o texto do resultado para exibição.
+     * @return O nome do projeto, ou a descrição da tarefa seguida do nome do projeto.
+     */
+    @Override
+    public String toString() {
+        if (task == null) {
+            return "[Projeto " + project.getDisplayId() + "] " + project.getName();
+        }
+        return "[Tarefa " + task.getDisplayId() + "] " + task.getDescription() + " (Projeto: " + project.getName() + ")";
+    }
+}
@@ -1,7 +1,18 @@
 package model;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Implementação do DAO que utiliza a Serialização Nativa de Objetos do Java.
@@ -9,13 +20,42 @@ import java.util.ArrayList;
  * Esta classe é responsável por persistir (salvar) e recuperar a lista de projetos
  * diretamente em um arquivo binário no disco.
  * </p>
+ * <p>
+ * Os projetos são gravados um a um (e não como uma única {@link ArrayList}), o que
+ * permite lê-los também um a um com {@link #loadEach}. Arquivos no formato antigo
+ * (a lista inteira serializada) continuam sendo lidos normalmente.
+ * </p>
+ * <p>
+ * O salvamento é seguro contra quedas: os dados são gravados em um arquivo temporário,
+ * forçados para o disco e só então colocados no lugar do arquivo principal com um
+ * {@code move} atômico. A versão anterior é mantida como {@code <arquivo>.bak}. Cada
+ * arquivo termina com um checksum (CRC32); se o arquivo principal estiver corrompido,
+ * a carga usa automaticamente a versão anterior.
+ * </p>
  * @author Manuela Skrsypcsak Kist
  * @version 1.0
  */
 public class SerializedProjectDAO implements IPersistenceDAO {
 
+    /** Marcador gravado no início dos arquivos no formato "um projeto por objeto". */
+    private static final String STREAM_FORMAT = "ProjectManager/stream-1";
+
+    /**
+     * A cada quantos projetos a tabela de referências da serialização é limpa
+     * ({@code reset()}), para que nem a escrita nem a leitura guardem o arquivo inteiro na memória.
+     */
+    private static final int RESET_INTERVAL = 256;
+
+    /** Marcador que encerra o rodapé: checksum (long) seguido deste valor (int). */
+    private static final int TRAILER_MAGIC = 0x504D4352;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final String filename;
 
+    /** Se true, o arquivo principal está corrompido e não deve substituir o backup no próximo salvamento. */
+    private boolean mainFileCorrupted;
+
     /**
      * Construtor da classe.
      * @param filename O caminho ou nome do arquivo a ser utilizado para salvar os dados.
@@ -29,19 +69,55 @@ public class SerializedProjectDAO implements IPersistenceDAO {
      * Salva a lista completa de projetos no arquivo especificado.
      * <p>
      * Este método utiliza o mecanismo de serialização do Java para converter
-     * a lista de objetos (e todos os objetos contidos nela) em uma sequência
-     * de bytes e gravá-los no arquivo.
+     * cada projeto (e todos os objetos contidos nele) em uma sequência
+     * de bytes e gravá-los no arquivo, terminando com um {@code null} e o checksum.
+     * </p>
+     * <p>
+     * A gravação é feita em {@code <arquivo>.tmp}; depois de forçado para o disco,
+     * o arquivo atual vira {@code <arquivo>.bak} e o temporário assume o seu lugar.
+     * Uma queda em qualquer ponto deixa pelo menos uma versão completa no disco.
      * </p>
      * @param projects A lista de {@link Project}s a ser persistida.
      * @throws IOException Se ocorrer qualquer erro de entrada/saída (ex: disco cheio, sem permissão).
      */
     @Override
     public void save(ArrayList<Project> projects) throws IOException {
-        try (FileOutputStream fos = new FileOutputStream(filename);
+        Path file = Paths.get(filename);
+        Path temp = siblingOf(file, ".tmp");
+        Path backup = siblingOf(file, ".bak");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            BufferedOutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            ObjectOutputStream oos = new ObjectOutputStream(new CheckedOutputStream(buffered, crc));
+            oos.writeObject(STREAM_FORMAT);
 
-             ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-             oos.writeObject(projects);
+            int written = 0;
+            for (Project project : projects) {
+                oos.writeObject(project);
+                if (++written % RESET_INTERVAL == 0) {
+                    oos.reset();
+                }
+            }
+            oos.writeObject(null);
+            oos.flush();
+
+            // O rodapé fica fora do checksum.
+            DataOutputStream trailer = new DataOutputStream(buffered);
+            trailer.writeLong(crc.getValue());
+            trailer.writeInt(TRAILER_MAGIC);
+            trailer.flush();
+
+            channel.force(true);
+        }
+
+        if (Files.exists(file) && !mainFileCorrupted) {
+            Files.move(file, backup, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        mainFileCorrupted = false;
+        forceDirectory(file);
     }
 
     /**
@@ -52,8 +128,7 @@ public class SerializedProjectDAO implements IPersistenceDAO {
      * </p>
      * <p>
      * Se o arquivo não for encontrado (o que é comum na primeira execução do programa),
-     * o método captura a exceção {@link FileNotFoundException} e retorna uma nova lista vazia,
-     * permitindo que o programa inicie sem erros.
+     * o método retorna uma nova lista vazia, permitindo que o programa inicie sem erros.
      * </p>
      * @return A {@link ArrayList} de {@link Project}s recuperada do arquivo,
      * ou uma lista vazia se o arquivo não existir.
@@ -63,13 +138,157 @@ public class SerializedProjectDAO implements IPersistenceDAO {
      */
     @Override
     public ArrayList<Project> load() throws IOException, ClassNotFoundException {
-        try (FileInputStream fis = new FileInputStream(filename);
-             ObjectInputStream ois = new ObjectInputStream(fis)) {
+        ArrayList<Project> projects = new ArrayList<>();
+        loadEach(projects::add);
+        return projects;
+    }
+
+    /**
+     * Lê os projetos do arquivo um a um, entregando cada um ao {@code consumer}
+     * assim que é desserializado.
+     * <p>
+     * O checksum é conferido ANTES de qualquer projeto ser entregue. Se o arquivo
+     * principal estiver corrompido (ou faltar, por uma queda no meio do salvamento),
+     * a versão anterior ({@code <arquivo>.bak}) é usada no lugar, com um aviso.
+     * Se nenhum dos dois existir, nenhum projeto é entregue.
+     * </p>
+     * @param consumer Quem recebe cada projeto lido.
+     * @throws IOException Se ocorrer um erro geral de leitura, ou se nem o arquivo
+     * nem a sua versão anterior puderem ser lidos.
+     * @throws ClassNotFoundException Se a classe dos objetos salvos não for encontrada.
+     * @throws ClassCastException Se o arquivo não contiver projetos.
+     */
+    @Override
+    public void loadEach(Consumer<? super Project> consumer) throws IOException, ClassNotFoundException {
+        Path file = Paths.get(filename);
+        Path backup = siblingOf(file, ".bak");
+        boolean hasBackup = Files.exists(backup);
+
+        if (Files.exists(file)) {
+            Boolean checksumOk = verifyChecksum(file);
 
-            return (ArrayList<Project>) ois.readObject();
+            if (checksumOk == Boolean.TRUE || (checksumOk == null && !hasBackup)) {
+                readProjects(file, consumer);
+                return;
+            }
+            if (checksumOk == null) {
+                // Sem rodapé (formato antigo ou gravação interrompida) e com uma versão anterior
+                // para recorrer: lê tudo antes de entregar, para poder desistir no meio.
+                try {
+                    ArrayList<Project> projects = new ArrayList<>();
+                    readProjects(file, projects::add);
+                    projects.forEach(consumer);
+                    return;
+                } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                    // Cai para a versão anterior, abaixo.
+                }
+            }
+            System.err.println("AVISO: O arquivo " + file + " está corrompido. Carregando a versão anterior ("
+                    + backup.getFileName() + ").");
+            mainFileCorrupted = true;
+        } else if (hasBackup) {
+            System.err.println("AVISO: O arquivo " + file + " não existe. Carregando a versão anterior ("
+                    + backup.getFileName() + ").");
+        } else {
+            // Primeira execução: nenhum projeto a carregar.
+            return;
+        }
 
-        } catch (FileNotFoundException e) {
-            return new ArrayList<>();
+        if (verifyChecksum(backup) == Boolean.FALSE) {
+            throw new IOException("O arquivo " + file + " e a sua versão anterior estão corrompidos.");
         }
+        readProjects(backup, consumer);
+    }
+
+    /**
+     * Desserializa os projetos de um arquivo (no formato antigo ou no formato de fluxo).
+     */
+    private static void readProjects(Path path, Consumer<? super Project> consumer)
+            throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE))) {
+
+            Object first = ois.readObject();
+
+            if (first instanceof ArrayList<?> legacyList) {
+                // Formato antigo: a lista inteira foi serializada de uma só vez.
+                for (Object project : legacyList) {
+                    consumer.accept((Project) project);
+                }
+                return;
+            }
+
+            if (!STREAM_FORMAT.equals(first)) {
+                throw new ClassCastException("O arquivo não contém uma lista de projetos.");
+            }
+
+            Object next;
+            while ((next = ois.readObject()) != null) {
+                consumer.accept((Project) next);
+            }
+        }
+    }
+
+    /**
+     * Confere o checksum gravado no rodapé do arquivo.
+     * @return true se conferir, false se não conferir, ou {@code null} se o arquivo
+     * não tiver rodapé (formato antigo ou gravação interrompida).
+     */
+    private static Boolean verifyChecksum(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer, size - TRAILER_SIZE + trailer.position()) < 0) {
+                    return null;
+                }
+            }
+            trailer.flip();
+            long expected = trailer.getLong();
+            if (trailer.getInt() != TRAILER_MAGIC) {
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = 0;
+            long dataSize = size - TRAILER_SIZE;
+            while (position < dataSize) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, dataSize - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    return false;
+                }
+                buffer.flip();
+                crc.update(buffer);
+                position += read;
+            }
+            return crc.getValue() == expected;
+        }
+    }
+
+    /**
+     * Força para o disco a entrada do diretório (o resultado dos {@code move}s).
+     * Nem todo sistema operacional permite abrir um diretório; nesse caso, ignora.
+     */
+    private static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Não suportado (ex: Windows): o move atômico já garante a consistência.
+        }
+    }
+
+    private static Path siblingOf(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,8 @@ import java.io.Serializable;
  */
 public class SimpleTask extends Task implements Serializable {
 
+    private static final long serialVersionUID = -7139193806856061820L;
+
     /**
      * Construtor para criar uma nova Tarefa Simples.
      * @param id A identificação única da tarefa.
@@ -23,7 +25,7 @@ public class SimpleTask extends Task implements Serializable {
      * @param priority A prioridade da tarefa (deve ser entre 1-5).
      * @throws IllegalArgumentException Se a descrição ou prioridade forem inválidas (lançada pelo construtor da superclasse).
      */
-    public SimpleTask(String id, String description, int priority) throws IllegalArgumentException {
+    public SimpleTask(long id, String description, int priority) throws IllegalArgumentException {
         super(id, description, priority);
     }
 
@@ -57,4 +59,12 @@ public class SimpleTask extends Task implements Serializable {
         };
     }
 
+    /**
+     * Retorna o tipo desta tarefa.
+     * @return {@code TaskType.SIMPLE}
+     */
+    @Override
+    public TaskType getType() {
+        return TaskType.SIMPLE;
+    }
 }
@@ -1,6 +1,12 @@
 package model;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.time.LocalDate;
 
 /**
  * Classe abstrata que representa uma unidade de trabalho genérica (Tarefa).
@@ -14,12 +20,29 @@ import java.io.Serializable;
  * @author Manuela Skrsypcsak Kist
  * @version 1.0
  */
-public abstract class Task implements Serializable {
+public abstract class Task implements Serializable, ITaskSortKey {
 
-    private String id;
+    private static final long serialVersionUID = 2181776162127956856L;
+
+    /**
+     * Campos gravados pela serialização nativa. O ID continua sendo gravado como String,
+     * como nas versões anteriores, para que os arquivos antigos continuem legíveis.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("id", String.class),
+            new ObjectStreamField("description", String.class),
+            new ObjectStreamField("priority", int.class),
+            new ObjectStreamField("status", Status.class)
+    };
+
+    private long id;
     private String description;
     private int priority;
     protected Status status;
+    private transient Project owner;
+    private transient long version;
+    /** Posição da tarefa na árvore de retratos do projeto dono. */
+    private transient long snapshotKey;
 
     /**
      * Construtor para uma nova Task.
@@ -30,9 +53,9 @@ public abstract class Task implements Serializable {
      * @param priority A prioridade (deve ser entre 1-5, senão assume 1).
      * @throws IllegalArgumentException Se a descrição ou prioridade forem inválidas.
      */
-    public Task(String id, String description, int priority) throws IllegalArgumentException {
-        if (AppUtils.isStringNullOrEmpty(id)) {
-            throw new IllegalArgumentException("O ID não pode ser nulo ou vazio.");
+    public Task(long id, String description, int priority) throws IllegalArgumentException {
+        if (!AppUtils.isValidId(id)) {
+            throw new IllegalArgumentException("O ID da tarefa deve ser um número positivo. Recebido: " + id);
         }
         this.id = id;
         this.setDescription(description);
@@ -44,12 +67,20 @@ public abstract class Task implements Serializable {
 
     /**
      * Obtém o ID único da tarefa.
-     * @return A String do ID.
+     * @return O número do ID.
      */
-    public String getId() {
+    public long getId() {
         return id;
     }
 
+    /**
+     * Obtém o ID da tarefa formatado para exibição.
+     * @return A String do ID.
+     */
+    public String getDisplayId() {
+        return Long.toString(id);
+    }
+
     /**
      * Obtém a descrição da tarefa.
      * @return A String da descrição.
@@ -74,14 +105,26 @@ public abstract class Task implements Serializable {
         return status;
     }
 
+    /**
+     * Obtém a data em que a tarefa vence, usada pelos índices de busca por data.
+     * Tarefas sem data (como a {@link SimpleTask}) retornam {@code null}; as subclasses
+     * com data sobrescrevem este método.
+     * @return O {@link LocalDate} de vencimento, ou {@code null} se a tarefa não tiver data.
+     */
+    public LocalDate getDueDate() {
+        return null;
+    }
+
     // --- SETTERS ---
 
     /**
-     * Define o ID do projeto (chamado somente para evitar duplicatas entre os IDs na serialização)
-     * @param id O novo ID para o projeto.
+     * Define o ID da tarefa (chamado somente para evitar duplicatas entre os IDs na serialização)
+     * @param id O novo ID para a tarefa.
      */
-    public void setId(String id) {
+    public void setId(long id) {
+        this.beforeChange();
         this.id = id;
+        this.markChanged();
     }
 
     /**
@@ -93,7 +136,9 @@ public abstract class Task implements Serializable {
         if (AppUtils.isInvalidLength(description, 100)) {
             throw new IllegalArgumentException("A descrição da tarefa não pode ser nula, vazia ou maior que 100 caracteres.");
         }
+        this.beforeChange();
         this.description = description;
+        this.markChanged();
     }
 
     /**
@@ -105,7 +150,9 @@ public abstract class Task implements Serializable {
         if (!AppUtils.isValidPriority(priority)) {
             throw new IllegalArgumentException("Prioridade inválida. Deve ser entre 1 e 5. Recebido: " + priority);
         }
+        this.beforeChange();
         this.priority = priority;
+        this.markChanged();
     }
 
     /**
@@ -122,7 +169,9 @@ public abstract class Task implements Serializable {
                 status == Status.EM_PROGRESSO ||
                 status == Status.CONCLUIDO)
         {
+            this.beforeChange();
             this.status = status;
+            this.markChanged();
         } else {
             throw new IllegalArgumentException(
                     "Status inválido para este tipo de tarefa. Status permitidos: A_FAZER, EM_PROGRESSO, CONCLUIDO."
@@ -130,6 +179,103 @@ public abstract class Task implements Serializable {
         }
     }
 
+    // --- Controle de Versão (Dirty Tracking) ---
+
+    /**
+     * Obtém a versão atual da tarefa, que muda a cada alteração feita pelos setters.
+     * @return Um número que nunca se repete entre alterações diferentes.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Avisa o projeto ao qual a tarefa pertence de que ela vai ser alterada, para que
+     * ele a retire do índice e dos contadores de progresso com os valores antigos.
+     * Deve ser chamado por todo setter, inclusive os das subclasses, depois da validação
+     * e imediatamente antes da atribuição (sempre em par com {@link #markChanged()}).
+     */
+    protected void beforeChange() {
+        if (this.owner != null) {
+            this.owner.beforeTaskChange(this);
+        }
+    }
+
+    /**
+     * Marca a tarefa (e o projeto ao qual ela pertence) como alterada, devolvendo-a
+     * ao índice e aos contadores do projeto com os valores novos.
+     * Deve ser chamado por todo setter, inclusive os das subclasses.
+     */
+    protected void markChanged() {
+        this.version = Project.nextVersion();
+        if (this.owner != null) {
+            this.owner.afterTaskChange(this);
+        }
+    }
+
+    /**
+     * Define o projeto que contém esta tarefa. Chamado pelo próprio {@link Project}
+     * ao adicionar ({@code addTask}) ou remover ({@code removeTask}) a tarefa.
+     * @param owner O projeto dono, ou {@code null} se a tarefa foi removida.
+     */
+    void setOwner(Project owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Obtém o projeto que contém esta tarefa.
+     * @return O projeto dono, ou {@code null} se a tarefa não pertence a nenhum projeto.
+     */
+    Project getOwner() {
+        return owner;
+    }
+
+    /**
+     * Obtém a chave da tarefa na árvore de retratos ({@link TaskSnapshot}) do projeto dono.
+     * @return A chave definida pelo projeto.
+     */
+    long getSnapshotKey() {
+        return snapshotKey;
+    }
+
+    /**
+     * Define a chave da tarefa na árvore de retratos do projeto dono. Chamado pelo {@link Project}.
+     * @param snapshotKey A nova chave.
+     */
+    void setSnapshotKey(long snapshotKey) {
+        this.snapshotKey = snapshotKey;
+    }
+
+    // --- Serialização ---
+
+    /**
+     * Grava os campos da tarefa, com o ID convertido para String (ver {@link #serialPersistentFields}).
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("id", Long.toString(this.id));
+        fields.put("description", this.description);
+        fields.put("priority", this.priority);
+        fields.put("status", this.status);
+        out.writeFields();
+    }
+
+    /**
+     * Lê os campos da tarefa, convertendo o ID gravado como String para número.
+     * @throws InvalidObjectException Se o ID gravado não for um número positivo.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        String savedId = (String) fields.get("id", null);
+        this.id = AppUtils.parseId(savedId);
+        if (!AppUtils.isValidId(this.id)) {
+            throw new InvalidObjectException("ID de tarefa inválido no arquivo: " + savedId);
+        }
+        this.description = (String) fields.get("description", null);
+        this.priority = fields.get("priority", 0);
+        this.status = (Status) fields.get("status", null);
+    }
+
     // --- MÉTODOS ABSTRATOS ---
 
     /**
@@ -145,4 +291,12 @@ public abstract class Task implements Serializable {
      * @return Um array de Status válidos (ex: [A_FAZER, EM_PROGRESSO, CONCLUIDO]).
      */
     public abstract Status[] getValidStatuses();
+
+    /**
+     * Retorna o tipo ({@link TaskType}) desta tarefa.
+     * Usado pelas estratégias de persistência para identificar a subclasse
+     * sem precisar de uma cadeia de {@code instanceof}.
+     * @return O valor do enum {@link TaskType} correspondente à subclasse.
+     */
+    public abstract TaskType getType();
 }
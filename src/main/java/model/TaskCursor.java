@@ -0,0 +1,114 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição em que uma busca paginada parou: a ordenação usada e os valores de ordenação
+ * da última tarefa entregue.
+ * <p>
+ * A página seguinte começa na primeira tarefa que vem DEPOIS dessa posição. Como a posição
+ * guarda valores (e não um número de linha), tarefas criadas, alteradas ou excluídas entre
+ * uma página e outra não fazem a busca repetir nem pular as demais tarefas.
+ * </p>
+ * <p>
+ * Para quem usa o {@link ProjectManager}, o cursor é apenas um texto opaco
+ * ({@link TaskPage#getNextCursor()}).
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class TaskCursor implements ITaskSortKey {
+
+    private static final String SEPARATOR = ";";
+    private static final String NO_DATE = "-";
+
+    private final TaskSort sort;
+    private final long id;
+    private final String description;
+    private final int priority;
+    private final LocalDate dueDate;
+
+    private TaskCursor(TaskSort sort, long id, String description, int priority, LocalDate dueDate) {
+        this.sort = sort;
+        this.id = id;
+        this.description = description;
+        this.priority = priority;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * Cria o cursor que aponta para logo depois de uma tarefa.
+     * @param sort A ordenação da busca.
+     * @param last A última tarefa da página.
+     * @return O cursor.
+     */
+    static TaskCursor after(TaskSort sort, Task last) {
+        return new TaskCursor(sort, last.getId(), last.getDescription(), last.getPriority(), last.getDueDate());
+    }
+
+    /**
+     * Converte o cursor no texto entregue a quem faz a busca.
+     * @return O texto do cursor.
+     */
+    String encode() {
+        String text = sort.name() + SEPARATOR + id + SEPARATOR + priority + SEPARATOR
+                + (dueDate == null ? NO_DATE : Long.toString(dueDate.toEpochDay())) + SEPARATOR
+                + description;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor a partir do seu texto ({@link #encode()}).
+     * @param text O texto do cursor.
+     * @return O cursor.
+     * @throws IllegalArgumentException Se o texto não for um cursor válido.
+     */
+    static TaskCursor decode(String text) throws IllegalArgumentException {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(text), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, 5);
+            if (parts.length != 5) {
+                throw new IllegalArgumentException("faltam campos");
+            }
+            LocalDate dueDate = NO_DATE.equals(parts[3]) ? null : LocalDate.ofEpochDay(Long.parseLong(parts[3]));
+            return new TaskCursor(TaskSort.valueOf(parts[0]), Long.parseLong(parts[1]), parts[4],
+                    Integer.parseInt(parts[2]), dueDate);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + text, e);
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Obtém a ordenação da busca que gerou o cursor.
+     * @return O valor do enum {@link TaskSort}.
+     */
+    TaskSort getSort() {
+        return sort;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+}
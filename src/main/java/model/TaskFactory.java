@@ -12,32 +12,71 @@ import java.util.Map;
 public class TaskFactory {
 
     /**
-     * Cria uma instância de uma subclasse de Task.
+     * Cria uma instância de uma subclasse de Task a partir de dados com tipos definidos.
+     * @param id O ID único (gerado pelo ProjectManager).
+     * @param spec Os dados da tarefa (tipo, descrição, prioridade e data).
+     * @return A instância da Task concreta.
+     * @throws IllegalArgumentException Se os dados forem nulos ou inválidos.
+     */
+    public Task createTask(long id, TaskSpec spec) {
+        if (spec == null) {
+            throw new IllegalArgumentException("Os dados da tarefa não podem ser nulos.");
+        }
+
+        switch (spec.getType()) {
+            case SIMPLE:
+                return new SimpleTask(id, spec.getDescription(), spec.getPriority());
+
+            case DEADLINE:
+                return new DeadlineTask(id, spec.getDescription(), spec.getPriority(), spec.getDate());
+
+            case MILESTONE:
+                return new Milestone(id, spec.getDescription(), spec.getPriority(), spec.getDate());
+
+            default:
+                throw new IllegalArgumentException("Tipo de tarefa desconhecido: " + spec.getType());
+        }
+    }
+
+    /**
+     * Cria uma instância de uma subclasse de Task a partir de um "mapa" de dados.
+     * Mantido por compatibilidade: converte o mapa com {@link #toSpec} e usa
+     * {@link #createTask(long, TaskSpec)}.
      * @param id O ID único (gerado pelo ProjectManager).
      * @param type O tipo de tarefa a ser criada (SIMPLE, DEADLINE, etc.).
      * @param data Um "mapa" contendo todos os dados necessários.
      * @return A instância da Task concreta.
      * @throws IllegalArgumentException Se dados essenciais estiverem faltando ou forem inválidos.
      */
-    public Task createTask(String id, TaskType type, Map<String, Object> data) {
+    public Task createTask(long id, TaskType type, Map<String, Object> data) {
+        return createTask(id, toSpec(type, data));
+    }
+
+    /**
+     * Converte um "mapa" de dados (chaves "description", "priority", "deadline" e
+     * "milestoneDate") nos dados com tipos definidos.
+     * @param type O tipo de tarefa.
+     * @param data O "mapa" de dados vindo da View.
+     * @return Os dados da tarefa.
+     * @throws IllegalArgumentException Se o tipo for nulo.
+     */
+    public TaskSpec toSpec(TaskType type, Map<String, Object> data) {
+        if (type == null) {
+            throw new IllegalArgumentException("Tipo de tarefa desconhecido: " + type);
+        }
 
         String description = (String) data.get("description");
         int priority = (int) data.get("priority");
 
         switch (type) {
-            case SIMPLE:
-                return new SimpleTask(id, description, priority);
-
             case DEADLINE:
-                LocalDate deadline = (LocalDate) data.get("deadline");
-                return new DeadlineTask(id, description, priority, deadline);
+                return TaskSpec.deadline(description, priority, (LocalDate) data.get("deadline"));
 
             case MILESTONE:
-                LocalDate date = (LocalDate) data.get("milestoneDate");
-                return new Milestone(id, description, priority, date);
+                return TaskSpec.milestone(description, priority, (LocalDate) data.get("milestoneDate"));
 
             default:
-                throw new IllegalArgumentException("Tipo de tarefa desconhecido: " + type);
+                return TaskSpec.simple(description, priority);
         }
     }
-}
\ No newline at end of file
+}
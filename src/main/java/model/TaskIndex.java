@@ -0,0 +1,473 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índices secundários das tarefas de todos os projetos: por status, por prioridade,
+ * por data de vencimento e pelas palavras da descrição ({@link TextIndex}).
+ * <p>
+ * Mantidos pelos próprios projetos: ao adicionar, remover ou alterar (por um setter)
+ * uma tarefa, o {@link Project} retira a tarefa dos índices com os valores antigos e a
+ * coloca de volta com os novos. Assim, uma busca como "tarefas EM_PROGRESSO com
+ * prioridade 4 ou mais que vencem nesta semana" não precisa percorrer todas as tarefas.
+ * </p>
+ * <p>
+ * As datas ficam em um {@link TreeMap}: buscar por um intervalo de datas custa
+ * O(log n) mais a quantidade de tarefas encontradas. Tarefas sem data
+ * ({@link Task#getDueDate()} nulo) aparecem apenas nos índices de status e prioridade.
+ * </p>
+ * <p>
+ * Os índices são compartilhados por todos os projetos de um {@link ProjectManager},
+ * que podem ser alterados por threads diferentes; por isso, todos os métodos são sincronizados.
+ * </p>
+ * <p>
+ * Como já acompanham toda inclusão, alteração e remoção de tarefas, os índices também
+ * mantêm a agenda de lembretes de prazo do manager ({@link ReminderScheduler}), se houver.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class TaskIndex {
+
+    private static final int MAX_PRIORITY = 5;
+    /**
+     * Um índice ordenado (por data ou prioridade) só deixa de ser usado se outro critério
+     * reduzir as candidatas a menos de 1/8 das dele.
+     */
+    private static final int ORDERED_SOURCE_ADVANTAGE = 8;
+
+    private final Map<Status, Set<Task>> byStatus = new EnumMap<>(Status.class);
+    /** Uma "gaveta" por prioridade (posições 1 a 5; a posição 0 guarda prioridades fora da faixa). */
+    private final List<Set<Task>> byPriority = new ArrayList<>();
+    private final NavigableMap<LocalDate, Set<Task>> byDueDate = new TreeMap<>();
+    private final TextIndex<Task> byWord = new TextIndex<>(Task::getId);
+    private ReminderScheduler reminders;
+
+    /**
+     * Construtor da classe. Cria os índices vazios.
+     */
+    TaskIndex() {
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LinkedHashSet<>());
+        }
+        for (int priority = 0; priority <= MAX_PRIORITY; priority++) {
+            byPriority.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Inclui uma tarefa nos índices, com os seus valores atuais, e agenda os seus lembretes.
+     * @param task A tarefa a ser incluída.
+     */
+    synchronized void add(Task task) {
+        index(task);
+        if (reminders != null) {
+            reminders.schedule(task);
+        }
+    }
+
+    /**
+     * Retira uma tarefa dos índices e cancela os seus lembretes. Deve ser chamado ANTES de
+     * a tarefa ser alterada, pois ela é procurada pelos seus valores atuais.
+     * @param task A tarefa a ser retirada.
+     */
+    synchronized void remove(Task task) {
+        unindex(task);
+        if (reminders != null) {
+            reminders.cancel(task);
+        }
+    }
+
+    /**
+     * Retira dos índices uma tarefa que vai ser alterada por um setter (a tarefa continua
+     * no projeto, então os seus lembretes são mantidos até {@link #afterChange}).
+     * @param task A tarefa, ainda com os valores antigos.
+     */
+    synchronized void beforeChange(Task task) {
+        unindex(task);
+    }
+
+    /**
+     * Devolve aos índices uma tarefa alterada por um setter e reagenda os seus lembretes
+     * (só muda algo na agenda se a data ou a finalização tiverem mudado).
+     * @param task A tarefa, já com os valores novos.
+     */
+    synchronized void afterChange(Task task) {
+        add(task);
+    }
+
+    /**
+     * Liga os índices a uma agenda de lembretes, que passa a acompanhar as tarefas
+     * incluídas, alteradas e retiradas daqui em diante.
+     * @param reminders A agenda, ou {@code null} para não agendar lembretes.
+     */
+    synchronized void setReminders(ReminderScheduler reminders) {
+        this.reminders = reminders;
+    }
+
+    /**
+     * Esvazia todos os índices.
+     */
+    synchronized void clear() {
+        for (Set<Task> tasks : byStatus.values()) {
+            tasks.clear();
+        }
+        for (Set<Task> tasks : byPriority) {
+            tasks.clear();
+        }
+        byDueDate.clear();
+        byWord.clear();
+    }
+
+    /**
+     * Busca as tarefas cuja descrição contém todas as palavras de um texto (sem diferenciar
+     * acentos e maiúsculas, aceitando prefixos e pequenos erros de digitação), das mais
+     * relevantes para as menos relevantes. Ver {@link TextIndex#search}.
+     * @param text O texto da busca.
+     * @param limit O número máximo de tarefas.
+     * @return As tarefas encontradas, com as suas pontuações.
+     */
+    synchronized List<TextIndex.Match<Task>> search(String text, int limit) {
+        return byWord.search(text, limit);
+    }
+
+    /**
+     * Busca as tarefas que atendem a TODOS os critérios informados. Critérios nulos
+     * (ou {@code minPriority} menor que 1) são ignorados.
+     * <p>
+     * Se houver um intervalo de datas, a busca parte do índice de datas (e o resultado
+     * vem ordenado por data); caso contrário, parte do menor entre o índice de status e
+     * o de prioridade. Os demais critérios são conferidos só nas tarefas candidatas.
+     * </p>
+     * @param status O status desejado, ou {@code null} para qualquer status.
+     * @param minPriority A prioridade mínima (inclusive), ou 0 para qualquer prioridade.
+     * @param from A primeira data de vencimento (inclusive), ou {@code null} para não limitar.
+     * @param to A última data de vencimento (inclusive), ou {@code null} para não limitar.
+     * @return As tarefas encontradas.
+     */
+    synchronized List<Task> find(Status status, int minPriority, LocalDate from, LocalDate to) {
+        List<Task> found = new ArrayList<>();
+
+        if (from != null || to != null) {
+            NavigableMap<LocalDate, Set<Task>> range = byDueDate;
+            if (from != null && to != null) {
+                if (from.isAfter(to)) {
+                    return found;
+                }
+                range = byDueDate.subMap(from, true, to, true);
+            } else if (from != null) {
+                range = byDueDate.tailMap(from, true);
+            } else {
+                range = byDueDate.headMap(to, true);
+            }
+            for (Set<Task> sameDate : range.values()) {
+                collect(sameDate, status, minPriority, found);
+            }
+            return found;
+        }
+
+        int firstBucket = Math.max(1, minPriority);
+        int priorityCount = 0;
+        for (int priority = firstBucket; priority <= MAX_PRIORITY; priority++) {
+            priorityCount += byPriority.get(priority).size();
+        }
+
+        if (status != null && byStatus.get(status).size() <= priorityCount) {
+            collect(byStatus.get(status), null, minPriority, found);
+        } else {
+            if (minPriority < 1) {
+                collect(byPriority.get(0), status, minPriority, found);
+            }
+            for (int priority = firstBucket; priority <= MAX_PRIORITY; priority++) {
+                collect(byPriority.get(priority), status, minPriority, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Monta os itens da agenda ({@link CalendarEntry}) das tarefas que vencem em um
+     * intervalo de datas, ordenados por data. Percorre apenas a faixa pedida do índice
+     * de datas, sem conferir outros critérios: custa O(log n) mais a quantidade de tarefas
+     * encontradas. A data e o projeto de cada item são lidos junto com o índice.
+     * @param from A primeira data (inclusive).
+     * @param to A última data (inclusive; não pode ser anterior a {@code from}).
+     * @return Os itens das tarefas do intervalo.
+     */
+    synchronized List<CalendarEntry> calendar(LocalDate from, LocalDate to) {
+        List<CalendarEntry> entries = new ArrayList<>();
+        for (Map.Entry<LocalDate, Set<Task>> sameDate : byDueDate.subMap(from, true, to, true).entrySet()) {
+            for (Task task : sameDate.getValue()) {
+                entries.add(new CalendarEntry(sameDate.getKey(), task.getOwner(), task));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Busca uma página do resultado de uma {@link TaskQuery}: as primeiras {@code limit}
+     * tarefas, na ordem da busca, que vêm depois do cursor.
+     * <p>
+     * As candidatas vêm de um índice, como em {@link #find}: do índice de datas se houver
+     * um intervalo de datas; senão, do menor entre o índice de status, o de prioridade e
+     * as tarefas do projeto (se a busca for de um só projeto). Quando a ordenação é por
+     * data ou por prioridade, o índice correspondente é percorrido em ordem e a busca para
+     * assim que a página estiver completa; nas demais, as candidatas passam por uma fila
+     * de prioridade limitada ao tamanho da página. Em nenhum caso o resultado inteiro é montado.
+     * </p>
+     * @param query A busca.
+     * @param after O cursor da página anterior, ou {@code null} para a primeira página.
+     * @param limit O número máximo de tarefas da página.
+     * @param projectTasks As tarefas do projeto, se a busca for de um só projeto; senão {@code null}.
+     * @return Até {@code limit + 1} tarefas, ordenadas; a tarefa a mais indica que há outra página.
+     */
+    synchronized List<Task> page(TaskQuery query, TaskCursor after, int limit, Collection<Task> projectTasks) {
+        TaskSort sort = query.getSort();
+        PageCollector page = new PageCollector(query, after, limit + 1);
+
+        if (query.hasDateRange()) {
+            for (Set<Task> sameDate : dateRange(query.getDueFrom(), query.getDueTo(), sort, after).values()) {
+                page.offerAll(sameDate);
+                if (sort == TaskSort.DUE_DATE && page.isFull()) {
+                    break;
+                }
+            }
+            return page.toList();
+        }
+
+        int minBucket = Math.max(1, query.getMinPriority());
+        int maxBucket = Math.min(MAX_PRIORITY, query.getMaxPriority());
+        boolean outOfRange = query.getMinPriority() < 1 || query.getMaxPriority() > MAX_PRIORITY;
+        int priorityCount = outOfRange ? byPriority.get(0).size() : 0;
+        for (int priority = minBucket; priority <= maxBucket; priority++) {
+            priorityCount += byPriority.get(priority).size();
+        }
+
+        Collection<? extends Collection<Task>> smallest = null;
+        int smallestCount = priorityCount;
+        if (query.getStatuses() != null) {
+            List<Set<Task>> sets = new ArrayList<>();
+            int statusCount = 0;
+            for (Status status : query.getStatuses()) {
+                sets.add(byStatus.get(status));
+                statusCount += byStatus.get(status).size();
+            }
+            if (statusCount < smallestCount) {
+                smallest = sets;
+                smallestCount = statusCount;
+            }
+        }
+        if (projectTasks != null && projectTasks.size() < smallestCount) {
+            smallest = List.of(projectTasks);
+            smallestCount = projectTasks.size();
+        }
+
+        if (sort == TaskSort.DUE_DATE
+                && (long) smallestCount * ORDERED_SOURCE_ADVANTAGE >= this.size()) {
+            for (Set<Task> sameDate : dateRange(null, null, sort, after).values()) {
+                page.offerAll(sameDate);
+                if (page.isFull()) {
+                    return page.toList();
+                }
+            }
+            // Por último, as tarefas sem data (as com data já foram vistas acima).
+            for (Collection<Task> candidates : smallest != null ? smallest : prioritySets(query)) {
+                for (Task task : candidates) {
+                    if (task.getDueDate() == null) {
+                        page.offer(task);
+                    }
+                }
+            }
+            return page.toList();
+        }
+
+        if (sort == TaskSort.PRIORITY && (smallest == null
+                || (long) smallestCount * ORDERED_SOURCE_ADVANTAGE >= priorityCount)) {
+            if (outOfRange) {
+                page.offerAll(byPriority.get(0));
+            }
+            int first = after == null ? maxBucket : Math.min(maxBucket, after.getPriority());
+            for (int priority = first; priority >= minBucket; priority--) {
+                page.offerAll(byPriority.get(priority));
+                // As gavetas seguintes só têm prioridades menores que a da pior tarefa da página.
+                if (page.isFull() && page.worst().getPriority() >= priority) {
+                    break;
+                }
+            }
+            return page.toList();
+        }
+
+        for (Collection<Task> candidates : smallest != null ? smallest : prioritySets(query)) {
+            page.offerAll(candidates);
+        }
+        return page.toList();
+    }
+
+    /**
+     * Obtém a quantidade de tarefas nos índices.
+     * @return O número de tarefas.
+     */
+    synchronized int size() {
+        int count = 0;
+        for (Set<Task> tasks : byPriority) {
+            count += tasks.size();
+        }
+        return count;
+    }
+
+    /**
+     * Obtém as gavetas de prioridade que podem ter tarefas dentro da faixa da busca.
+     */
+    private List<Set<Task>> prioritySets(TaskQuery query) {
+        List<Set<Task>> sets = new ArrayList<>();
+        if (query.getMinPriority() < 1 || query.getMaxPriority() > MAX_PRIORITY) {
+            sets.add(byPriority.get(0));
+        }
+        for (int priority = Math.max(1, query.getMinPriority());
+             priority <= Math.min(MAX_PRIORITY, query.getMaxPriority()); priority++) {
+            sets.add(byPriority.get(priority));
+        }
+        return sets;
+    }
+
+    /**
+     * Obtém o trecho do índice de datas entre {@code from} e {@code to} (ambos opcionais).
+     * Se a busca é ordenada por data e continua de um cursor, as datas anteriores à do
+     * cursor são puladas.
+     */
+    private NavigableMap<LocalDate, Set<Task>> dateRange(LocalDate from, LocalDate to, TaskSort sort,
+                                                         TaskCursor after) {
+        if (sort == TaskSort.DUE_DATE && after != null) {
+            if (after.getDueDate() == null) {
+                // O cursor já está nas tarefas sem data: nenhuma data resta.
+                return new TreeMap<>();
+            }
+            if (from == null || after.getDueDate().isAfter(from)) {
+                from = after.getDueDate();
+            }
+        }
+        if (from != null && to != null) {
+            return from.isAfter(to) ? new TreeMap<>() : byDueDate.subMap(from, true, to, true);
+        } else if (from != null) {
+            return byDueDate.tailMap(from, true);
+        } else if (to != null) {
+            return byDueDate.headMap(to, true);
+        }
+        return byDueDate;
+    }
+
+    /**
+     * Guarda as melhores tarefas vistas até agora (no máximo {@code capacity}), na ordem
+     * de uma busca e depois de um cursor. A pior fica no topo da fila, para ser trocada
+     * quando aparecer uma melhor.
+     */
+    private static final class PageCollector {
+
+        private final TaskQuery query;
+        private final TaskSort sort;
+        private final TaskCursor after;
+        private final int capacity;
+        private final PriorityQueue<Task> best;
+
+        PageCollector(TaskQuery query, TaskCursor after, int capacity) {
+            this.query = query;
+            this.sort = query.getSort();
+            this.after = after;
+            this.capacity = capacity;
+            this.best = new PriorityQueue<>(Math.min(capacity, 1024), (a, b) -> sort.compare(b, a));
+        }
+
+        void offerAll(Collection<Task> candidates) {
+            for (Task task : candidates) {
+                this.offer(task);
+            }
+        }
+
+        void offer(Task task) {
+            if (!query.matches(task) || (after != null && sort.compare(task, after) <= 0)) {
+                return;
+            }
+            if (best.size() < capacity) {
+                best.add(task);
+            } else if (sort.compare(task, best.peek()) < 0) {
+                best.poll();
+                best.add(task);
+            }
+        }
+
+        boolean isFull() {
+            return best.size() >= capacity;
+        }
+
+        Task worst() {
+            return best.peek();
+        }
+
+        List<Task> toList() {
+            List<Task> list = new ArrayList<>(best);
+            list.sort(sort::compare);
+            return list;
+        }
+    }
+
+    /**
+     * Método auxiliar privado que inclui a tarefa em cada índice.
+     */
+    private void index(Task task) {
+        if (task.getStatus() != null) {
+            byStatus.get(task.getStatus()).add(task);
+        }
+        byPriority.get(bucketOf(task.getPriority())).add(task);
+
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null) {
+            byDueDate.computeIfAbsent(dueDate, date -> new LinkedHashSet<>()).add(task);
+        }
+        byWord.add(task, task.getDescription());
+    }
+
+    /**
+     * Método auxiliar privado que retira a tarefa de cada índice.
+     */
+    private void unindex(Task task) {
+        if (task.getStatus() != null) {
+            byStatus.get(task.getStatus()).remove(task);
+        }
+        byPriority.get(bucketOf(task.getPriority())).remove(task);
+
+        LocalDate dueDate = task.getDueDate();
+        if (dueDate != null) {
+            Set<Task> sameDate = byDueDate.get(dueDate);
+            if (sameDate != null && sameDate.remove(task) && sameDate.isEmpty()) {
+                byDueDate.remove(dueDate);
+            }
+        }
+        byWord.remove(task, task.getDescription());
+    }
+
+    /**
+     * Copia para {@code found} as candidatas que têm o status e a prioridade mínima pedidos.
+     */
+    private static void collect(Collection<Task> candidates, Status status, int minPriority, List<Task> found) {
+        for (Task task : candidates) {
+            if ((status == null || task.getStatus() == status) && task.getPriority() >= minPriority) {
+                found.add(task);
+            }
+        }
+    }
+
+    private static int bucketOf(int priority) {
+        return AppUtils.isValidPriority(priority) ? priority : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página do resultado de uma busca de tarefas
+ * ({@link ProjectManager#queryTasks(TaskQuery, String, int)}).
+ * <p>
+ * Além das tarefas, traz o cursor que busca a página seguinte. O cursor guarda a posição
+ * da última tarefa da página (e não o número da página), então a busca pode continuar
+ * mesmo que tarefas tenham sido criadas ou excluídas entre uma página e outra.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class TaskPage {
+
+    private final List<Task> tasks;
+    private final String nextCursor;
+
+    /**
+     * Construtor usado pelo {@link ProjectManager}.
+     * @param tasks As tarefas da página, já ordenadas.
+     * @param nextCursor O cursor da página seguinte, ou {@code null} se esta for a última.
+     */
+    TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Obtém as tarefas da página, na ordem pedida pela busca.
+     * @return As tarefas (somente leitura).
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Obtém o cursor para buscar a página seguinte.
+     * @return O cursor, ou {@code null} se não houver mais tarefas.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Informa se existe uma página seguinte.
+     * @return true se {@link #getNextCursor()} não for nulo.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
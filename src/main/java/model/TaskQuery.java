@@ -0,0 +1,292 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Critérios de uma busca de tarefas em todos os projetos
+ * ({@link ProjectManager#queryTasks(TaskQuery, String, int)}).
+ * <p>
+ * Os objetos são imutáveis: cada método {@code with...} devolve uma nova busca com um
+ * critério a mais, e a busca original pode ser reaproveitada. Exemplo:
+ * </p>
+ * <pre>
+ * TaskQuery.all()
+ *         .withStatus(Status.A_FAZER, Status.EM_PROGRESSO)
+ *         .withPriorityBetween(4, 5)
+ *         .withDueBetween(hoje, hoje.plusDays(7))
+ *         .sortedBy(TaskSort.DUE_DATE);
+ * </pre>
+ * <p>
+ * Uma tarefa é encontrada se atender a TODOS os critérios informados. Os critérios de
+ * status, prioridade e data usam os índices das tarefas; os demais são conferidos
+ * apenas nas tarefas que os índices indicarem.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class TaskQuery {
+
+    private static final TaskQuery ALL = new TaskQuery(null, null, Integer.MIN_VALUE, Integer.MAX_VALUE,
+            null, null, null, 0, TaskSort.ID);
+
+    /** Os status aceitos, ou {@code null} para qualquer status. */
+    private final Set<Status> statuses;
+    /** Os tipos aceitos, ou {@code null} para qualquer tipo. */
+    private final Set<TaskType> types;
+    private final int minPriority;
+    private final int maxPriority;
+    private final LocalDate dueFrom;
+    private final LocalDate dueTo;
+    private final String text;
+    private final long projectId;
+    private final TaskSort sort;
+
+    private TaskQuery(Set<Status> statuses, Set<TaskType> types, int minPriority, int maxPriority,
+                      LocalDate dueFrom, LocalDate dueTo, String text, long projectId, TaskSort sort) {
+        this.statuses = statuses;
+        this.types = types;
+        this.minPriority = minPriority;
+        this.maxPriority = maxPriority;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+        this.text = text;
+        this.projectId = projectId;
+        this.sort = sort;
+    }
+
+    /**
+     * Obtém a busca sem critérios (todas as tarefas, ordenadas pelo ID).
+     * @return A busca.
+     */
+    public static TaskQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Limita a busca a tarefas com um dos status informados.
+     * @param accepted Os status aceitos (pelo menos um).
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se nenhum status for informado ou algum for nulo.
+     */
+    public TaskQuery withStatus(Status... accepted) throws IllegalArgumentException {
+        if (accepted == null || accepted.length == 0 || Arrays.asList(accepted).contains(null)) {
+            throw new IllegalArgumentException("Informe pelo menos um status, sem valores nulos.");
+        }
+        Set<Status> set = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(accepted)));
+        return new TaskQuery(set, types, minPriority, maxPriority, dueFrom, dueTo, text, projectId, sort);
+    }
+
+    /**
+     * Limita a busca a tarefas de um dos tipos informados.
+     * @param accepted Os tipos aceitos (pelo menos um).
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se nenhum tipo for informado ou algum for nulo.
+     */
+    public TaskQuery withType(TaskType... accepted) throws IllegalArgumentException {
+        if (accepted == null || accepted.length == 0 || Arrays.asList(accepted).contains(null)) {
+            throw new IllegalArgumentException("Informe pelo menos um tipo de tarefa, sem valores nulos.");
+        }
+        Set<TaskType> set = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(accepted)));
+        return new TaskQuery(statuses, set, minPriority, maxPriority, dueFrom, dueTo, text, projectId, sort);
+    }
+
+    /**
+     * Limita a busca a tarefas com prioridade dentro de uma faixa.
+     * @param min A prioridade mínima (inclusive).
+     * @param max A prioridade máxima (inclusive).
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se a mínima for maior que a máxima.
+     */
+    public TaskQuery withPriorityBetween(int min, int max) throws IllegalArgumentException {
+        if (min > max) {
+            throw new IllegalArgumentException("A prioridade mínima (" + min + ") é maior que a máxima (" + max + ").");
+        }
+        return new TaskQuery(statuses, types, min, max, dueFrom, dueTo, text, projectId, sort);
+    }
+
+    /**
+     * Limita a busca a tarefas que vencem dentro de um intervalo de datas. Apenas tarefas
+     * com data ({@link DeadlineTask} e {@link Milestone}) são encontradas.
+     * @param from A primeira data (inclusive), ou {@code null} para não limitar o início.
+     * @param to A última data (inclusive), ou {@code null} para não limitar o fim.
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se as duas datas forem nulas ou o início for depois do fim.
+     */
+    public TaskQuery withDueBetween(LocalDate from, LocalDate to) throws IllegalArgumentException {
+        if (from == null && to == null) {
+            throw new IllegalArgumentException("Informe pelo menos uma das datas do intervalo.");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial (" + AppUtils.formatarData(from)
+                    + ") é posterior à data final (" + AppUtils.formatarData(to) + ").");
+        }
+        return new TaskQuery(statuses, types, minPriority, maxPriority, from, to, text, projectId, sort);
+    }
+
+    /**
+     * Limita a busca a tarefas cuja descrição contém um texto (sem diferenciar maiúsculas).
+     * @param fragment O texto procurado.
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se o texto for nulo ou vazio.
+     */
+    public TaskQuery withText(String fragment) throws IllegalArgumentException {
+        if (fragment == null || fragment.trim().isEmpty()) {
+            throw new IllegalArgumentException("O texto da busca não pode ser vazio.");
+        }
+        return new TaskQuery(statuses, types, minPriority, maxPriority, dueFrom, dueTo, fragment.trim(),
+                projectId, sort);
+    }
+
+    /**
+     * Limita a busca às tarefas de um projeto.
+     * @param id O ID do projeto.
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se o ID não for válido.
+     */
+    public TaskQuery inProject(long id) throws IllegalArgumentException {
+        if (!AppUtils.isValidId(id)) {
+            throw new IllegalArgumentException("O ID do projeto deve ser um número positivo. Recebido: " + id);
+        }
+        return new TaskQuery(statuses, types, minPriority, maxPriority, dueFrom, dueTo, text, id, sort);
+    }
+
+    /**
+     * Define a ordem do resultado.
+     * @param order A ordenação.
+     * @return A nova busca.
+     * @throws IllegalArgumentException Se a ordenação for nula.
+     */
+    public TaskQuery sortedBy(TaskSort order) throws IllegalArgumentException {
+        if (order == null) {
+            throw new IllegalArgumentException("A ordenação não pode ser nula.");
+        }
+        return new TaskQuery(statuses, types, minPriority, maxPriority, dueFrom, dueTo, text, projectId, order);
+    }
+
+    /**
+     * Confere se uma tarefa atende a todos os critérios da busca.
+     * @param task A tarefa.
+     * @return true se a tarefa faz parte do resultado.
+     */
+    boolean matches(Task task) {
+        if (statuses != null && !statuses.contains(task.getStatus())) {
+            return false;
+        }
+        if (types != null && !types.contains(task.getType())) {
+            return false;
+        }
+        if (task.getPriority() < minPriority || task.getPriority() > maxPriority) {
+            return false;
+        }
+        if (hasDateRange()) {
+            LocalDate dueDate = task.getDueDate();
+            if (dueDate == null || (dueFrom != null && dueDate.isBefore(dueFrom))
+                    || (dueTo != null && dueDate.isAfter(dueTo))) {
+                return false;
+            }
+        }
+        if (projectId != 0) {
+            Project owner = task.getOwner();
+            if (owner == null || owner.getId() != projectId) {
+                return false;
+            }
+        }
+        return text == null || containsIgnoreCase(task.getDescription(), text);
+    }
+
+    /**
+     * Procura {@code fragment} em {@code description} sem diferenciar maiúsculas e sem
+     * criar cópias das Strings.
+     */
+    private static boolean containsIgnoreCase(String description, String fragment) {
+        if (description == null) {
+            return false;
+        }
+        int last = description.length() - fragment.length();
+        for (int i = 0; i <= last; i++) {
+            if (description.regionMatches(true, i, fragment, 0, fragment.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- GETTERS (usados pelo índice) ---
+
+    /**
+     * Obtém os status aceitos.
+     * @return Os status, ou {@code null} para qualquer status.
+     */
+    Set<Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Obtém a prioridade mínima.
+     * @return A prioridade mínima ({@link Integer#MIN_VALUE} se não houver limite).
+     */
+    int getMinPriority() {
+        return minPriority;
+    }
+
+    /**
+     * Obtém a prioridade máxima.
+     * @return A prioridade máxima ({@link Integer#MAX_VALUE} se não houver limite).
+     */
+    int getMaxPriority() {
+        return maxPriority;
+    }
+
+    /**
+     * Informa se a busca limita a prioridade.
+     * @return true se houver uma faixa de prioridades.
+     */
+    boolean hasPriorityRange() {
+        return minPriority != Integer.MIN_VALUE || maxPriority != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Obtém a primeira data de vencimento aceita.
+     * @return A data, ou {@code null} se não houver limite.
+     */
+    LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    /**
+     * Obtém a última data de vencimento aceita.
+     * @return A data, ou {@code null} se não houver limite.
+     */
+    LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    /**
+     * Informa se a busca limita a data de vencimento.
+     * @return true se houver um intervalo de datas.
+     */
+    boolean hasDateRange() {
+        return dueFrom != null || dueTo != null;
+    }
+
+    /**
+     * Obtém o projeto ao qual a busca está limitada.
+     * @return O ID do projeto, ou 0 para todos os projetos.
+     */
+    long getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Obtém a ordem do resultado.
+     * @return O valor do enum {@link TaskSort}.
+     */
+    TaskSort getSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,123 @@
+package model;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Retrato imutável de uma {@link Task} em um determinado momento.
+ * <p>
+ * Faz parte do {@link ModelSnapshot}: é criado pelo {@link Project} sempre que a tarefa
+ * é adicionada ou alterada, e nunca muda depois disso. Pode ser lido por qualquer thread.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class TaskSnapshot {
+
+    private final long id;
+    private final TaskType type;
+    private final String description;
+    private final int priority;
+    private final Status status;
+    private final LocalDate dueDate;
+    private final long version;
+
+    private TaskSnapshot(Task task) {
+        this.id = task.getId();
+        this.type = task.getType();
+        this.description = task.getDescription();
+        this.priority = task.getPriority();
+        this.status = task.getStatus();
+        this.dueDate = task.getDueDate();
+        this.version = task.getVersion();
+    }
+
+    /**
+     * Tira o retrato dos valores atuais de uma tarefa.
+     * @param task A tarefa.
+     * @return O retrato imutável.
+     */
+    static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(task);
+    }
+
+    /**
+     * Recria uma tarefa independente (mutável) com os dados deste retrato.
+     * @return A tarefa, ainda sem projeto dono.
+     * @throws IllegalStateException Se os dados forem inválidos para o tipo da tarefa.
+     */
+    Task toTask() throws IllegalStateException {
+        try {
+            return ProjectCodec.newTask(type, id, description, priority, status, dueDate);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Obtém o ID da tarefa.
+     * @return O número do ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o ID da tarefa formatado para exibição.
+     * @return A String do ID.
+     */
+    public String getDisplayId() {
+        return Long.toString(id);
+    }
+
+    /**
+     * Obtém o tipo da tarefa.
+     * @return O valor do enum {@link TaskType}.
+     */
+    public TaskType getType() {
+        return type;
+    }
+
+    /**
+     * Obtém a descrição da tarefa.
+     * @return A String da descrição.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Obtém a prioridade da tarefa.
+     * @return Um inteiro (normalmente 1-5).
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Obtém o status da tarefa.
+     * @return O valor do enum {@link Status}.
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Obtém a data de vencimento (prazo ou data do marco).
+     * @return O {@link LocalDate}, ou {@code null} para tarefas sem data.
+     */
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    /**
+     * Obtém a versão da tarefa no momento do retrato.
+     * @return A versão (ver {@link Task#getVersion()}).
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Ordenações disponíveis para o resultado de uma busca de tarefas ({@link TaskQuery}).
+ * <p>
+ * Todas desempatam pelo ID da tarefa, então a ordem é sempre total: é isso que permite
+ * continuar uma busca a partir de um cursor ({@link TaskPage#getNextCursor()}) sem
+ * repetir nem pular tarefas.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public enum TaskSort {
+    /** Pelo ID (ordem de criação). */
+    ID("ID") {
+        @Override
+        int comparePrimary(ITaskSortKey a, ITaskSortKey b) {
+            return 0;
+        }
+    },
+    /** Pela data de vencimento, da mais próxima para a mais distante; tarefas sem data por último. */
+    DUE_DATE("Vencimento") {
+        @Override
+        int comparePrimary(ITaskSortKey a, ITaskSortKey b) {
+            return NULLS_LAST.compare(a.getDueDate(), b.getDueDate());
+        }
+    },
+    /** Pela prioridade, da maior para a menor. */
+    PRIORITY("Prioridade") {
+        @Override
+        int comparePrimary(ITaskSortKey a, ITaskSortKey b) {
+            return Integer.compare(b.getPriority(), a.getPriority());
+        }
+    },
+    /** Pela descrição, em ordem alfabética (sem diferenciar maiúsculas). */
+    DESCRIPTION("Descrição") {
+        @Override
+        int comparePrimary(ITaskSortKey a, ITaskSortKey b) {
+            return String.CASE_INSENSITIVE_ORDER.compare(a.getDescription(), b.getDescription());
+        }
+    };
+
+    private static final Comparator<LocalDate> NULLS_LAST =
+            Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final String displayName;
+
+    /**
+     * Construtor privado do Enum.
+     * @param displayName O nome a ser exibido na UI.
+     */
+    TaskSort(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Compara duas tarefas (ou uma tarefa e um cursor) pela ordenação, desempatando pelo ID.
+     * @param a A primeira.
+     * @param b A segunda.
+     * @return Negativo se {@code a} vem antes, positivo se vem depois e 0 se forem a mesma tarefa.
+     */
+    int compare(ITaskSortKey a, ITaskSortKey b) {
+        int result = this.comparePrimary(a, b);
+        return result != 0 ? result : Long.compare(a.getId(), b.getId());
+    }
+
+    /**
+     * Compara apenas pelo critério da ordenação, sem o desempate.
+     */
+    abstract int comparePrimary(ITaskSortKey a, ITaskSortKey b);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sobrescreve o método padrão toString() do Java.
+     * Para retornar o nome "formatado"
+     * </p>
+     * @return O nome de exibição (ex: "Prioridade").
+     */
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Dados para criar uma tarefa, com tipos definidos (sem "mapa" de dados).
+ * <p>
+ * É a forma preferida de pedir a criação de tarefas ao {@link ProjectManager}
+ * ({@code createTaskForProject} e {@code createTasksForProject}): não precisa de um
+ * {@link java.util.HashMap} por tarefa, de converter a prioridade para {@link Integer}
+ * nem de conversões de tipo na {@link TaskFactory}. Os objetos são imutáveis e podem
+ * ser reaproveitados para criar várias tarefas iguais.
+ * </p>
+ * <p>
+ * A validação dos dados continua sendo feita pelos construtores das tarefas, no momento
+ * da criação.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public final class TaskSpec {
+
+    private final TaskType type;
+    private final String description;
+    private final int priority;
+    private final LocalDate date;
+
+    private TaskSpec(TaskType type, String description, int priority, LocalDate date) {
+        this.type = type;
+        this.description = description;
+        this.priority = priority;
+        this.date = date;
+    }
+
+    /**
+     * Dados de uma {@link SimpleTask}.
+     * @param description A descrição da tarefa.
+     * @param priority A prioridade (1-5).
+     * @return Os dados da tarefa.
+     */
+    public static TaskSpec simple(String description, int priority) {
+        return new TaskSpec(TaskType.SIMPLE, description, priority, null);
+    }
+
+    /**
+     * Dados de uma {@link DeadlineTask}.
+     * @param description A descrição da tarefa.
+     * @param priority A prioridade (1-5).
+     * @param deadline A data limite.
+     * @return Os dados da tarefa.
+     */
+    public static TaskSpec deadline(String description, int priority, LocalDate deadline) {
+        return new TaskSpec(TaskType.DEADLINE, description, priority, deadline);
+    }
+
+    /**
+     * Dados de um {@link Milestone}.
+     * @param description A descrição do marco.
+     * @param priority A prioridade (1-5).
+     * @param date A data do marco.
+     * @return Os dados da tarefa.
+     */
+    public static TaskSpec milestone(String description, int priority, LocalDate date) {
+        return new TaskSpec(TaskType.MILESTONE, description, priority, date);
+    }
+
+    /**
+     * Dados de uma tarefa de qualquer tipo, para quem escolhe o tipo em tempo de execução
+     * (ex: a partir de um menu).
+     * @param type O tipo da tarefa.
+     * @param description A descrição da tarefa.
+     * @param priority A prioridade (1-5).
+     * @param date O prazo ou a data do marco (ignorada para {@link TaskType#SIMPLE}).
+     * @return Os dados da tarefa.
+     * @throws IllegalArgumentException Se o tipo for nulo.
+     */
+    public static TaskSpec of(TaskType type, String description, int priority, LocalDate date)
+            throws IllegalArgumentException {
+        if (type == null) {
+            throw new IllegalArgumentException("O tipo da tarefa não pode ser nulo.");
+        }
+        return new TaskSpec(type, description, priority, type == TaskType.SIMPLE ? null : date);
+    }
+
+    // --- GETTERS ---
+
+    /**
+     * Obtém o tipo da tarefa.
+     * @return O valor do enum {@link TaskType}.
+     */
+    public TaskType getType() {
+        return type;
+    }
+
+    /**
+     * Obtém a descrição da tarefa.
+     * @return A String da descrição.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Obtém a prioridade da tarefa.
+     * @return Um inteiro (normalmente 1-5).
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Obtém o prazo ou a data do marco.
+     * @return O {@link LocalDate}, ou {@code null} para tarefas simples.
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+}
@@ -0,0 +1,473 @@
+package model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índice invertido de texto: para cada palavra, os itens (tarefas ou projetos) cujo
+ * texto contém essa palavra.
+ * <p>
+ * As palavras são guardadas sem acentos e em minúsculas ({@link #tokenize}), então
+ * "CONCLUÍDO", "concluido" e "Concluído" são a mesma palavra. Uma palavra da busca
+ * encontra itens com:
+ * </p>
+ * <ul>
+ *   <li>a mesma palavra (peso 1,0);</li>
+ *   <li>uma palavra que começa com ela (ex: "relat" encontra "relatório");</li>
+ *   <li>uma palavra parecida, com até 1 letra errada (ou 2, em palavras da busca com
+ *   8 letras ou mais). As candidatas são encontradas pelos trigramas (trechos de 3 letras)
+ *   que têm em comum com a palavra da busca, sem percorrer o vocabulário inteiro. Palavras
+ *   com números (códigos, anos) não participam dessa etapa: precisam ser digitadas certas.</li>
+ * </ul>
+ * <p>
+ * Um item só é encontrado se TODAS as palavras da busca o encontrarem; a sua pontuação é
+ * a soma dos pesos. O índice é atualizado item a item ({@link #add} e {@link #remove}),
+ * sem nunca ser refeito.
+ * </p>
+ * <p>
+ * Não é sincronizado: quem usa o índice deve sincronizar o acesso (o {@link TaskIndex}
+ * usa o próprio lock; o {@link ProjectManager} sincroniza o índice de nomes de projetos).
+ * </p>
+ *
+ * @param <T> O tipo dos itens indexados.
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class TextIndex<T> {
+
+    /** Letras até aqui são convertidas por tabela ({@link #FOLD}); as demais, só para minúsculas. */
+    private static final char LAST_FOLDED_CHAR = 'ɏ';
+    private static final char[] FOLD = buildFoldTable();
+
+    private static final double EXACT_WEIGHT = 1.0;
+    private static final double PREFIX_WEIGHT = 0.8;
+    private static final double TYPO_WEIGHT = 0.6;
+    /** Palavras da busca menores que isso não procuram palavras parecidas (só iguais e prefixos). */
+    private static final int MIN_TYPO_LENGTH = 4;
+    /** A partir deste tamanho, a palavra da busca aceita 2 letras erradas. */
+    private static final int TWO_TYPOS_LENGTH = 8;
+    /** Máximo de palavras do índice que um único prefixo pode encontrar. */
+    private static final int MAX_PREFIX_TERMS = 64;
+    /** Máximo de palavras parecidas (com erros de digitação) aceitas para uma palavra da busca. */
+    private static final int MAX_TYPO_TERMS = 64;
+    /**
+     * Trigramas presentes em mais palavras do que isso (ex: "cao" em português) são comuns
+     * demais para indicar candidatas e são ignorados na busca por palavras parecidas.
+     */
+    private static final int MAX_GRAM_TERMS = 5000;
+
+    /**
+     * Itens de cada palavra, em ordem de ID; o mapa é ordenado, para as buscas por prefixo.
+     * Palavras com um único item (a maioria do vocabulário) usam um
+     * {@link Collections#singleton}, bem menor que um {@link TreeSet}.
+     */
+    private final NavigableMap<String, Set<T>> postings = new TreeMap<>();
+    /** Palavras do índice que contêm cada trigrama (apenas palavras com 3 letras ou mais). */
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+    private final ToLongFunction<T> idOf;
+    private final Comparator<T> byId;
+
+    /**
+     * Construtor da classe. Cria o índice vazio.
+     * @param idOf Obtém o ID de um item; itens diferentes devem ter IDs diferentes.
+     */
+    TextIndex(ToLongFunction<T> idOf) {
+        this.idOf = idOf;
+        this.byId = Comparator.comparingLong(idOf);
+    }
+
+    /**
+     * Um item encontrado por uma busca, com a sua pontuação.
+     * @param <T> O tipo do item.
+     */
+    static final class Match<T> {
+        private final T item;
+        private final double score;
+
+        Match(T item, double score) {
+            this.item = item;
+            this.score = score;
+        }
+
+        /**
+         * Obtém o item encontrado.
+         * @return O item.
+         */
+        T getItem() {
+            return item;
+        }
+
+        /**
+         * Obtém a pontuação do item (maior é melhor).
+         * @return A soma dos pesos das palavras da busca.
+         */
+        double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Inclui um item no índice, com as palavras do seu texto.
+     * @param item O item.
+     * @param text O texto do item (pode ser nulo).
+     */
+    void add(T item, String text) {
+        for (String term : tokenize(text)) {
+            Set<T> items = postings.get(term);
+            if (items == null) {
+                postings.put(term, Collections.singleton(item));
+                for (String gram : grams(term)) {
+                    termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            } else if (items.size() > 1) {
+                items.add(item);
+            } else if (!items.contains(item)) {
+                Set<T> grown = new TreeSet<>(byId);
+                grown.addAll(items);
+                grown.add(item);
+                postings.put(term, grown);
+            }
+        }
+    }
+
+    /**
+     * Retira um item do índice. O texto deve ser o mesmo usado em {@link #add}.
+     * @param item O item.
+     * @param text O texto com que o item foi incluído.
+     */
+    void remove(T item, String text) {
+        for (String term : tokenize(text)) {
+            Set<T> items = postings.get(term);
+            if (items == null || !items.contains(item)) {
+                continue;
+            }
+            if (items.size() > 1) {
+                items.remove(item);
+                continue;
+            }
+            postings.remove(term);
+            for (String gram : grams(term)) {
+                Set<String> terms = termsByGram.get(gram);
+                if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                    termsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Esvazia o índice.
+     */
+    void clear() {
+        postings.clear();
+        termsByGram.clear();
+    }
+
+    /**
+     * Busca os itens que contêm todas as palavras de um texto, dos mais relevantes para os
+     * menos relevantes (e, na mesma pontuação, pelo ID).
+     * <p>
+     * Os itens candidatos vêm apenas da palavra da busca com menos itens; as demais são
+     * conferidas nesses candidatos. Só os {@code limit} melhores ficam guardados. Como os
+     * candidatos são percorridos em ordem de ID, a busca para assim que nenhum dos restantes
+     * puder ultrapassar os já guardados (ex: numa palavra que está em metade das tarefas,
+     * bastam as primeiras {@code limit}).
+     * </p>
+     * @param text O texto da busca.
+     * @param limit O número máximo de itens.
+     * @return Os itens encontrados (lista vazia se nenhum ou se o texto não tiver palavras).
+     */
+    List<Match<T>> search(String text, int limit) {
+        List<String> words = tokenize(text);
+        if (words.isEmpty() || limit < 1) {
+            return new ArrayList<>();
+        }
+
+        List<Map<String, Double>> expansions = new ArrayList<>(words.size());
+        int rarest = 0;
+        long rarestCount = Long.MAX_VALUE;
+        for (String word : words) {
+            Map<String, Double> terms = expand(word);
+            if (terms.isEmpty()) {
+                return new ArrayList<>();
+            }
+            long count = 0;
+            for (String term : terms.keySet()) {
+                count += postings.get(term).size();
+            }
+            if (count < rarestCount) {
+                rarest = expansions.size();
+                rarestCount = count;
+            }
+            expansions.add(terms);
+        }
+
+        // A maior pontuação que as outras palavras podem somar (cada mapa começa pelo maior peso).
+        double othersBest = 0;
+        for (int i = 0; i < expansions.size(); i++) {
+            if (i != rarest) {
+                othersBest += expansions.get(i).values().iterator().next();
+            }
+        }
+
+        PriorityQueue<Match<T>> best = new PriorityQueue<>(Math.min(limit, 1024), this::compareWorstFirst);
+        Map<String, Double> driver = expansions.get(rarest);
+        // Um item pode ter várias das palavras encontradas; conta só a de maior peso (a primeira).
+        Set<T> seen = driver.size() > 1 ? new HashSet<>() : null;
+        for (Map.Entry<String, Double> entry : driver.entrySet()) {
+            double weight = entry.getValue();
+            double bound = weight + othersBest;
+            candidates:
+            for (T item : postings.get(entry.getKey())) {
+                // Os próximos itens desta palavra têm IDs maiores e, no máximo, esta pontuação.
+                if (best.size() >= limit && !isBetter(bound, item, best.peek())) {
+                    break;
+                }
+                if (seen != null && !seen.add(item)) {
+                    continue;
+                }
+                double score = weight;
+                for (int i = 0; i < expansions.size(); i++) {
+                    if (i != rarest) {
+                        double other = bestWeight(expansions.get(i), item);
+                        if (other == 0) {
+                            continue candidates;
+                        }
+                        score += other;
+                    }
+                }
+                if (best.size() < limit) {
+                    best.add(new Match<>(item, score));
+                } else if (isBetter(score, item, best.peek())) {
+                    best.poll();
+                    best.add(new Match<>(item, score));
+                }
+            }
+        }
+
+        List<Match<T>> found = new ArrayList<>(best);
+        found.sort(Collections.reverseOrder(this::compareWorstFirst));
+        return found;
+    }
+
+    /**
+     * Informa se um item com a pontuação dada fica à frente de um resultado.
+     */
+    private boolean isBetter(double score, T item, Match<T> other) {
+        int result = Double.compare(score, other.getScore());
+        return result != 0 ? result > 0 : idOf.applyAsLong(item) < idOf.applyAsLong(other.getItem());
+    }
+
+    /**
+     * Ordena os resultados do pior para o melhor: menor pontuação e, na mesma pontuação, maior ID.
+     */
+    private int compareWorstFirst(Match<T> a, Match<T> b) {
+        int result = Double.compare(a.getScore(), b.getScore());
+        return result != 0 ? result : Long.compare(idOf.applyAsLong(b.getItem()), idOf.applyAsLong(a.getItem()));
+    }
+
+    /**
+     * Obtém o maior peso entre as palavras do índice que contêm o item.
+     * @return O peso, ou 0 se nenhuma contiver.
+     */
+    private double bestWeight(Map<String, Double> terms, T item) {
+        for (Map.Entry<String, Double> entry : terms.entrySet()) {
+            if (postings.get(entry.getKey()).contains(item)) {
+                return entry.getValue();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Obtém as palavras do índice que uma palavra da busca encontra, com os seus pesos,
+     * do maior peso para o menor.
+     */
+    private Map<String, Double> expand(String word) {
+        Map<String, Double> terms = new LinkedHashMap<>();
+        if (postings.containsKey(word)) {
+            terms.put(word, EXACT_WEIGHT);
+        }
+
+        int prefixes = 0;
+        for (String term : postings.subMap(word, false, word + Character.MAX_VALUE, false).keySet()) {
+            if (prefixes++ == MAX_PREFIX_TERMS) {
+                break;
+            }
+            terms.put(term, PREFIX_WEIGHT);
+        }
+
+        if (word.length() >= MIN_TYPO_LENGTH && !hasDigit(word)) {
+            int maxTypos = word.length() >= TWO_TYPOS_LENGTH ? 2 : 1;
+            // Cada letra errada altera no máximo 4 trigramas (a transposição de duas letras);
+            // trigramas comuns demais são ignorados e também deixam de contar.
+            List<String> wordGrams = grams(word);
+            int minShared = wordGrams.size() - 4 * maxTypos;
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : wordGrams) {
+                Set<String> withGram = termsByGram.getOrDefault(gram, Collections.emptySet());
+                if (withGram.size() > MAX_GRAM_TERMS) {
+                    minShared--;
+                    continue;
+                }
+                for (String term : withGram) {
+                    if (Math.abs(term.length() - word.length()) <= maxTypos) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+
+            List<List<String>> byDistance = new ArrayList<>();
+            for (int typos = 0; typos <= maxTypos; typos++) {
+                byDistance.add(new ArrayList<>());
+            }
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                String term = entry.getKey();
+                if (entry.getValue() >= minShared && !terms.containsKey(term)) {
+                    int distance = distance(word, term, maxTypos);
+                    if (distance <= maxTypos) {
+                        byDistance.get(distance).add(term);
+                    }
+                }
+            }
+            int accepted = 0;
+            for (int typos = 1; typos <= maxTypos; typos++) {
+                List<String> similar = byDistance.get(typos);
+                Collections.sort(similar);
+                for (String term : similar) {
+                    if (accepted++ == MAX_TYPO_TERMS) {
+                        return terms;
+                    }
+                    terms.put(term, TYPO_WEIGHT / typos);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Calcula quantas letras precisam ser trocadas, incluídas, removidas ou transpostas
+     * para transformar uma palavra na outra (distância de Damerau-Levenshtein restrita).
+     * Para assim que a distância passar de {@code max}.
+     * @return A distância, ou {@code max + 1} se for maior que {@code max}.
+     */
+    private static int distance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Informa se a palavra contém algum número.
+     */
+    private static boolean hasDigit(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (Character.isDigit(term.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtém os trigramas de uma palavra, com um '$' marcando o início e o fim
+     * (ex: "casa" → "$ca", "cas", "asa", "sa$"). Palavras com menos de 3 letras ou com
+     * números não têm trigramas.
+     */
+    private static List<String> grams(String term) {
+        List<String> grams = new ArrayList<>();
+        if (term.length() < 3 || hasDigit(term)) {
+            return grams;
+        }
+        String padded = "$" + term + "$";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Separa um texto em palavras sem acentos e em minúsculas (sem repetições).
+     * Tudo o que não é letra nem número separa as palavras.
+     * <p>
+     * Exemplo: {@code "Revisar Descrição (CONCLUÍDO)"} → {@code [revisar, descricao, concluido]}.
+     * </p>
+     * @param text O texto (pode ser nulo).
+     * @return As palavras, na ordem em que aparecem.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                // Acento já separado da letra (texto decomposto): é ignorado.
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c <= LAST_FOLDED_CHAR ? FOLD[c] : Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                String term = word.toString();
+                if (!words.contains(term)) {
+                    words.add(term);
+                }
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Monta a tabela que converte cada letra (até {@link #LAST_FOLDED_CHAR}) na mesma letra
+     * sem acento e em minúscula (ex: 'Ç' → 'c', 'Í' → 'i'). Feita uma única vez, para que
+     * {@link #tokenize} não precise normalizar cada texto.
+     */
+    private static char[] buildFoldTable() {
+        char[] table = new char[LAST_FOLDED_CHAR + 1];
+        for (char c = 0; c <= LAST_FOLDED_CHAR; c++) {
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            table[c] = Character.toLowerCase(decomposed.charAt(0));
+        }
+        return table;
+    }
+}
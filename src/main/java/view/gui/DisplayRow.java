@@ -0,0 +1,41 @@
+package view.gui;
+
+/**
+ * Linha de uma tabela com o texto de cada coluna já formatado.
+ * <p>
+ * Os modelos de tabela ({@link ProjectTableModel}, {@link TaskTableModel}) montam uma
+ * {@code DisplayRow} na primeira vez que a linha é exibida e a reutilizam em todas as
+ * pinturas seguintes, até que um evento de alteração descarte a linha. Assim, rolar a
+ * tabela não formata datas nem porcentagens de novo, nem cria objetos.
+ * </p>
+ * <p>
+ * A classe é imutável: uma alteração do item gera uma nova linha.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+final class DisplayRow {
+
+    private final String[] cells;
+
+    /**
+     * Construtor que recebe os textos das colunas, na ordem das colunas.
+     * @param cells Os textos já formatados.
+     */
+    DisplayRow(String... cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * Obtém o texto de uma coluna.
+     * @param column O índice da coluna.
+     * @return O texto formatado, ou "??" se a coluna não existir.
+     */
+    String get(int column) {
+        if (column < 0 || column >= cells.length) {
+            return "??"; // Nunca deve acontecer
+        }
+        return cells[column];
+    }
+}
@@ -3,8 +3,11 @@ package view.gui;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import model.AppUtils;
+import model.CheckpointScheduler;
 import model.Project;
 import model.ProjectManager;
+import model.ReminderEvent;
+import model.SearchHit;
 import view.IMainMenuView;
 import view.IProjectView;
 import view.IViewFactory;
@@ -17,12 +20,19 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableColumnModel;
 import javax.swing.text.StyleContext;
 import java.awt.*;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementação Gráfica (Swing) da tela principal.
@@ -42,7 +52,31 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
     private JScrollPane tablePane;
     private JTable projectTable;
 
+    private JMenuItem menuSearch;
+    private JMenu menuReminders;
+
     private final ProjectManager manager;
+    /** Entrega na EDT as alterações do manager para a tabela de projetos. */
+    private final ModelEventCoalescer modelEvents;
+    private boolean loading;
+    private CheckpointScheduler checkpoints;
+    private boolean remindersStarted;
+
+    /** Lembretes recebidos (do mais recente para o mais antigo), exibidos pelo menu "Lembretes". */
+    private final DefaultListModel<ReminderEvent> reminders = new DefaultListModel<>();
+    /** Lembretes emitidos pela thread da agenda e ainda não entregues à thread da interface. */
+    private final ConcurrentLinkedQueue<ReminderEvent> incomingReminders = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean reminderDrainScheduled = new AtomicBoolean();
+    private int unseenReminders;
+
+    /** Intervalo entre os checkpoints automáticos e quantas gerações manter. */
+    private static final Duration CHECKPOINT_INTERVAL = Duration.ofMinutes(5);
+    private static final int CHECKPOINT_GENERATIONS = 5;
+    /** Quantidade máxima de resultados exibidos pela busca. */
+    private static final int SEARCH_RESULTS = 50;
+    /** Intervalo entre as verificações de prazos e quantos lembretes manter na lista. */
+    private static final Duration REMINDER_INTERVAL = Duration.ofMinutes(1);
+    private static final int MAX_REMINDERS = 500;
 
     /**
      * Construtor da tela principal gráfica.
@@ -51,6 +85,7 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
      */
     public GuiMainMenuView(ProjectManager manager) {
         this.manager = manager;
+        this.modelEvents = new ModelEventCoalescer(manager);
         this.setContentPane(mainPanel);
         this.setTitle("Gerenciador de Projetos");
         this.setSize(800, 600);
@@ -65,31 +100,180 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
             }
         });
 
-        loadProjectList();
+        setupMenuBar();
+        setupProjectTable();
         setupListeners();
     }
 
     /**
      * inicia e exibe a tela.
      * <p>
-     * Para a GUI, o método display() simplesmente
-     * torna a janela visível.
+     * Para a GUI, o método display() torna a janela visível e começa
+     * a carregar os dados salvos em segundo plano (ver {@link #startLoading()}).
      * </p>
      */
     @Override
     public void display() {
         this.setVisible(true);
+        startLoading();
+    }
+
+    /**
+     * Carrega os projetos salvos sem travar a janela.
+     * <p>
+     * Um {@link SwingWorker} lê os projetos um a um ({@link ProjectManager#streamData})
+     * e os publica; na thread da interface, cada lote é adicionado ao manager e
+     * as novas linhas aparecem na tabela (pelos eventos de alteração) antes de o
+     * arquivo ter sido lido até o fim.
+     * Enquanto isso, os botões ficam desabilitados.
+     * </p>
+     */
+    private void startLoading() {
+        this.loading = true;
+        setButtonsEnabled(false);
+
+        new SwingWorker<Void, Project>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                manager.streamData(this::publish);
+                return null;
+            }
+
+            @Override
+            protected void process(List<Project> chunk) {
+                manager.addLoadedProjects(chunk);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("AVISO: Erro ao carregar dados. Erro: " + cause.getMessage());
+                    JOptionPane.showMessageDialog(GuiMainMenuView.this,
+                            "Falha ao carregar os dados salvos: " + cause.getMessage(),
+                            "Erro de Carregamento",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+                loading = false;
+                setButtonsEnabled(true);
+                startCheckpoints();
+                startReminders();
+            }
+        }.execute();
     }
 
     /**
-     * Carrega (ou recarrega) a lista de projetos do ProjectManager
-     * e a exibe no componente visual JTable.
+     * Inicia os checkpoints automáticos ao lado do arquivo de dados.
+     * Os checkpoints partem do retrato imutável dos projetos, sem ocupar a thread da interface.
      */
-    private void loadProjectList() {
+    private void startCheckpoints() {
+        if (checkpoints != null) {
+            return;
+        }
+        checkpoints = new CheckpointScheduler(manager, ProjectManager.DEFAULT_DATA_FILE,
+                CHECKPOINT_GENERATIONS);
+        checkpoints.start(CHECKPOINT_INTERVAL);
+    }
 
-        ArrayList<Project> projects = manager.getProjects();
+    /**
+     * Inicia a verificação periódica dos prazos ({@link model.ReminderScheduler}).
+     * <p>
+     * Os lembretes chegam na thread da agenda, muitas vezes em rajadas (ex: todos os
+     * atrasados ao abrir o programa); eles são enfileirados e entregues à thread da
+     * interface de uma só vez, com um único {@link SwingUtilities#invokeLater}.
+     * </p>
+     */
+    private void startReminders() {
+        if (remindersStarted) {
+            return;
+        }
+        remindersStarted = true;
+        manager.getReminders().addListener(event -> {
+            incomingReminders.add(event);
+            if (reminderDrainScheduled.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::drainReminders);
+            }
+        });
+        manager.getReminders().start(REMINDER_INTERVAL);
+    }
 
-        ProjectTableModel tableModel = new ProjectTableModel(projects);
+    /**
+     * Passa os lembretes recebidos para a lista exibida e atualiza o título do menu.
+     * Executado na thread da interface.
+     */
+    private void drainReminders() {
+        reminderDrainScheduled.set(false);
+        ReminderEvent event;
+        while ((event = incomingReminders.poll()) != null) {
+            reminders.add(0, event);
+            unseenReminders++;
+        }
+        if (reminders.size() > MAX_REMINDERS) {
+            reminders.removeRange(MAX_REMINDERS, reminders.size() - 1);
+        }
+        updateRemindersMenu();
+    }
+
+    /**
+     * Mostra no título do menu quantos lembretes ainda não foram vistos.
+     */
+    private void updateRemindersMenu() {
+        menuReminders.setText(unseenReminders == 0 ? "Lembretes" : "Lembretes (" + unseenReminders + ")");
+    }
+
+    /**
+     * Habilita ou desabilita todos os botões da tela de uma vez.
+     */
+    private void setButtonsEnabled(boolean enabled) {
+        buttonCreate.setEnabled(enabled);
+        buttonEdit.setEnabled(enabled);
+        buttonRemove.setEnabled(enabled);
+        buttonSave.setEnabled(enabled);
+        buttonLoad.setEnabled(enabled);
+        menuSearch.setEnabled(enabled);
+    }
+
+    /**
+     * Cria a barra de menus com a busca (também acessível por Ctrl+F) e os lembretes de prazo.
+     * Montada aqui, e não no formulário do designer, para não alterar o layout gerado.
+     */
+    private void setupMenuBar() {
+        menuSearch = new JMenuItem("Buscar projetos e tarefas...");
+        menuSearch.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F, InputEvent.CTRL_DOWN_MASK));
+        menuSearch.addActionListener(e -> handleSearch());
+
+        JMenu menu = new JMenu("Buscar");
+        menu.setMnemonic(KeyEvent.VK_B);
+        menu.add(menuSearch);
+
+        JMenuItem menuShowReminders = new JMenuItem("Ver lembretes de prazo...");
+        menuShowReminders.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_L, InputEvent.CTRL_DOWN_MASK));
+        menuShowReminders.addActionListener(e -> handleShowReminders());
+
+        menuReminders = new JMenu("Lembretes");
+        menuReminders.setMnemonic(KeyEvent.VK_L);
+        menuReminders.add(menuShowReminders);
+
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(menu);
+        menuBar.add(menuReminders);
+        this.setJMenuBar(menuBar);
+    }
+
+    /**
+     * Configura, uma única vez, a JTable da lista de projetos: modelo, colunas e renderizador.
+     * <p>
+     * O modelo não é mais recriado a cada alteração: ele recebe os eventos do manager
+     * (pelo {@link ModelEventCoalescer}) e atualiza apenas as linhas afetadas,
+     * mantendo a seleção e a largura das colunas.
+     * </p>
+     */
+    private void setupProjectTable() {
+
+        ProjectTableModel tableModel = new ProjectTableModel(manager);
+        modelEvents.addListener(tableModel);
 
         projectTable.setModel(tableModel);
 
@@ -250,8 +434,6 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
                     "Sucesso",
                     JOptionPane.INFORMATION_MESSAGE);
 
-            loadProjectList();
-
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this,
                     "Formato de data inválido. Use AAAA-MM-DD.",
@@ -312,8 +494,6 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
             JOptionPane.showMessageDialog(this, "Projeto atualizado com sucesso!",
                     "Sucesso", JOptionPane.INFORMATION_MESSAGE);
 
-            loadProjectList();
-
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Formato de data inválido. Use AAAA-MM-DD.",
                     "Erro de Formato", JOptionPane.ERROR_MESSAGE);
@@ -338,7 +518,7 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
             return;
         }
 
-        String projectId = selectedProject.getId();
+        long projectId = selectedProject.getId();
         String projectName = selectedProject.getName();
 
         int confirm = JOptionPane.showConfirmDialog(this,
@@ -354,7 +534,6 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
             if (success) {
                 JOptionPane.showMessageDialog(this, "Projeto excluído com sucesso.",
                         "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-                loadProjectList();
             } else {
                 JOptionPane.showMessageDialog(this, "Erro: Falha ao excluir o projeto.",
                         "Erro", JOptionPane.ERROR_MESSAGE);
@@ -364,45 +543,96 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
 
     /**
      * Lida com o clique no botão "Salvar Dados".
-     * Apenas chama o manager e mostra uma confirmação.
+     * <p>
+     * A gravação acontece em segundo plano ({@link ProjectManager#saveDataAsync()}):
+     * enquanto isso, o botão mostra "Salvando..." e o resto da tela continua
+     * respondendo. A confirmação aparece quando a gravação termina.
+     * </p>
      */
     private void handleSaveData() {
-        try {
-            manager.saveData(); //
-            JOptionPane.showMessageDialog(this,
-                    "Dados salvos com sucesso!",
-                    "Salvar",
-                    JOptionPane.INFORMATION_MESSAGE);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Falha ao salvar dados: " + e.getMessage(),
-                    "Erro de Salvamento",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        String saveText = buttonSave.getText();
+        buttonSave.setEnabled(false);
+        buttonSave.setText("Salvando...");
+
+        manager.saveDataAsync().whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            buttonSave.setText(saveText);
+            buttonSave.setEnabled(true);
+
+            if (error == null) {
+                JOptionPane.showMessageDialog(this,
+                        "Dados salvos com sucesso!",
+                        "Salvar",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this,
+                        "Falha ao salvar dados: " + causeOf(error).getMessage(),
+                        "Erro de Salvamento",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }));
     }
 
     /**
      * Lida com o clique no botão "Carregar Dados".
+     * <p>
+     * Permite selecionar um arquivo, vários arquivos ou um diretório inteiro;
+     * vários arquivos (ou um diretório) são importados em paralelo.
+     * </p>
      */
     private void handleLoadData() {
 
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Arquivos de Dados (.dat)", "dat"));
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        fileChooser.setMultiSelectionEnabled(true);
 
         int result = fileChooser.showOpenDialog(this);
 
         if (result == JFileChooser.APPROVE_OPTION) {
 
-            java.io.File selectedFile = fileChooser.getSelectedFile();
+            startImport(fileChooser.getSelectedFiles());
+        }
+    }
 
-            try {
-                manager.importProjectsFromFile(selectedFile);
-                loadProjectList();
-                JOptionPane.showMessageDialog(this, "Projetos importados com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Erro ao importar arquivo: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Importa os arquivos escolhidos sem travar a janela.
+     * <p>
+     * Assim como em {@link #startLoading()}, a leitura acontece em um {@link SwingWorker};
+     * os projetos importados aparecem na tabela pelos eventos de alteração do manager.
+     * Enquanto isso, os botões ficam desabilitados, e o resultado é exibido no final.
+     * </p>
+     * @param selectedFiles Os arquivos (ou o diretório) escolhidos.
+     */
+    private void startImport(java.io.File[] selectedFiles) {
+        setButtonsEnabled(false);
+
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                if (selectedFiles.length == 1 && selectedFiles[0].isDirectory()) {
+                    manager.importProjectsFromDirectory(selectedFiles[0]);
+                } else if (selectedFiles.length == 1) {
+                    manager.importProjectsFromFile(selectedFiles[0]);
+                } else {
+                    manager.importProjectsFromFiles(List.of(selectedFiles));
+                }
+                return null;
             }
-        }
+
+            @Override
+            protected void done() {
+                setButtonsEnabled(true);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(GuiMainMenuView.this, "Projetos importados com sucesso!",
+                            "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(GuiMainMenuView.this, "Erro ao importar arquivo: " + cause.getMessage(),
+                            "Erro", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     /**
@@ -413,14 +643,120 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
 
         Project selectedProject = getSelectedProjectFromTable();
 
-        if (selectedProject == null) {
+        if (selectedProject == null || loading) {
             return;
         }
 
+        openProject(selectedProject);
+    }
+
+    /**
+     * Abre a tela de detalhes (GuiProjectView) de um projeto. As alterações feitas
+     * nela chegam à lista de projetos pelos eventos de alteração.
+     *
+     * @param project O projeto a ser exibido.
+     */
+    private void openProject(Project project) {
         IViewFactory factory = ViewFactoryProvider.getFactory();
-        IProjectView projectView = factory.createProjectView(this.manager, selectedProject);
+        IProjectView projectView = factory.createProjectView(this.manager, project);
         projectView.displayProjectDetails();
-        loadProjectList();
+    }
+
+    /**
+     * Lida com o menu "Buscar" (ou Ctrl+F).
+     * Busca o texto digitado nos nomes dos projetos e nas descrições das tarefas
+     * (sem diferenciar acentos e tolerando erros de digitação) e exibe os resultados
+     * em uma lista; o projeto do resultado escolhido é aberto.
+     */
+    private void handleSearch() {
+        if (loading) {
+            return;
+        }
+
+        String text = JOptionPane.showInputDialog(this,
+                "Digite o texto a buscar (nome de projeto ou descrição de tarefa):",
+                "Buscar",
+                JOptionPane.PLAIN_MESSAGE);
+
+        if (AppUtils.isStringNullOrEmpty(text)) {
+            return;
+        }
+
+        List<SearchHit> hits = manager.search(text, SEARCH_RESULTS);
+        // Com carregamento tardio, parte das tarefas ainda pode estar sendo lida em segundo plano.
+        String partial = manager.isTaskIndexComplete() ? "" : " (tarefas ainda sendo carregadas; resultados parciais)";
+        if (hits.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "Nenhum projeto ou tarefa encontrado para '" + text + "'." + partial,
+                    "Buscar",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JList<SearchHit> resultList = new JList<>(hits.toArray(new SearchHit[0]));
+        resultList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        resultList.setSelectedIndex(0);
+        JScrollPane scrollPane = new JScrollPane(resultList);
+        scrollPane.setPreferredSize(new Dimension(560, 300));
+
+        int choice = JOptionPane.showConfirmDialog(this,
+                scrollPane,
+                hits.size() + " resultado(s) para '" + text + "'" + partial + " - escolha um para abrir o projeto",
+                JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+
+        SearchHit selected = resultList.getSelectedValue();
+        if (choice == JOptionPane.OK_OPTION && selected != null) {
+            openProject(selected.getProject());
+        }
+    }
+
+    /**
+     * Lida com o menu "Lembretes" (ou Ctrl+L).
+     * Exibe os lembretes recebidos (tarefas e projetos que vencem em breve ou estão
+     * atrasados), do mais recente para o mais antigo; o projeto do lembrete escolhido é aberto.
+     */
+    private void handleShowReminders() {
+        if (loading) {
+            return;
+        }
+        unseenReminders = 0;
+        updateRemindersMenu();
+
+        if (reminders.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "Nenhum prazo próximo ou atrasado até agora.",
+                    "Lembretes",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        JList<ReminderEvent> reminderList = new JList<>(reminders);
+        reminderList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        reminderList.setSelectedIndex(0);
+        JScrollPane scrollPane = new JScrollPane(reminderList);
+        scrollPane.setPreferredSize(new Dimension(640, 300));
+
+        int choice = JOptionPane.showConfirmDialog(this,
+                scrollPane,
+                reminders.size() + " lembrete(s) - escolha um para abrir o projeto",
+                JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE);
+
+        ReminderEvent selected = reminderList.getSelectedValue();
+        if (choice != JOptionPane.OK_OPTION || selected == null) {
+            return;
+        }
+
+        Project project = selected.getProject() != null ? manager.getProjectById(selected.getProject().getId()) : null;
+        if (project == null) {
+            JOptionPane.showMessageDialog(this,
+                    "O projeto deste lembrete não existe mais.",
+                    "Lembretes",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        openProject(project);
     }
 
     /**
@@ -443,8 +779,13 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
     /**
      * <p>Lida com o clique no botão de fechar a janela principal</p>
      * Pergunta se o usuário quer salvar antes de fechar o programa.
+     * Durante o carregamento inicial não há nada a salvar, então o programa apenas fecha.
      */
     private void handleExit() {
+        if (loading) {
+            System.exit(0);
+        }
+
         int choice = JOptionPane.showConfirmDialog(
                 this,
                 "Deseja salvar as alterações antes de sair?",
@@ -454,12 +795,15 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
         );
 
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                manager.saveData();
-                System.exit(0);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this, "Erro ao salvar: " + e.getMessage());
-            }
+            // Salva em segundo plano e só fecha quando a gravação terminar.
+            setButtonsEnabled(false);
+            manager.saveDataAsync().whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+                if (error == null) {
+                    System.exit(0);
+                }
+                setButtonsEnabled(true);
+                JOptionPane.showMessageDialog(this, "Erro ao salvar: " + causeOf(error).getMessage());
+            }));
 
         } else if (choice == JOptionPane.NO_OPTION) {
             System.exit(0);
@@ -469,6 +813,16 @@ public class GuiMainMenuView extends JFrame implements IMainMenuView {
         // Não faz nada, a janela continua aberta.
     }
 
+    /**
+     * Retorna a causa real de um erro vindo de um {@link java.util.concurrent.CompletableFuture}.
+     */
+    private static Throwable causeOf(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
     /**
      * Método utilitário para adicionar o hand cursor
      * a múltiplos componentes de uma vez.
@@ -16,10 +16,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Implementação Gráfica (Swing) da tela de detalhes do projeto.
@@ -39,6 +36,8 @@ public class GuiProjectView extends JDialog implements IProjectView {
 
     private ProjectManager manager;
     private Project project;
+    /** Entrega na EDT as alterações do manager para a tabela e o cabeçalho desta tela. */
+    private final ModelEventCoalescer modelEvents;
 
     private JPanel titlePanel;
     private JScrollPane taskScrollPane;
@@ -61,6 +60,7 @@ public class GuiProjectView extends JDialog implements IProjectView {
     public GuiProjectView(ProjectManager manager, Project project) {
         this.manager = manager;
         this.project = project;
+        this.modelEvents = new ModelEventCoalescer(manager);
 
         this.setContentPane(projectPanel);
         this.setModal(true);
@@ -71,10 +71,20 @@ public class GuiProjectView extends JDialog implements IProjectView {
         taskTable.setTableHeader(null);
 
         loadProjectData();
-        loadTaskList();
+        setupTaskTable();
         setupListeners();
     }
 
+    /**
+     * {@inheritDoc}
+     * Também para de ouvir as alterações do manager.
+     */
+    @Override
+    public void dispose() {
+        modelEvents.dispose();
+        super.dispose();
+    }
+
     /**
      * Para a GUI, o método display() simplesmente
      * torna a janela (JDialog) visível.
@@ -96,14 +106,23 @@ public class GuiProjectView extends JDialog implements IProjectView {
     }
 
     /**
-     * Método auxiliar privado que carrega (ou recarrega) a lista
-     * de tarefas usando o TaskTableModel.
+     * Método auxiliar privado que configura, uma única vez, a lista de tarefas
+     * (TaskTableModel, colunas e renderizador).
+     * <p>
+     * O modelo recebe os eventos do manager e atualiza apenas as linhas alteradas; as
+     * alterações do próprio projeto (ex: o progresso) atualizam o cabeçalho.
+     * </p>
      */
-    private void loadTaskList() {
-
-        ArrayList<Task> tasks = this.project.getTasks();
-
-        TaskTableModel tableModel = new TaskTableModel(tasks);
+    private void setupTaskTable() {
+
+        TaskTableModel tableModel = new TaskTableModel(this.manager, this.project);
+        modelEvents.addListener(tableModel);
+        modelEvents.addListener(event -> {
+            if (event.getType() == ModelChangeType.RELOADED
+                    || (event.getType() == ModelChangeType.PROJECT_UPDATED && event.getProject() == project)) {
+                loadProjectData();
+            }
+        });
         taskTable.setModel(tableModel);
 
         TableColumnModel columnModel = taskTable.getColumnModel();
@@ -128,8 +147,6 @@ public class GuiProjectView extends JDialog implements IProjectView {
         taskTable.getColumnModel().getColumn(4).setCellRenderer(renderer);
         taskTable.getColumnModel().getColumn(5).setCellRenderer(renderer);
 
-        progressBar.setValue((int) this.project.getProgressPercentage());
-
     }
 
     /**
@@ -213,7 +230,11 @@ public class GuiProjectView extends JDialog implements IProjectView {
         });
 
         backButton.addActionListener(e -> {
-            this.manager.saveData();
+            // Salva em segundo plano: a janela fecha sem esperar a gravação.
+            this.manager.saveDataAsync().exceptionally(error -> {
+                System.err.println("ERRO CRÍTICO: Falha ao salvar dados: " + error.getMessage());
+                return null;
+            });
             this.dispose();
         });
 
@@ -242,8 +263,6 @@ public class GuiProjectView extends JDialog implements IProjectView {
                 return;
             }
 
-            Map<String, Object> data = new HashMap<>();
-
             String description = JOptionPane.showInputDialog(
                     this, "Digite a descrição da tarefa:",
                     "Adicionar Tarefa", JOptionPane.PLAIN_MESSAGE);
@@ -251,7 +270,6 @@ public class GuiProjectView extends JDialog implements IProjectView {
             if (AppUtils.isStringNullOrEmpty(description)) {
                 throw new IllegalArgumentException("A descrição não pode ser vazia.");
             }
-            data.put("description", description);
 
             Object[] priorityOptions = {1, 2, 3, 4, 5};
 
@@ -265,29 +283,27 @@ public class GuiProjectView extends JDialog implements IProjectView {
             }
 
             int priorityInt = (int) priority;
-            data.put("priority", priorityInt);
+            LocalDate date = null;
 
             switch (chosenType) {
                 case DEADLINE:
-                    LocalDate deadline = LocalDate.parse(JOptionPane.showInputDialog(this,
+                    date = LocalDate.parse(JOptionPane.showInputDialog(this,
                             "Digite o prazo (AAAA-MM-DD):", "Adicionar Tarefa",
                             JOptionPane.PLAIN_MESSAGE));
-                    data.put("deadline", deadline);
                     break;
                 case MILESTONE:
-                    LocalDate date = LocalDate.parse(JOptionPane.showInputDialog(this,
+                    date = LocalDate.parse(JOptionPane.showInputDialog(this,
                             "Digite a data do Marco (AAAA-MM-DD):", "Adicionar Tarefa",
                             JOptionPane.PLAIN_MESSAGE));
-                    data.put("milestoneDate", date);
                     break;
                 case SIMPLE:
                     // Não precisa de dados extras
                     break;
             }
 
-            this.manager.createTaskForProject(this.project.getId(), chosenType, data);
+            TaskSpec spec = TaskSpec.of(chosenType, description, priorityInt, date);
+            this.manager.createTaskForProject(this.project.getId(), spec);
             JOptionPane.showMessageDialog(this, "Tarefa criada com sucesso!");
-            loadTaskList();
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Formato de data inválido. Use AAAA-MM-DD.",
                     "Erro de Entrada", JOptionPane.ERROR_MESSAGE);
@@ -323,7 +339,7 @@ public class GuiProjectView extends JDialog implements IProjectView {
             if (AppUtils.isStringNullOrEmpty(newDescription)) {
                 return;
             }
-            selectedTask.setDescription(newDescription);
+            manager.updateTask(project.getId(), selectedTask.getId(), task -> task.setDescription(newDescription));
 
             Object[] priorityOptions = {1, 2, 3, 4, 5};
 
@@ -335,7 +351,7 @@ public class GuiProjectView extends JDialog implements IProjectView {
             if (priority == null) {
                 return;
             }
-            selectedTask.setPriority((int) priority);
+            manager.updateTask(project.getId(), selectedTask.getId(), task -> task.setPriority((int) priority));
 
             Status newStatus = (Status) JOptionPane.showInputDialog(this, "Selecione o NOVO status",
                     "Editar Tarefa", JOptionPane.QUESTION_MESSAGE, null, selectedTask.getValidStatuses(),
@@ -344,7 +360,7 @@ public class GuiProjectView extends JDialog implements IProjectView {
             if (newStatus == null) {
                 return;
             }
-            selectedTask.setStatus(newStatus);
+            manager.updateTask(project.getId(), selectedTask.getId(), task -> task.setStatus(newStatus));
 
             if (selectedTask instanceof DeadlineTask) {
                 String newDateStr = (String) JOptionPane.showInputDialog(this,
@@ -356,7 +372,8 @@ public class GuiProjectView extends JDialog implements IProjectView {
                     return;
                 }
                 LocalDate newDeadline = LocalDate.parse(newDateStr);
-                ((DeadlineTask) selectedTask).setTaskDeadline(newDeadline);
+                manager.updateTask(project.getId(), selectedTask.getId(),
+                        task -> ((DeadlineTask) task).setTaskDeadline(newDeadline));
             } else if (selectedTask instanceof Milestone) {
                 String newDateStr = (String) JOptionPane.showInputDialog(this,
                         "Digite a NOVA data do Marco (AAAA-MM-DD):", "Editar Tarefa",
@@ -367,14 +384,13 @@ public class GuiProjectView extends JDialog implements IProjectView {
                     return;
                 }
                 LocalDate newMilestoneDate = LocalDate.parse(newDateStr);
-                ((Milestone) selectedTask).setMilestoneDate(newMilestoneDate);
+                manager.updateTask(project.getId(), selectedTask.getId(),
+                        task -> ((Milestone) task).setMilestoneDate(newMilestoneDate));
             }
 
             JOptionPane.showMessageDialog(this, "Tarefa atualizada com sucesso!",
                     "Sucesso", JOptionPane.INFORMATION_MESSAGE);
 
-            loadTaskList();
-
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Formato de data inválido. Use AAAA-MM-DD.",
                     "Erro de Formato", JOptionPane.ERROR_MESSAGE);
@@ -405,12 +421,11 @@ public class GuiProjectView extends JDialog implements IProjectView {
                 JOptionPane.YES_NO_OPTION, JOptionPane.PLAIN_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = project.removeTask(selectedTask.getId());
+            boolean success = manager.deleteTask(project.getId(), selectedTask.getId());
 
             if (success) {
                 JOptionPane.showMessageDialog(this, "Tarefa excluída com sucesso.",
                         "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-                loadTaskList();
             } else {
                 JOptionPane.showMessageDialog(this, "Erro: Falha ao excluir a tarefa.",
                         "Erro", JOptionPane.ERROR_MESSAGE);
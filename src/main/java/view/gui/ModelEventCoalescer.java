@@ -0,0 +1,155 @@
+package view.gui;
+
+import model.IModelListener;
+import model.ModelChangeEvent;
+import model.ModelChangeType;
+import model.ProjectManager;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Repassa para a thread da interface gráfica (EDT) os eventos de alteração do
+ * {@link ProjectManager}, agrupados.
+ * <p>
+ * Os eventos chegam na thread que alterou o manager ({@link IModelListener}) e são
+ * guardados; todos os que chegarem até a EDT ficar livre são entregues de uma vez, com um
+ * único {@link SwingUtilities#invokeLater}. Na entrega:
+ * </p>
+ * <ul>
+ *     <li>alterações repetidas do mesmo projeto ou tarefa viram uma só (a tabela lê o valor
+ *     atual ao redesenhar a linha), assim como alterações de itens adicionados no mesmo ciclo;</li>
+ *     <li>se muitos eventos chegaram no mesmo ciclo (ex: uma operação em lote), eles são
+ *     trocados por um único {@link ModelChangeType#RELOADED}, pois redesenhar tudo sai mais
+ *     barato do que aplicar cada evento.</li>
+ * </ul>
+ * <p>
+ * As telas registram um {@link IModelListener} em {@link #addListener} e o recebem sempre
+ * na EDT, com as posições válidas na ordem de entrega.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+public class ModelEventCoalescer implements IModelListener {
+
+    /** Acima desta quantidade de eventos em um mesmo ciclo, entrega-se um único RELOADED. */
+    private static final int MAX_EVENTS_PER_TICK = 1000;
+
+    private final ProjectManager manager;
+    private final List<IModelListener> listeners = new CopyOnWriteArrayList<>();
+
+    // --- Eventos ainda não entregues (protegidos por this.pendingLock) ---
+    private final Object pendingLock = new Object();
+    private List<ModelChangeEvent> pending = new ArrayList<>();
+    private boolean reloadPending;
+    private boolean deliveryScheduled;
+
+    /**
+     * Construtor que passa a ouvir as alterações do manager.
+     * @param manager O manager cujas alterações serão repassadas.
+     */
+    public ModelEventCoalescer(ProjectManager manager) {
+        this.manager = manager;
+        manager.addModelListener(this);
+    }
+
+    /**
+     * Registra quem deve receber os eventos (sempre na EDT).
+     * @param listener O ouvinte.
+     */
+    public void addListener(IModelListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove um ouvinte registrado com {@link #addListener}.
+     * @param listener O ouvinte.
+     */
+    public void removeListener(IModelListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Para de ouvir o manager. Eventos já guardados ainda são entregues.
+     */
+    public void dispose() {
+        manager.removeModelListener(this);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Guarda o evento e agenda a entrega na EDT, se ainda não houver uma agendada.
+     */
+    @Override
+    public void modelChanged(ModelChangeEvent event) {
+        synchronized (pendingLock) {
+            if (!reloadPending) {
+                if (event.getType() == ModelChangeType.RELOADED || pending.size() >= MAX_EVENTS_PER_TICK) {
+                    reloadPending = true;
+                    pending = new ArrayList<>();
+                } else {
+                    pending.add(event);
+                }
+            }
+            if (!deliveryScheduled) {
+                deliveryScheduled = true;
+                SwingUtilities.invokeLater(this::deliver);
+            }
+        }
+    }
+
+    /**
+     * Entrega, na EDT, os eventos guardados desde a última entrega.
+     */
+    private void deliver() {
+        List<ModelChangeEvent> events;
+        synchronized (pendingLock) {
+            events = reloadPending ? Collections.singletonList(ModelChangeEvent.reloaded()) : coalesce(pending);
+            pending = new ArrayList<>();
+            reloadPending = false;
+            deliveryScheduled = false;
+        }
+
+        for (ModelChangeEvent event : events) {
+            for (IModelListener listener : listeners) {
+                listener.modelChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Retira as alterações redundantes: de um item já alterado ou adicionado neste ciclo.
+     * Adições e remoções são todas mantidas, na ordem, pois mudam as posições seguintes.
+     */
+    private static List<ModelChangeEvent> coalesce(List<ModelChangeEvent> events) {
+        List<ModelChangeEvent> kept = new ArrayList<>(events.size());
+        Set<Object> refreshed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ModelChangeEvent event : events) {
+            Object item = event.isTaskEvent() ? event.getTask() : event.getProject();
+            switch (event.getType()) {
+                case PROJECT_UPDATED:
+                case TASK_UPDATED:
+                    if (refreshed.add(item)) {
+                        kept.add(event);
+                    }
+                    break;
+                case PROJECT_ADDED:
+                case TASK_ADDED:
+                    if (event.getCount() == 1) {
+                        refreshed.add(item);
+                    }
+                    kept.add(event);
+                    break;
+                default:
+                    kept.add(event);
+            }
+        }
+        return kept;
+    }
+}
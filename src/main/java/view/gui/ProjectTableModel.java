@@ -1,10 +1,14 @@
 package view.gui;
 
 import model.AppUtils;
+import model.IModelListener;
+import model.ModelChangeEvent;
 import model.Project;
+import model.ProjectManager;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
+import java.util.Collections;
 
 /**
  * Modelo de Tabela para a JTable que exibe os Projetos.
@@ -14,21 +18,41 @@ import java.util.ArrayList;
  * 2. Quais os nomes das colunas.
  * 3. Como "renderizar" cada célula.
  * </p>
+ * <p>
+ * O modelo é criado uma única vez e acompanha o manager pelos eventos de alteração
+ * ({@link IModelListener}, entregues na EDT pelo {@link ModelEventCoalescer}): cada
+ * projeto adicionado, removido ou alterado avisa a JTable apenas da linha afetada, sem
+ * recriar o modelo (a seleção e as colunas são mantidas).
+ * </p>
+ * <p>
+ * Os textos de cada linha são formatados uma única vez e guardados em um
+ * {@link DisplayRow}, descartado apenas quando o projeto muda.
+ * </p>
  *
  * @author Manuela Skrsypcsak Kist
  * @version 1.0
  */
-public class ProjectTableModel extends AbstractTableModel {
+public class ProjectTableModel extends AbstractTableModel implements IModelListener {
 
-    private final ArrayList<Project> projects;
+    private final ProjectManager manager;
+    /** As linhas exibidas, na ordem da lista do manager (atualizadas pelos eventos). */
+    private final ArrayList<Project> rows;
+    /** Os textos já formatados de cada linha (null enquanto a linha não for exibida). */
+    private final ArrayList<DisplayRow> displayRows;
     private final String[] columnNames = {"ID", "Nome do Projeto", "Prazo", "Progresso"};
 
     /**
-     * Construtor que recebe a lista de projetos do ProjectManager.
-     * @param projects A lista de projetos a ser exibida.
+     * Construtor que recebe o ProjectManager cujos projetos serão exibidos.
+     * <p>
+     * Deve ser criado na EDT, junto com o {@link ModelEventCoalescer} que o avisará, para
+     * que nenhuma alteração fique entre a cópia inicial da lista e o primeiro evento.
+     * </p>
+     * @param manager O manager cujos projetos serão exibidos.
      */
-    public ProjectTableModel(ArrayList<Project> projects) {
-        this.projects = projects;
+    public ProjectTableModel(ProjectManager manager) {
+        this.manager = manager;
+        this.rows = new ArrayList<>(manager.getProjects());
+        this.displayRows = new ArrayList<>(Collections.nCopies(rows.size(), (DisplayRow) null));
     }
 
     // --- Métodos Obrigatórios do AbstractTableModel ---
@@ -48,7 +72,7 @@ public class ProjectTableModel extends AbstractTableModel {
      */
     @Override
     public int getRowCount() {
-        return projects.size();
+        return rows.size();
     }
 
     /**
@@ -68,20 +92,26 @@ public class ProjectTableModel extends AbstractTableModel {
      */
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
+        DisplayRow row = displayRows.get(rowIndex);
+        if (row == null) {
+            row = format(rows.get(rowIndex));
+            displayRows.set(rowIndex, row);
+        }
+        return row.get(columnIndex);
+    }
 
-        Project project = projects.get(rowIndex);
-
-        return switch (columnIndex) {
-            case 0 -> // Coluna "ID"
-                    project.getId();
-            case 1 -> // Coluna "Nome do Projeto"
-                    project.getName();
-            case 2 -> // Coluna "Prazo"
-                    AppUtils.formatarData(project.getGeneralDeadline());
-            case 3 -> // Coluna "Progresso"
-                    String.format("%.0f%%", project.getProgressPercentage());
-            default -> "??"; // Nunca deve acontecer
-        };
+    /**
+     * Formata os textos de todas as colunas de um projeto.
+     * @param project O projeto.
+     * @return A linha formatada.
+     */
+    private static DisplayRow format(Project project) {
+        return new DisplayRow(
+                project.getDisplayId(),                                  // Coluna "ID"
+                project.getName(),                                       // Coluna "Nome do Projeto"
+                AppUtils.formatarData(project.getGeneralDeadline()),     // Coluna "Prazo"
+                String.format("%.0f%%", project.getProgressPercentage()) // Coluna "Progresso"
+        );
     }
 
     /**
@@ -91,7 +121,71 @@ public class ProjectTableModel extends AbstractTableModel {
      * @return O objeto Project daquela linha.
      */
     public Project getProjectAt(int row) {
-        return projects.get(row);
+        return rows.get(row);
     }
 
+    // --- Atualização Incremental ---
+
+    /**
+     * {@inheritDoc}
+     * Aplica a alteração às linhas e avisa a JTable só da linha afetada. Eventos de
+     * tarefas são ignorados: a mudança de progresso chega como alteração do projeto.
+     * Se o evento não corresponder às linhas atuais, a tabela inteira é recarregada.
+     */
+    @Override
+    public void modelChanged(ModelChangeEvent event) {
+        int index = event.getIndex();
+        switch (event.getType()) {
+            case PROJECT_ADDED:
+                if (index < 0 || index > rows.size()) {
+                    reload();
+                    return;
+                }
+                rows.add(index, event.getProject());
+                displayRows.add(index, null);
+                fireTableRowsInserted(index, index);
+                break;
+
+            case PROJECT_REMOVED:
+                if (!isRowOf(index, event.getProject())) {
+                    reload();
+                    return;
+                }
+                rows.remove(index);
+                displayRows.remove(index);
+                fireTableRowsDeleted(index, index);
+                break;
+
+            case PROJECT_UPDATED:
+                if (!isRowOf(index, event.getProject())) {
+                    reload();
+                    return;
+                }
+                displayRows.set(index, null);
+                fireTableRowsUpdated(index, index);
+                break;
+
+            case RELOADED:
+                reload();
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Copia de novo a lista inteira do manager e redesenha a tabela.
+     */
+    private void reload() {
+        rows.clear();
+        rows.addAll(manager.getProjects());
+        displayRows.clear();
+        displayRows.addAll(Collections.nCopies(rows.size(), (DisplayRow) null));
+        fireTableDataChanged();
+    }
+
+    private boolean isRowOf(int index, Project project) {
+        return index >= 0 && index < rows.size() && rows.get(index) == project;
+    }
 }
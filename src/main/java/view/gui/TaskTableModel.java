@@ -3,22 +3,46 @@ package view.gui;
 import model.*; // Importa Task, Status, DeadlineTask, etc.
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
+import java.util.Collections;
 
 /**
  * Modelo de Tabela para a JTable que exibe as Tarefas.
  * É o "motor" que a JTable usa para entender a lista de Tasks.
+ * <p>
+ * Assim como o {@link ProjectTableModel}, é criado uma única vez por tela e acompanha o
+ * projeto pelos eventos de alteração: cada tarefa adicionada, removida ou alterada avisa
+ * a JTable apenas das linhas afetadas.
+ * </p>
+ * <p>
+ * Os textos de cada linha são formatados uma única vez e guardados em um
+ * {@link DisplayRow}, descartado apenas quando a tarefa muda.
+ * </p>
  *
  * @author Manuela Skrsypcsak Kist
  * @version 1.0
  */
-public class TaskTableModel extends AbstractTableModel {
+public class TaskTableModel extends AbstractTableModel implements IModelListener {
 
+    private final ProjectManager manager;
+    private final Project project;
+    /** As linhas exibidas, na ordem da lista do projeto (atualizadas pelos eventos). */
     private final ArrayList<Task> tasks;
+    /** Os textos já formatados de cada linha (null enquanto a linha não for exibida). */
+    private final ArrayList<DisplayRow> displayRows;
 
     private final String[] columnNames = {"ID", "Descrição", "Tipo", "Prioridade", "Data", "Status"};
 
-    public TaskTableModel(ArrayList<Task> tasks) {
-        this.tasks = tasks;
+    /**
+     * Construtor que recebe o projeto cujas tarefas serão exibidas.
+     * @param manager O manager do projeto, de onde as tarefas são copiadas
+     * ({@link ProjectManager#getTasks(long)}).
+     * @param project O projeto.
+     */
+    public TaskTableModel(ProjectManager manager, Project project) {
+        this.manager = manager;
+        this.project = project;
+        this.tasks = new ArrayList<>(manager.getTasks(project.getId()));
+        this.displayRows = new ArrayList<>(Collections.nCopies(tasks.size(), (DisplayRow) null));
     }
 
     @Override
@@ -37,51 +61,123 @@ public class TaskTableModel extends AbstractTableModel {
     }
 
     /**
-     * Método que decide o que mostrar em cada célula, usando
-     * 'instanceof' para checar o tipo da tarefa.
+     * Retorna o texto de cada célula, formatando a linha apenas na primeira vez
+     * que ela é exibida (ver {@link #format(Task)}).
      */
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
+        DisplayRow row = displayRows.get(rowIndex);
+        if (row == null) {
+            row = format(tasks.get(rowIndex));
+            displayRows.set(rowIndex, row);
+        }
+        return row.get(columnIndex);
+    }
 
-        Task task = tasks.get(rowIndex);
+    /**
+     * Método que decide o que mostrar em cada coluna de uma tarefa, usando
+     * 'instanceof' para checar o tipo da tarefa.
+     * @param task A tarefa.
+     * @return A linha formatada.
+     */
+    private static DisplayRow format(Task task) {
+        String type; // Coluna "Tipo"
+        String date; // Coluna "Data"
+        if (task instanceof Milestone) {
+            type = "Marco (Milestone)";
+            date = AppUtils.formatarData(((Milestone) task).getMilestoneDate());
+        } else if (task instanceof DeadlineTask) {
+            type = "Tarefa Com Prazo";
+            date = AppUtils.formatarData(((DeadlineTask) task).getTaskDeadline());
+        } else {
+            type = "Tarefa Simples"; // (SimpleTask)
+            date = "-";
+        }
 
-        switch (columnIndex) {
-            case 0: // Coluna "ID"
-                return task.getId();
+        return new DisplayRow(
+                task.getDisplayId(),                    // Coluna "ID"
+                task.getDescription(),                  // Coluna "Descrição"
+                type,
+                String.valueOf(task.getPriority()),     // Coluna "Prioridade"
+                date,
+                String.valueOf(task.getStatus())        // Coluna "Status"
+        );
+    }
 
-            case 1: // Coluna "Descrição"
-                return task.getDescription();
+    /**
+     * Método auxiliar para a View poder pegar o objeto Task
+     * de uma linha específica (para editar ou excluir).
+     */
+    public Task getTaskAt(int row) {
+        return tasks.get(row);
+    }
 
-            case 2: // Coluna "Tipo"
-                if (task instanceof Milestone) return "Marco (Milestone)";
-                if (task instanceof DeadlineTask) return "Tarefa Com Prazo";
-                return "Tarefa Simples"; // (SimpleTask)
+    // --- Atualização Incremental ---
 
-            case 3: // Coluna "Prioridade"
-                return task.getPriority();
+    /**
+     * {@inheritDoc}
+     * Aplica as alterações das tarefas deste projeto às linhas e avisa a JTable só das
+     * linhas afetadas. Se o evento não corresponder às linhas atuais, a tabela inteira
+     * é recarregada.
+     */
+    @Override
+    public void modelChanged(ModelChangeEvent event) {
+        if (event.getType() == ModelChangeType.RELOADED) {
+            reload();
+            return;
+        }
+        if (!event.isTaskEvent() || event.getProject() != project) {
+            return;
+        }
 
-            case 4: // Coluna "Data"
-                if (task instanceof DeadlineTask) {
-                    return AppUtils.formatarData(((DeadlineTask) task).getTaskDeadline());
+        int index = event.getIndex();
+        switch (event.getType()) {
+            case TASK_ADDED:
+                if (index < 0 || index > tasks.size()) {
+                    reload();
+                    return;
                 }
-                if (task instanceof Milestone) {
-                    return AppUtils.formatarData(((Milestone) task).getMilestoneDate());
+                tasks.addAll(index, event.getTasks());
+                displayRows.addAll(index, Collections.nCopies(event.getCount(), (DisplayRow) null));
+                fireTableRowsInserted(index, index + event.getCount() - 1);
+                break;
+
+            case TASK_REMOVED:
+                if (!isRowOf(index, event.getTask())) {
+                    reload();
+                    return;
                 }
-                return "-";
-
-            case 5: // Coluna "Status"
-                return task.getStatus();
+                tasks.remove(index);
+                displayRows.remove(index);
+                fireTableRowsDeleted(index, index);
+                break;
+
+            case TASK_UPDATED:
+                if (!isRowOf(index, event.getTask())) {
+                    reload();
+                    return;
+                }
+                displayRows.set(index, null);
+                fireTableRowsUpdated(index, index);
+                break;
 
             default:
-                return "??";
+                break;
         }
     }
 
     /**
-     * Método auxiliar para a View poder pegar o objeto Task
-     * de uma linha específica (para editar ou excluir).
+     * Copia de novo a lista inteira do projeto e redesenha a tabela.
      */
-    public Task getTaskAt(int row) {
-        return tasks.get(row);
+    private void reload() {
+        tasks.clear();
+        tasks.addAll(manager.getTasks(project.getId()));
+        displayRows.clear();
+        displayRows.addAll(Collections.nCopies(tasks.size(), (DisplayRow) null));
+        fireTableDataChanged();
+    }
+
+    private boolean isRowOf(int index, Task task) {
+        return index >= 0 && index < tasks.size() && tasks.get(index) == task;
     }
-}
\ No newline at end of file
+}
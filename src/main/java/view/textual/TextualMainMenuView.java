@@ -3,6 +3,8 @@ package view.textual;
 import model.AppUtils;
 import model.Project;
 import model.ProjectManager;
+import model.ReminderEvent;
+import model.SearchHit;
 import view.IMainMenuView;
 import view.IProjectView;
 import view.IViewFactory;
@@ -14,7 +16,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -30,6 +32,11 @@ import java.util.Scanner;
  */
 public class TextualMainMenuView implements IMainMenuView {
 
+    /** Quantidade máxima de resultados exibidos pela busca. */
+    private static final int SEARCH_RESULTS = 20;
+    /** Quantidade máxima de lembretes de prazo exibidos de uma vez. */
+    private static final int REMINDERS_SHOWN = 10;
+
     private final ProjectManager manager;
     private final Scanner scanner;
     private boolean running;
@@ -45,14 +52,16 @@ public class TextualMainMenuView implements IMainMenuView {
     }
 
     /**
-     * Inicia o loop principal do menu textual. O programa
+     * Carrega os dados salvos e inicia o loop principal do menu textual. O programa
      * ficará preso neste loop até que o usuário escolha "Sair".
      */
     @Override
     public void display() {
+        this.manager.loadData();
         System.out.println("Bem-vindo ao Gerenciador de Projetos!");
 
         while (this.running) {
+            showReminders();
             showMenuOptions();
             String choice = scanner.nextLine().trim();
             handleMenuChoice(choice);
@@ -62,6 +71,29 @@ public class TextualMainMenuView implements IMainMenuView {
         this.scanner.close();
     }
 
+    /**
+     * Método auxiliar privado que exibe os lembretes de prazo emitidos desde a última vez
+     * (tarefas e projetos que vencem em breve ou já estão atrasados).
+     * <p>
+     * No modo textual a agenda é avançada aqui, antes de cada menu, pois é só nesse momento
+     * que algo pode ser exibido no console.
+     * </p>
+     */
+    private void showReminders() {
+        List<ReminderEvent> events = this.manager.getReminders().advance();
+        if (events.isEmpty()) {
+            return;
+        }
+
+        System.out.println("\n--- LEMBRETES DE PRAZO ---");
+        for (int i = 0; i < events.size() && i < REMINDERS_SHOWN; i++) {
+            System.out.println("AVISO: " + events.get(i));
+        }
+        if (events.size() > REMINDERS_SHOWN) {
+            System.out.println("... e mais " + (events.size() - REMINDERS_SHOWN) + " lembrete(s).");
+        }
+    }
+
     /**
      * Método auxiliar privado que apenas exibe as opções do menu.
      */
@@ -74,6 +106,7 @@ public class TextualMainMenuView implements IMainMenuView {
         System.out.println("5. Excluir um projeto");
         System.out.println("6. Salvar dados agora");
         System.out.println("7. Carregar dados externos");
+        System.out.println("8. Buscar projetos e tarefas");
         System.out.println("0. Sair");
         System.out.print("Escolha uma opção: ");
     }
@@ -105,6 +138,9 @@ public class TextualMainMenuView implements IMainMenuView {
             case "7":
                 this.handleLoadData();
                 break;
+            case "8":
+                this.handleSearch();
+                break;
             case "0":
                 this.handleExit();
                 break;
@@ -118,7 +154,7 @@ public class TextualMainMenuView implements IMainMenuView {
      * Busca os projetos no manager e os exibe no console.
      */
     private void handleListProjects() {
-        ArrayList<Project> projects = this.manager.getProjects();
+        List<Project> projects = this.manager.getProjects();
 
         if (projects.isEmpty()) {
             System.out.println("Nenhum projeto cadastrado.");
@@ -129,7 +165,7 @@ public class TextualMainMenuView implements IMainMenuView {
         for (Project p : projects) {
             System.out.printf(
                     "ID: %s (%.0f%%) | %s (Prazo: %s)\n",
-                    p.getId(),
+                    p.getDisplayId(),
                     p.getProgressPercentage(),
                     p.getName(),
                     AppUtils.formatarData(p.getGeneralDeadline())
@@ -177,6 +213,15 @@ public class TextualMainMenuView implements IMainMenuView {
             return;
         }
 
+        this.openProject(project);
+    }
+
+    /**
+     * Método auxiliar que usa a FÁBRICA ABSTRATA para criar e exibir a tela de
+     * detalhes de um projeto.
+     * @param project O projeto a ser exibido.
+     */
+    private void openProject(Project project) {
         IViewFactory factory = ViewFactoryProvider.getFactory();
 
         IProjectView projectView = factory.createProjectView(this.manager, project);
@@ -264,7 +309,7 @@ public class TextualMainMenuView implements IMainMenuView {
      */
     private void handleLoadData() {
         System.out.println("\n--- Importar Projetos ---");
-        System.out.print("Digite o caminho completo do arquivo .dat (ex: C:\\MeusDados\\projetos.dat): ");
+        System.out.print("Digite o caminho completo do arquivo .dat ou de um diretório com vários arquivos .dat (ex: C:\\MeusDados\\projetos.dat): ");
         String filePath = scanner.nextLine();
 
         if (model.AppUtils.isStringNullOrEmpty(filePath)) {
@@ -273,13 +318,18 @@ public class TextualMainMenuView implements IMainMenuView {
         }
 
         File file = new File(filePath);
-        if (!file.exists() || !file.isFile()) {
+        if (!file.exists()) {
             System.out.println("\nERRO: Arquivo não encontrado ou inválido: " + filePath + ". Operação cancelada");
             return;
         }
 
         try {
             System.out.println("\nImportando...");
+            if (file.isDirectory()) {
+                int count = this.manager.importProjectsFromDirectory(file);
+                System.out.println("SUCESSO: " + count + " projeto(s) importado(s) e adicionado(s) à lista.");
+                return;
+            }
             this.manager.importProjectsFromFile(file);
 
             System.out.println("SUCESSO: Projetos importados e adicionados à lista.");
@@ -289,6 +339,53 @@ public class TextualMainMenuView implements IMainMenuView {
         }
     }
 
+    /**
+     * Lida com a opção "8. Buscar projetos e tarefas".
+     * Busca o texto digitado nos nomes dos projetos e nas descrições das tarefas
+     * (sem diferenciar acentos e tolerando erros de digitação) e permite abrir o
+     * projeto de um dos resultados.
+     */
+    private void handleSearch() {
+        System.out.print("\nDigite o texto a buscar: ");
+        String text = scanner.nextLine();
+
+        if (AppUtils.isStringNullOrEmpty(text)) {
+            System.out.println("ERRO: O texto da busca não pode ser vazio.");
+            return;
+        }
+
+        List<SearchHit> hits = this.manager.search(text, SEARCH_RESULTS);
+        if (!this.manager.isTaskIndexComplete()) {
+            System.out.println("AVISO: As tarefas ainda estão sendo carregadas; os resultados podem estar incompletos.");
+        }
+        if (hits.isEmpty()) {
+            System.out.println("Nenhum projeto ou tarefa encontrado para '" + text + "'.");
+            return;
+        }
+
+        System.out.println("\n--- Resultados da Busca ---");
+        for (int i = 0; i < hits.size(); i++) {
+            System.out.printf("%d. %s\n", (i + 1), hits.get(i));
+        }
+
+        System.out.print("Digite o NÚMERO do resultado para abrir o seu projeto (ou Enter para voltar): ");
+        String choice = scanner.nextLine().trim();
+        if (choice.isEmpty()) {
+            return;
+        }
+
+        try {
+            int index = Integer.parseInt(choice);
+            if (index < 1 || index > hits.size()) {
+                System.out.println("Número inválido.");
+                return;
+            }
+            this.openProject(hits.get(index - 1).getProject());
+        } catch (NumberFormatException e) {
+            System.out.println("ERRO: Digite um número válido.");
+        }
+    }
+
     /**
      * Lida com a opção "0. Sair".
      * Pede se o usuário deseja salvar antes de sair.
@@ -324,7 +421,7 @@ public class TextualMainMenuView implements IMainMenuView {
             return null;
         }
 
-        Project project = this.manager.getProjectById(projectId);
+        Project project = this.manager.getProjectById(AppUtils.parseId(projectId));
 
         if (project == null) {
             System.out.println("ERRO: Projeto com ID '" + projectId + "' não encontrado.");
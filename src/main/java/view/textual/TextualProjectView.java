@@ -5,10 +5,8 @@ import view.IProjectView;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
-import java.util.Map;
-import java.util.HashMap;
 import model.AppUtils;
 
 /**
@@ -104,7 +102,7 @@ public class TextualProjectView implements IProjectView {
      * do método getDisplayDetails() de cada tarefa.
      */
     private void handleListTasks() {
-        ArrayList<Task> tasks = this.project.getTasks();
+        List<Task> tasks = this.manager.getTasks(this.project.getId());
         if (tasks.isEmpty()) {
             System.out.println("Este projeto ainda não possui tarefas.");
             return;
@@ -112,7 +110,7 @@ public class TextualProjectView implements IProjectView {
 
         System.out.println("\n--- Tarefas do Projeto: " + this.project.getName() + " ---");
         for (Task task : tasks) {
-            System.out.println("ID: " + task.getId() + " | " + task.getDisplayDetails());
+            System.out.println("ID: " + task.getDisplayId() + " | " + task.getDisplayDetails());
         }
     }
 
@@ -129,36 +127,33 @@ public class TextualProjectView implements IProjectView {
         System.out.print("Escolha o tipo: ");
         String choice = scanner.nextLine();
 
-        Map<String, Object> data = new HashMap<>();
-        TaskType type;
+        TaskSpec spec;
 
         try {
 
             System.out.print("Digite a descrição: ");
-            data.put("description", scanner.nextLine());
+            String description = scanner.nextLine();
             System.out.print("Digite a prioridade (1-5): ");
-            data.put("priority", Integer.parseInt(scanner.nextLine()));
+            int priority = Integer.parseInt(scanner.nextLine());
 
             switch (choice) {
                 case "1":
-                    type = TaskType.SIMPLE;
+                    spec = TaskSpec.simple(description, priority);
                     break;
                 case "2":
-                    type = TaskType.DEADLINE;
                     System.out.print("Digite o prazo (AAAA-MM-DD): ");
-                    data.put("deadline", LocalDate.parse(scanner.nextLine()));
+                    spec = TaskSpec.deadline(description, priority, LocalDate.parse(scanner.nextLine()));
                     break;
                 case "3":
-                    type = TaskType.MILESTONE;
                     System.out.print("Digite a data do Marco (AAAA-MM-DD): ");
-                    data.put("milestoneDate", LocalDate.parse(scanner.nextLine()));
+                    spec = TaskSpec.milestone(description, priority, LocalDate.parse(scanner.nextLine()));
                     break;
                 default:
                     System.out.println("ERRO: Tipo de tarefa inválido.");
                     return;
             }
 
-            this.manager.createTaskForProject(this.project.getId(), type, data);
+            this.manager.createTaskForProject(this.project.getId(), spec);
             System.out.println("Tarefa criada com sucesso!");
 
         } catch (IllegalArgumentException | DateTimeParseException e) {
@@ -174,9 +169,9 @@ public class TextualProjectView implements IProjectView {
      */
     private void handleEditTaskStatus() {
         System.out.print("\nDigite o ID da tarefa que deseja atualizar: ");
-        String taskId = scanner.nextLine();
+        long taskId = AppUtils.parseId(scanner.nextLine());
 
-        Task task = this.project.getTaskById(taskId);
+        Task task = this.manager.getTaskById(this.project.getId(), taskId);
         if (task == null) {
             System.out.println("ERRO: Tarefa não encontrada.");
             return;
@@ -206,14 +201,14 @@ public class TextualProjectView implements IProjectView {
                     case "1":
                         System.out.print("Nova Descrição: ");
                         String newDesc = scanner.nextLine();
-                        task.setDescription(newDesc);
+                        this.manager.updateTask(this.project.getId(), task.getId(), t -> t.setDescription(newDesc));
                         System.out.println("Descrição atualizada!");
                         break;
 
                     case "2":
                         System.out.print("Nova Prioridade (1-5): ");
                         int newPrio = Integer.parseInt(scanner.nextLine().trim());
-                        task.setPriority(newPrio);
+                        this.manager.updateTask(this.project.getId(), task.getId(), t -> t.setPriority(newPrio));
                         System.out.println("Prioridade atualizada!");
                         break;
 
@@ -225,12 +220,14 @@ public class TextualProjectView implements IProjectView {
                         if (task instanceof DeadlineTask) {
                             System.out.print("Novo Prazo (AAAA-MM-DD): ");
                             LocalDate newDeadline = LocalDate.parse(scanner.nextLine());
-                            ((DeadlineTask) task).setTaskDeadline(newDeadline);
+                            this.manager.updateTask(this.project.getId(), task.getId(),
+                                    t -> ((DeadlineTask) t).setTaskDeadline(newDeadline));
                             System.out.println("Prazo atualizado!");
                         } else if (task instanceof Milestone) {
                             System.out.print("Nova Data (AAAA-MM-DD): ");
                             LocalDate newDate = LocalDate.parse(scanner.nextLine());
-                            ((Milestone) task).setMilestoneDate(newDate);
+                            this.manager.updateTask(this.project.getId(), task.getId(),
+                                    t -> ((Milestone) t).setMilestoneDate(newDate));
                             System.out.println("Data atualizada!");
                         } else {
                             System.out.println("Opção inválida.");
@@ -274,7 +271,7 @@ public class TextualProjectView implements IProjectView {
                 return;
             }
             Status newStatus = validStatuses[choiceIndex - 1];
-            task.setStatus(newStatus);
+            this.manager.updateTask(this.project.getId(), task.getId(), t -> t.setStatus(newStatus));
             System.out.println("Status alterado para: " + newStatus);
 
         } catch (NumberFormatException e) {
@@ -288,9 +285,9 @@ public class TextualProjectView implements IProjectView {
      */
     private void handleDeleteTask() {
         System.out.print("\nDigite o ID da tarefa que deseja excluir: ");
-        String taskId = scanner.nextLine();
+        long taskId = AppUtils.parseId(scanner.nextLine());
 
-        boolean success = this.project.removeTask(taskId);
+        boolean success = this.manager.deleteTask(this.project.getId(), taskId);
 
         if (success) {
             System.out.println("Tarefa removida com sucesso.");
@@ -0,0 +1,146 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testa o carregamento tardio das tarefas ({@code ProjectDirectoryDAO} com
+ * {@code lazyTasks = true}) quando a thread de pré-carregamento do {@link ProjectManager}
+ * e outras threads (como as telas) pedem as tarefas do mesmo projeto ao mesmo tempo.
+ * As tarefas de cada projeto precisam ser lidas e indexadas uma única vez.
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+class LazyTaskLoadingTest {
+
+    private static final int PROJECTS = 200;
+    private static final int TASKS_PER_PROJECT = 40;
+    private static final int COMPLETED_PER_PROJECT = 10;
+    private static final int READERS = 4;
+    private static final int RELOADS = 5;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void readsRacingThePreloaderLoadEachProjectOnce() throws Exception {
+        String directory = dataDir.resolve("projects").toString();
+        writeProjects(directory);
+
+        for (int reload = 0; reload < RELOADS; reload++) {
+            ProjectManager manager = new ProjectManager(new ProjectDirectoryDAO(directory, true));
+            manager.loadData();
+            raceReaders(manager);
+            assertTrue(manager.awaitTaskIndex(1, TimeUnit.MINUTES), "O pré-carregamento não terminou.");
+
+            assertLoadedOnce(manager);
+        }
+    }
+
+    /**
+     * Grava os projetos de teste: cada um com as mesmas quantidades de tarefas, algumas concluídas.
+     */
+    private static void writeProjects(String directory) {
+        ProjectManager manager = new ProjectManager(new ProjectDirectoryDAO(directory));
+        LocalDate deadline = LocalDate.now().plusDays(30);
+        for (int i = 0; i < PROJECTS; i++) {
+            manager.createProject("Projeto " + i, deadline);
+            long projectId = manager.getProjects().get(i).getId();
+
+            List<TaskSpec> specs = new ArrayList<>(TASKS_PER_PROJECT);
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                specs.add(TaskSpec.deadline("tarefa " + t, 1 + t % 5, deadline));
+            }
+            List<Task> created = manager.createTasksForProject(projectId, specs);
+            List<Long> completed = new ArrayList<>();
+            for (int t = 0; t < COMPLETED_PER_PROJECT; t++) {
+                completed.add(created.get(t).getId());
+            }
+            manager.updateTasksStatus(projectId, completed, Status.CONCLUIDO);
+        }
+        manager.saveData();
+    }
+
+    /**
+     * Enquanto a thread de pré-carregamento lê as tarefas em segundo plano, várias threads
+     * pedem as tarefas dos mesmos projetos diretamente, como as telas fazem.
+     */
+    private static void raceReaders(ProjectManager manager) throws InterruptedException {
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+
+        for (int r = 0; r < READERS; r++) {
+            int reader = r;
+            readers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    List<Project> projects = manager.getProjects();
+                    // Cada leitor começa de um ponto da lista, para disputar com os outros e com o pré-carregamento.
+                    for (int i = 0; i < projects.size(); i++) {
+                        Project p = projects.get((i + reader * PROJECTS / READERS) % projects.size());
+                        if (i % 2 == 0) {
+                            p.getTasks();
+                        } else {
+                            p.getTaskById(1);
+                        }
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                }
+            }, "reader-" + r));
+        }
+
+        readers.forEach(Thread::start);
+        start.countDown();
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        Throwable first = failures.peek();
+        if (first != null) {
+            throw new AssertionError(failures.size() + " falha(s) nas threads; a primeira:", first);
+        }
+    }
+
+    /**
+     * Confere que nenhum projeto recebeu as tarefas duas vezes: listas, contadores e os
+     * índices compartilhados precisam ter exatamente as tarefas gravadas.
+     */
+    private static void assertLoadedOnce(ProjectManager manager) {
+        Set<Long> allTasks = new HashSet<>();
+        for (Project p : manager.getProjects()) {
+            assertTrue(p.isTasksLoaded());
+            assertEquals(TASKS_PER_PROJECT, p.getTasks().size(), "Tarefas repetidas no projeto " + p.getId());
+            assertEquals(TASKS_PER_PROJECT, p.getTaskCount());
+            assertEquals(100.0 * COMPLETED_PER_PROJECT / TASKS_PER_PROJECT, p.getProgressPercentage(), 1e-9);
+            for (Task t : p.getTasks()) {
+                assertTrue(allTasks.add(t.getId()), "Tarefa repetida: " + t.getId());
+            }
+        }
+
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, allTasks.size());
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, manager.findTasks(null, 0, null, null).size());
+        assertEquals(PROJECTS * COMPLETED_PER_PROJECT, manager.findTasks(Status.CONCLUIDO, 0, null, null).size());
+        assertEquals(PROJECTS * TASKS_PER_PROJECT,
+                manager.findTasks(null, 0, LocalDate.now(), LocalDate.now().plusYears(1)).size());
+        assertEquals(PROJECTS * TASKS_PER_PROJECT, manager.search("tarefa", 1_000_000).size());
+    }
+}
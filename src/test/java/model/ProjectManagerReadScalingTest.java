@@ -0,0 +1,140 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede a vazão das leituras do {@link ProjectManager} com 1, 2, 4 e 8 threads leitoras,
+ * enquanto uma thread escritora altera tarefas sem parar.
+ * <p>
+ * As leituras medidas ({@code getProjects}, {@code getProjectById} e
+ * {@code getProjectProgress}) não usam locks exclusivos, então a vazão total deve crescer
+ * com o número de leitoras até o limite de processadores. O resultado de cada rodada é
+ * impresso em leituras por segundo. A verificação é grosseira, só para pegar regressões
+ * (ex: um lock global nas leituras): com pelo menos 4 processadores, 4 leitoras precisam
+ * ler mais que 1.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+class ProjectManagerReadScalingTest {
+
+    private static final int PROJECTS = 200;
+    private static final int TASKS_PER_PROJECT = 10;
+    private static final int[] READER_COUNTS = {1, 2, 4, 8};
+    private static final long WARMUP_MILLIS = 300;
+    private static final long MEASURE_MILLIS = 1000;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void readThroughputScalesWithReaders() throws Exception {
+        ProjectManager manager = new ProjectManager(new SerializedProjectDAO(dataDir.resolve("dados.dat").toString()));
+        fill(manager);
+
+        // Uma rodada descartada, para o JIT compilar os caminhos de leitura.
+        measure(manager, READER_COUNTS[READER_COUNTS.length - 1], WARMUP_MILLIS);
+
+        long[] readsPerSecond = new long[READER_COUNTS.length];
+        for (int i = 0; i < READER_COUNTS.length; i++) {
+            readsPerSecond[i] = measure(manager, READER_COUNTS[i], MEASURE_MILLIS);
+            System.out.printf("%d leitora(s): %,d leituras/s%n", READER_COUNTS[i], readsPerSecond[i]);
+        }
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        if (processors >= 4) {
+            assertTrue(readsPerSecond[2] > readsPerSecond[0],
+                    "4 leitoras (" + readsPerSecond[2] + "/s) não leram mais que 1 (" + readsPerSecond[0] + "/s).");
+        } else {
+            System.out.println("Apenas " + processors + " processador(es): a escalabilidade não foi conferida.");
+        }
+    }
+
+    private static void fill(ProjectManager manager) {
+        LocalDate deadline = LocalDate.now().plusDays(10);
+        for (int i = 0; i < PROJECTS; i++) {
+            manager.createProject("Projeto " + i, deadline);
+        }
+        for (Project p : manager.getProjects()) {
+            List<TaskSpec> specs = new ArrayList<>(TASKS_PER_PROJECT);
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                specs.add(TaskSpec.simple("tarefa " + t, 3));
+            }
+            manager.createTasksForProject(p.getId(), specs);
+        }
+    }
+
+    /**
+     * Roda {@code readers} leitoras e uma escritora pelo tempo pedido.
+     * @return O total de leituras por segundo somando todas as leitoras.
+     */
+    private static long measure(ProjectManager manager, int readers, long millis) throws InterruptedException {
+        AtomicLong reads = new AtomicLong();
+        AtomicBoolean stop = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            long seed = r;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                awaitQuietly(start);
+                while (!stop.get()) {
+                    List<Project> projects = manager.getProjects();
+                    Project p = projects.get(random.nextInt(projects.size()));
+                    manager.getProjectById(p.getId());
+                    manager.getProjectProgress(p.getId());
+                    count++;
+                }
+                reads.addAndGet(count);
+            }, "reader-" + r));
+        }
+        threads.add(new Thread(() -> {
+            Random random = new Random(-1);
+            awaitQuietly(start);
+            while (!stop.get()) {
+                List<Project> projects = manager.getProjects();
+                Project p = projects.get(random.nextInt(projects.size()));
+                Task task = manager.getTasks(p.getId()).get(0);
+                Status status = random.nextBoolean() ? Status.CONCLUIDO : Status.A_FAZER;
+                manager.updateTask(p.getId(), task.getId(), t -> t.setStatus(status));
+            }
+        }, "writer"));
+
+        threads.forEach(Thread::start);
+        long began = System.nanoTime();
+        start.countDown();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        return reads.get() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de estresse do uso concorrente do {@link ProjectManager}.
+ * <p>
+ * Várias threads criam, alteram e excluem projetos e tarefas enquanto outras leem a
+ * lista de projetos ({@code getProjects}), as tarefas de cada projeto ({@code getTasks}),
+ * o índice por ID, os índices de busca ({@code findTasks}, {@code getCalendar} e
+ * {@code search}) e o retrato imutável. Durante a execução, nenhuma leitura pode falhar
+ * nem devolver dados incoerentes; no fim, a lista e todos os índices precisam concordar
+ * com o que sobrou de fato.
+ * </p>
+ *
+ * @author Manuela Skrsypcsak Kist
+ * @version 1.0
+ */
+class ProjectManagerStressTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int ROUNDS = 250;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void concurrentChangesKeepListAndIndexesConsistent() throws Exception {
+        ProjectManager manager = new ProjectManager(new JournaledProjectDAO(dataDir.resolve("journal").toString()));
+        Set<Long> expectedIds = Collections.synchronizedSet(new HashSet<>());
+
+        runConcurrently(manager, expectedIds, false);
+
+        assertConsistent(manager, expectedIds);
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void savesDuringConcurrentChangesReloadConsistently() throws Exception {
+        String directory = dataDir.resolve("projects").toString();
+        ProjectManager manager = new ProjectManager(new ProjectDirectoryDAO(directory));
+        Set<Long> expectedIds = Collections.synchronizedSet(new HashSet<>());
+
+        runConcurrently(manager, expectedIds, true);
+        manager.saveDataAsync().get(1, TimeUnit.MINUTES);
+
+        ProjectManager reloaded = new ProjectManager(new ProjectDirectoryDAO(directory));
+        reloaded.loadData();
+        assertEquals(describe(manager.getProjects()), describe(reloaded.getProjects()));
+        assertConsistent(reloaded, expectedIds);
+    }
+
+    // --- Execução ---
+
+    /**
+     * Inicia os escritores e os leitores juntos e espera todos terminarem. Falhas de
+     * qualquer thread são acumuladas e reportadas no fim.
+     */
+    private static void runConcurrently(ProjectManager manager, Set<Long> expectedIds, boolean saving)
+            throws InterruptedException {
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(new Thread(() -> guarded(failures, start, () -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    write(manager, expectedIds, writer, round);
+                    if (saving && round % 25 == 0) {
+                        manager.saveDataAsync();
+                    }
+                }
+            }), "writer-" + w));
+        }
+        for (int r = 0; r < READERS; r++) {
+            readers.add(new Thread(() -> guarded(failures, start, () -> {
+                while (writing.get()) {
+                    read(manager);
+                }
+            }), "reader-" + r));
+        }
+
+        writers.forEach(Thread::start);
+        readers.forEach(Thread::start);
+        start.countDown();
+        for (Thread t : writers) {
+            t.join();
+        }
+        writing.set(false);
+        for (Thread t : readers) {
+            t.join();
+        }
+
+        Throwable first = failures.peek();
+        if (first != null) {
+            throw new AssertionError(failures.size() + " falha(s) nas threads; a primeira:", first);
+        }
+    }
+
+    /**
+     * Uma rodada de um escritor: cria um projeto com três tarefas, altera duas, exclui
+     * a terceira e, de vez em quando, exclui o projeto inteiro.
+     */
+    private static void write(ProjectManager manager, Set<Long> expectedIds, int writer, int round) {
+        String name = "Estresse " + writer + " rodada " + round;
+        manager.createProject(name, TODAY.plusDays(1 + round % 60));
+        Project project = findByName(manager, name);
+        long projectId = project.getId();
+        expectedIds.add(projectId);
+
+        List<Task> created = manager.createTasksForProject(projectId, List.of(
+                TaskSpec.simple("tarefa simples " + round, 1 + round % 5),
+                TaskSpec.deadline("tarefa com prazo " + round, 1 + (round + 2) % 5, TODAY.plusDays(1 + round % 90)),
+                TaskSpec.simple("tarefa descartada " + round, 3)));
+
+        manager.updateTask(projectId, created.get(0).getId(), t -> t.setStatus(Status.CONCLUIDO));
+        manager.updateTask(projectId, created.get(1).getId(), t -> t.setPriority(5));
+        assertTrue(manager.deleteTask(projectId, created.get(2).getId()));
+        manager.updateProject(projectId, name + " (revisado)", project.getGeneralDeadline().plusDays(1));
+
+        if (round % 5 == 0) {
+            assertTrue(manager.deleteProject(projectId));
+            expectedIds.remove(projectId);
+        }
+    }
+
+    /**
+     * Uma rodada de um leitor: percorre as leituras que outras threads usam enquanto a
+     * escrita acontece e confere o que pode ser conferido sem travar nada.
+     */
+    private static void read(ProjectManager manager) {
+        Set<Long> seen = new HashSet<>();
+        for (Project p : manager.getProjects()) {
+            assertTrue(seen.add(p.getId()), "Projeto repetido na lista: " + p.getId());
+            Project byId = manager.getProjectById(p.getId());
+            // Pode ter sido excluído depois da cópia da lista, mas nunca trocado por outro.
+            assertTrue(byId == null || byId == p, "Índice por ID aponta para outro projeto: " + p.getId());
+
+            // Cópia tirada com o lock do projeto: nunca pega a lista no meio de uma alteração.
+            Set<Long> taskIds = new HashSet<>();
+            for (Task t : manager.getTasks(p.getId())) {
+                assertTrue(taskIds.add(t.getId()), "Tarefa repetida na cópia: " + t.getId());
+            }
+            assertTrue(taskIds.size() <= 3, "Projeto com tarefas demais: " + p.getId());
+        }
+
+        // As tarefas só passam para CONCLUIDO, então o resultado não pode "desconcluir".
+        for (Task t : manager.findTasks(Status.CONCLUIDO, 0, null, null)) {
+            assertEquals(Status.CONCLUIDO, t.getStatus());
+        }
+
+        LocalDate from = TODAY.plusDays(10);
+        LocalDate to = TODAY.plusDays(40);
+        LocalDate previous = from;
+        for (Task t : manager.findTasks(null, 0, from, to)) {
+            LocalDate due = t.getDueDate();
+            assertNotNull(due);
+            assertFalse(due.isBefore(previous) || due.isAfter(to), "Data fora do intervalo ou da ordem: " + due);
+            previous = due;
+        }
+
+        previous = from;
+        for (CalendarEntry entry : manager.getCalendar(from, to)) {
+            assertFalse(entry.getDate().isBefore(previous) || entry.getDate().isAfter(to));
+            previous = entry.getDate();
+        }
+
+        for (SearchHit hit : manager.search("estresse", 50)) {
+            assertNotNull(hit.isProject() ? hit.getProject() : hit.getTask());
+        }
+
+        for (ProjectSnapshot p : manager.getSnapshot().getProjects()) {
+            int count = 0;
+            for (TaskSnapshot ignored : p.getTasks()) {
+                count++;
+            }
+            assertEquals(p.getTaskCount(), count, "Retrato com contagem de tarefas incoerente.");
+        }
+    }
+
+    // --- Conferências finais ---
+
+    /**
+     * Com tudo parado, a lista, o índice por ID e os índices de busca precisam concordar
+     * exatamente com os projetos que sobraram.
+     */
+    private static void assertConsistent(ProjectManager manager, Set<Long> expectedIds) {
+        List<Project> projects = manager.getProjects();
+        Set<Long> ids = new HashSet<>();
+        Set<Long> allTasks = new HashSet<>();
+        Set<Long> completed = new HashSet<>();
+        Set<Long> highPriority = new HashSet<>();
+        Set<Long> dated = new HashSet<>();
+
+        for (Project p : projects) {
+            assertTrue(ids.add(p.getId()), "Projeto repetido: " + p.getId());
+            assertSame(p, manager.getProjectById(p.getId()));
+            assertEquals(2, p.getTaskCount());
+            for (Task t : p.getTasks()) {
+                assertTrue(allTasks.add(t.getId()), "Tarefa repetida: " + t.getId());
+                assertSame(t, p.getTaskById(t.getId()));
+                if (t.getStatus() == Status.CONCLUIDO) {
+                    completed.add(t.getId());
+                }
+                if (t.getPriority() >= 4) {
+                    highPriority.add(t.getId());
+                }
+                if (t.getDueDate() != null) {
+                    dated.add(t.getId());
+                }
+            }
+        }
+
+        assertEquals(expectedIds, ids);
+        assertEquals(allTasks, idsOf(manager.findTasks(null, 0, null, null)));
+        assertEquals(completed, idsOf(manager.findTasks(Status.CONCLUIDO, 0, null, null)));
+        assertEquals(highPriority, idsOf(manager.findTasks(null, 4, null, null)));
+        assertEquals(dated, idsOf(manager.findTasks(null, 0, TODAY, TODAY.plusYears(1))));
+
+        Set<Long> calendarTasks = new HashSet<>();
+        int calendarProjects = 0;
+        for (CalendarEntry entry : manager.getCalendar(TODAY, TODAY.plusYears(1))) {
+            if (entry.isProject()) {
+                assertTrue(ids.contains(entry.getProject().getId()));
+                calendarProjects++;
+            } else {
+                calendarTasks.add(entry.getTask().getId());
+            }
+        }
+        assertEquals(projects.size(), calendarProjects);
+        assertEquals(dated, calendarTasks);
+
+        // Projetos e tarefas excluídos não podem continuar nos índices de texto.
+        for (String text : new String[] {"estresse revisado", "tarefa", "descartada"}) {
+            for (SearchHit hit : manager.search(text, 5000)) {
+                if (hit.isProject()) {
+                    assertTrue(ids.contains(hit.getProject().getId()), "Projeto excluído aparece na busca: " + hit);
+                } else {
+                    assertTrue(allTasks.contains(hit.getTask().getId()), "Tarefa excluída aparece na busca: " + hit);
+                }
+            }
+        }
+        assertEquals(projects.size(), manager.search("estresse revisado", 5000).size());
+    }
+
+    // --- Auxiliares ---
+
+    private static Project findByName(ProjectManager manager, String name) {
+        List<Project> projects = manager.getProjects();
+        for (int i = projects.size() - 1; i >= 0; i--) {
+            if (projects.get(i).getName().equals(name)) {
+                return projects.get(i);
+            }
+        }
+        throw new AssertionError("Projeto recém-criado não está na lista: " + name);
+    }
+
+    private static Set<Long> idsOf(List<Task> tasks) {
+        Set<Long> ids = new HashSet<>();
+        for (Task t : tasks) {
+            assertTrue(ids.add(t.getId()), "Tarefa repetida no índice: " + t.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Descreve todos os projetos e tarefas em ordem de ID, para comparar dois managers.
+     */
+    private static String describe(List<Project> projects) {
+        List<Project> sorted = new ArrayList<>(projects);
+        sorted.sort(Comparator.comparingLong(Project::getId));
+        StringBuilder text = new StringBuilder();
+        for (Project p : sorted) {
+            text.append(p.getId()).append(';').append(p.getName()).append(';').append(p.getGeneralDeadline());
+            for (Task t : p.getTasks()) {
+                text.append('|').append(t.getId()).append(';').append(t.getType()).append(';')
+                        .append(t.getDescription()).append(';').append(t.getPriority()).append(';')
+                        .append(t.getStatus()).append(';').append(t.getDueDate());
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void guarded(Queue<Throwable> failures, CountDownLatch start, Runnable body) {
+        try {
+            start.await();
+            body.run();
+        } catch (Throwable t) {
+            failures.add(t);
+        }
+    }
+}